@@ -0,0 +1,173 @@
+package AStar_Melhor;
+
+import Dijkstra_Bonus.DijkstraTrace;
+import Grafo.Graph;
+import Grafo.Heuristic;
+import Grafo.HeuristicCheck;
+import Grafo.IndexedHeap;
+import Grafo.Landmarks;
+import Grafo.SearchResult;
+import Grafo.SearchScratch;
+import Grafo.SummaryTrace;
+import Grafo.TraceListener;
+import Grafo.TraceMode;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Scanner;
+
+public class AStar {
+    private static final String USAGE = "Uso: java AStar_Melhor.AStar [arquivo] [--trace=none|summary|full] [--landmarks=k|arquivo.alt]";
+
+    // Função: search
+    // Descrição: Busca A* com limite de fio sobre o grafo compacto, usando o estado de trabalho reaproveitado da thread e delegando a saída ao ouvinte.
+    // Entrada: Graph graph (grafo compacto), int source (id do nó inicial), int target (id do nó final), int limiteFio (comprimento máximo do fio), TraceListener trace (TraceListener.NONE para não imprimir nada).
+    // Saída: SearchResult (distância, caminho e nós expandidos).
+    // Pré-Condicao: source e target devem ser ids válidos; os valores h do grafo devem se referir a target.
+    // Pós-Condicao: O ouvinte recebe os eventos da busca e o resultado final.
+    public static SearchResult search(Graph graph, int source, int target, int limiteFio, TraceListener trace) {
+        return search(graph, source, target, limiteFio, Heuristic.facts(graph), trace);
+    }
+
+    // Função: search
+    // Descrição: Busca A* com limite de fio usando a heurística informada (ex.: Landmarks, válida para qualquer destino) no lugar dos fatos h(...).
+    // Entrada: Graph graph, int source, int target, int limiteFio, Heuristic heuristic, TraceListener trace.
+    // Saída: SearchResult (distância, caminho e nós expandidos).
+    // Pré-Condicao: source e target devem ser ids válidos; heuristic deve ter sido calculada para este grafo.
+    // Pós-Condicao: O ouvinte recebe os eventos da busca e o resultado final.
+    public static SearchResult search(Graph graph, int source, int target, int limiteFio, Heuristic heuristic, TraceListener trace) {
+        SearchScratch scratch = SearchScratch.forGraph(graph);
+        search(graph, source, target, limiteFio, heuristic, scratch, trace);
+        SearchResult result = scratch.toResult(target);
+        trace.onFinish(graph, result);
+        return result;
+    }
+
+    // Função: shortestDistance
+    // Descrição: Consulta A* sem saída e sem alocação; o caminho pode ser lido depois com scratch.pathTo(target, vetor).
+    // Entrada: Graph graph, int source, int target, int limiteFio, Heuristic heuristic (ex.: Heuristic.facts(graph) ou Landmarks), SearchScratch scratch.
+    // Saída: int (distância até target, ou Integer.MAX_VALUE se não houver caminho dentro do limite).
+    // Pré-Condicao: scratch deve ter capacidade para o grafo e não estar em uso por outra thread.
+    // Pós-Condicao: scratch guarda o resultado desta consulta até o próximo reset.
+    public static int shortestDistance(Graph graph, int source, int target, int limiteFio, Heuristic heuristic, SearchScratch scratch) {
+        search(graph, source, target, limiteFio, heuristic, scratch, TraceListener.NONE);
+        return scratch.distance(target);
+    }
+
+    // Função: search
+    // Descrição: Laço do A*: a fila (heap indexado) é ordenada por g + h e um nó já fechado é reaberto se for alcançado por um g menor, o que mantém o resultado ótimo mesmo com heurística admissível mas inconsistente.
+    // Entrada: Graph graph, int source, int target, int limiteFio, Heuristic heuristic, SearchScratch scratch, TraceListener trace.
+    // Saída: Nenhuma (resultado fica em scratch).
+    // Pré-Condicao: source e target devem ser ids válidos; heuristic deve valer para target.
+    // Pós-Condicao: scratch contém o resultado da consulta; onFinish não é chamado aqui.
+    private static void search(Graph graph, int source, int target, int limiteFio, Heuristic heuristic,
+                               SearchScratch scratch, TraceListener trace) {
+        scratch.reset();
+        scratch.reach(source, 0, -1);
+        IndexedHeap open = scratch.heap(); // chave f = g + h
+        int sourceH = heuristic.estimate(source, target);
+        if (sourceH != Integer.MAX_VALUE) {
+            open.insert(source, sourceH);
+        }
+        int iteration = 1;
+        int nodesExpanded = 0; // Medida de desempenho: nós expandidos acumulados
+
+        trace.onStart();
+
+        while (!open.isEmpty()) {
+            int currentNode = open.poll();
+            scratch.close(currentNode);
+            int currentG = scratch.distance(currentNode);
+
+            int fioRestante = limiteFio - currentG;
+            boolean descartarCaminho = fioRestante <= 0;
+
+            trace.onIteration(graph, iteration, currentNode, scratch.distances(), open);
+            trace.onWire(fioRestante, descartarCaminho);
+            if (descartarCaminho) {
+                trace.onExpanded(nodesExpanded);
+                iteration++;
+                continue;
+            }
+
+            nodesExpanded++;
+
+            if (currentNode == target) {
+                trace.onExpanded(nodesExpanded);
+                break;
+            }
+
+            scratch.addRelaxed(graph.endEdge(currentNode) - graph.firstEdge(currentNode));
+            for (int e = graph.firstEdge(currentNode), end = graph.endEdge(currentNode); e < end; e++) {
+                int neighbor = graph.target(e);
+                int newG = currentG + graph.weight(e);
+                if (newG <= limiteFio && newG < scratch.distance(neighbor)) {
+                    int h = heuristic.estimate(neighbor, target);
+                    if (h == Integer.MAX_VALUE) continue; // a heurística provou que o destino é inalcançável a partir do vizinho
+                    scratch.reach(neighbor, newG, currentNode);
+                    scratch.reopen(neighbor); // reabre o nó se ele já tinha sido fechado
+                    open.insertOrDecrease(neighbor, newG + h);
+                }
+            }
+
+            trace.onExpanded(nodesExpanded);
+            iteration++;
+        }
+        scratch.setExpanded(nodesExpanded);
+    }
+
+    // Função: main
+    // Descrição: Ponto de entrada do programa: lê o grafo, verifica a heurística, pergunta pelo comprimento do fio e executa o A*.
+    // Entrada: String[] args (arquivo de fatos ou snapshot binário, padrão arquivoEntradaMaior.txt; --trace=none|summary|full, padrão full; --landmarks=k ou --landmarks=arquivo.alt para usar a heurística ALT no lugar dos fatos h).
+    // Saída: Nenhuma (imprime resultados no console).
+    // Pré-Condicao: O arquivo de entrada deve existir e estar no formato correto.
+    // Pós-Condicao: O resultado do algoritmo é exibido no console.
+    public static void main(String[] args) {
+        try {
+            String filename = "arquivoEntradaMaior.txt";
+            String landmarks = null;
+            for (String arg : args) {
+                if (arg.startsWith("--landmarks=")) landmarks = arg.substring(12);
+                else if (!arg.startsWith("--")) filename = arg;
+            }
+            Graph graph = Graph.abrir(filename);
+
+            Heuristic heuristic;
+            if (landmarks != null) {
+                // Landmarks são admissíveis e consistentes por construção: não há fatos h para conferir
+                Landmarks alt = Landmarks.load(graph, landmarks);
+                System.out.println("Heurística ALT com " + alt.count() + " landmarks");
+                heuristic = alt;
+            } else {
+                // Verificação da heurística no carregamento: sem admissibilidade o A* pode não achar o menor caminho
+                HeuristicCheck check = HeuristicCheck.check(graph, graph.getGoal());
+                System.out.println(check);
+                for (String violation : check.getViolations()) {
+                    System.out.println("  " + violation);
+                }
+                if (!check.isAdmissible()) {
+                    System.out.println("Aviso: o caminho encontrado pode não ser o menor.");
+                }
+                heuristic = Heuristic.facts(graph);
+            }
+
+            TraceMode mode = TraceMode.fromArgs(args);
+            TraceListener trace = mode == TraceMode.FULL ? new DijkstraTrace(heuristic, graph.getGoal())
+                    : mode == TraceMode.SUMMARY ? new SummaryTrace() : TraceListener.NONE;
+
+            try (Scanner input = new Scanner(System.in)) {
+                System.out.println("Qual o comprimento do fio?");
+                int limiteFio = input.nextInt();
+
+                search(graph, graph.getStart(), graph.getGoal(), limiteFio, heuristic, trace);
+            }
+        } catch (FileNotFoundException e) {
+            System.out.println("Arquivo não encontrado: " + e.getMessage());
+        } catch (IOException e) {
+            System.out.println("Erro ao ler o arquivo: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println(USAGE);
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package Consultas;
+
+import AStar_Melhor.AStar;
+import DFS_Pior.DFS;
+import Dijkstra_Bonus.BidirectionalDijkstra;
+import Dijkstra_Bonus.ConstrainedDijkstra;
+import Dijkstra_Bonus.Dijkstra;
+import Dijkstra_Bonus.HierarchyDijkstra;
+import Grafo.ContractionHierarchy;
+import Grafo.Graph;
+import Grafo.Heuristic;
+import Grafo.Landmarks;
+import Grafo.MetricsRegistry;
+import Grafo.QueryMetrics;
+import Grafo.SearchResult;
+import Grafo.SearchScratch;
+import Grafo.TraceListener;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+// Executa muitas consultas em paralelo sobre um único grafo somente leitura, devolvendo os resultados na ordem de envio
+public class BatchRunner implements AutoCloseable {
+    private final Graph graph;
+    private final Heuristic landmarks; // heurística do algoritmo alt (null se não informada)
+    private final ContractionHierarchy hierarchy; // hierarquia do algoritmo ch (null se não informada)
+    private final DistanceTable trees; // árvores de um para todos do algoritmo arvore, compartilhadas entre as threads
+    private final ForkJoinPool pool;
+    private final int window; // máximo de consultas em andamento no modo de fluxo
+    private final MetricsRegistry metrics = new MetricsRegistry();
+    private volatile boolean echoMetrics; // modo de fluxo: acrescenta as métricas de cada consulta à sua linha
+
+    // Função: BatchRunner (construtor)
+    // Descrição: Cria o executor com um pool limitado de threads; cada thread reaproveita o seu SearchScratch entre consultas.
+    // Entrada: Graph graph (grafo compartilhado), int threads (tamanho do pool).
+    // Saída: Instância de BatchRunner.
+    // Pré-Condicao: threads >= 1.
+    // Pós-Condicao: O pool fica ativo até close().
+    public BatchRunner(Graph graph, int threads) {
+        this(graph, threads, null);
+    }
+
+    // Função: BatchRunner (construtor)
+    // Descrição: Igual ao anterior, com a heurística usada pelas consultas do algoritmo alt (A* com landmarks).
+    // Entrada: Graph graph, int threads, Heuristic landmarks (ex.: Landmarks.build ou Landmarks.open; null desativa o alt).
+    // Saída: Instância de BatchRunner.
+    // Pré-Condicao: threads >= 1; landmarks calculados para graph.
+    // Pós-Condicao: O pool fica ativo até close().
+    public BatchRunner(Graph graph, int threads, Heuristic landmarks) {
+        this(graph, threads, landmarks, null);
+    }
+
+    // Função: BatchRunner (construtor)
+    // Descrição: Igual ao anterior, com a hierarquia de contração usada pelas consultas do algoritmo ch.
+    // Entrada: Graph graph, int threads, Heuristic landmarks (ou null), ContractionHierarchy hierarchy (ex.: ContractionHierarchy.build ou open; null desativa o ch).
+    // Saída: Instância de BatchRunner.
+    // Pré-Condicao: threads >= 1; landmarks e hierarquia calculados para graph.
+    // Pós-Condicao: O pool fica ativo até close().
+    public BatchRunner(Graph graph, int threads, Heuristic landmarks, ContractionHierarchy hierarchy) {
+        this.graph = graph;
+        this.landmarks = landmarks;
+        this.hierarchy = hierarchy;
+        this.trees = new DistanceTable(graph);
+        this.pool = new ForkJoinPool(threads);
+        this.window = threads * 4;
+    }
+
+    // Função: execute
+    // Descrição: Executa uma consulta na thread atual, sem saída no console, medindo tempo, alocação e os contadores da busca.
+    // Entrada: Query query.
+    // Saída: SearchResult (com getMetrics() preenchido; as métricas também são somadas em getMetrics() do executor).
+    // Pré-Condicao: Os nomes da consulta devem existir no grafo; algoritmo dijkstra, arvore, bidirecional, restrito, astar, alt, ch ou dfs (dfs ignora o limite de fio; arvore guarda a árvore da origem em cache para as próximas consultas com a mesma origem e limite).
+    // Pós-Condicao: Lança IllegalArgumentException para nós ou algoritmos desconhecidos (sem gravar métricas).
+    public SearchResult execute(Query query) {
+        String algorithm = query.getAlgorithm().toLowerCase();
+        long allocatedBefore = QueryMetrics.allocatedBytes();
+        long begin = System.nanoTime();
+        SearchResult result = search(query, algorithm);
+        long wallNanos = System.nanoTime() - begin;
+        long allocated = allocatedBefore < 0 ? -1 : QueryMetrics.allocatedBytes() - allocatedBefore;
+        QueryMetrics measured = QueryMetrics.capture(result, wallNanos, allocated, scratches(algorithm));
+        metrics.record(algorithm, measured);
+        return result.withMetrics(measured);
+    }
+
+    // Executa a consulta com o algoritmo pedido
+    private SearchResult search(Query query, String algorithm) {
+        int source = nodeId(query.getSource());
+        int target = nodeId(query.getTarget());
+        switch (algorithm) {
+            case "dijkstra":
+                return Dijkstra.calculateShortestPath(graph, source, target, query.getLimiteFio(), TraceListener.NONE);
+            case "arvore":
+                return trees.tree(source, query.getLimiteFio()).toResult(target);
+            case "bidirecional":
+                return BidirectionalDijkstra.calculateShortestPath(graph, source, target, query.getLimiteFio(), TraceListener.NONE);
+            case "restrito":
+                return ConstrainedDijkstra.calculateShortestPath(graph, source, target, query.getLimiteFio(), TraceListener.NONE);
+            case "astar":
+                return AStar.search(graph, source, target, query.getLimiteFio(), TraceListener.NONE);
+            case "alt":
+                if (landmarks == null) {
+                    throw new IllegalArgumentException("O algoritmo alt requer --landmarks");
+                }
+                return AStar.search(graph, source, target, query.getLimiteFio(), landmarks, TraceListener.NONE);
+            case "ch":
+                if (hierarchy == null) {
+                    throw new IllegalArgumentException("O algoritmo ch requer --ch");
+                }
+                return HierarchyDijkstra.calculateShortestPath(hierarchy, source, target, query.getLimiteFio(), TraceListener.NONE);
+            case "dfs":
+                return new DFS().traverse(graph, source, target, TraceListener.NONE);
+            default:
+                throw new IllegalArgumentException("Algoritmo desconhecido: " + query.getAlgorithm());
+        }
+    }
+
+    // Estados de trabalho da thread que guardam os contadores da última consulta do algoritmo (nenhum para arvore,
+    // restrito e dfs, que não usam o heap do SearchScratch na busca principal)
+    private SearchScratch[] scratches(String algorithm) {
+        switch (algorithm) {
+            case "dijkstra":
+            case "astar":
+            case "alt":
+                return new SearchScratch[]{SearchScratch.forGraph(graph)};
+            case "bidirecional":
+            case "ch":
+                return new SearchScratch[]{SearchScratch.forGraph(graph, 0), SearchScratch.forGraph(graph, 1)};
+            default:
+                return new SearchScratch[0];
+        }
+    }
+
+    // Função: getMetrics
+    // Descrição: Retorna o agregado das métricas de todas as consultas executadas, por algoritmo.
+    // Entrada: Nenhuma.
+    // Saída: MetricsRegistry (exportável com toJson ou toPrometheus enquanto as consultas continuam).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    // Função: setEchoMetrics
+    // Descrição: Liga ou desliga, no modo de fluxo, o JSON com as métricas de cada consulta ao fim da sua linha de resposta.
+    // Entrada: boolean echo.
+    // Saída: Nenhuma.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Vale para as respostas escritas depois da chamada.
+    public void setEchoMetrics(boolean echo) {
+        this.echoMetrics = echo;
+    }
+
+    // Função: submit
+    // Descrição: Agenda uma consulta no pool.
+    // Entrada: Query query.
+    // Saída: CompletableFuture<SearchResult>.
+    // Pré-Condicao: O executor não pode estar fechado.
+    // Pós-Condicao: A consulta é executada por uma das threads do pool.
+    public CompletableFuture<SearchResult> submit(Query query) {
+        return CompletableFuture.supplyAsync(() -> execute(query), pool);
+    }
+
+    // Função: runAll
+    // Descrição: Executa todas as consultas em paralelo e devolve os resultados na ordem da lista.
+    // Entrada: List<Query> queries.
+    // Saída: List<SearchResult>.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Lança CompletionException se alguma consulta falhar.
+    public List<SearchResult> runAll(List<Query> queries) {
+        List<CompletableFuture<SearchResult>> futures = new ArrayList<>(queries.size());
+        for (Query query : queries) {
+            futures.add(submit(query));
+        }
+        List<SearchResult> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<SearchResult> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    // Função: run
+    // Descrição: Modo de fluxo: lê uma consulta por linha, mantém no máximo window consultas em andamento e escreve cada resposta assim que ela e todas as anteriores terminam.
+    // Entrada: BufferedReader in (consultas), PrintWriter out (respostas).
+    // Saída: int (quantidade de consultas respondidas).
+    // Pré-Condicao: Linhas vazias e iniciadas por '%' são ignoradas.
+    // Pós-Condicao: Uma linha de resposta por consulta, na ordem de envio; linhas inválidas são respondidas com "<linha> | Erro: ...".
+    public int run(BufferedReader in, PrintWriter out) throws IOException {
+        ArrayDeque<Pending> pending = new ArrayDeque<>();
+        int answered = 0;
+        String line;
+        while ((line = in.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("%")) continue;
+            try {
+                Query query = Query.parse(line);
+                pending.add(new Pending(query.toString(), submit(query)));
+            } catch (IllegalArgumentException e) {
+                // Linha inválida: responde com erro na sua vez, sem interromper as demais
+                CompletableFuture<SearchResult> failed = new CompletableFuture<>();
+                failed.completeExceptionally(e);
+                pending.add(new Pending(line, failed));
+            }
+            if (pending.size() >= window) {
+                write(pending.poll(), out);
+                answered++;
+            }
+        }
+        while (!pending.isEmpty()) {
+            write(pending.poll(), out);
+            answered++;
+        }
+        out.flush();
+        return answered;
+    }
+
+    // Função: close
+    // Descrição: Encerra o pool de threads.
+    // Entrada: Nenhuma.
+    // Saída: Nenhuma.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Novas consultas não são mais aceitas.
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    // Converte o nome de um nó em id, rejeitando nomes desconhecidos
+    private int nodeId(String name) {
+        int id = graph.indexOf(name);
+        if (id < 0) {
+            throw new IllegalArgumentException("Nó desconhecido: " + name);
+        }
+        return id;
+    }
+
+    // Espera a consulta terminar e escreve sua linha de resposta
+    private void write(Pending next, PrintWriter out) {
+        try {
+            SearchResult result = next.result.join();
+            String measured = echoMetrics && result.getMetrics() != null ? " | " + result.getMetrics().toJson() : "";
+            if (result.isFound()) {
+                out.println(next.label + " | Distância: " + result.getDistance() + " | Caminho: "
+                        + result.pathToString(graph) + " | Nós expandidos: " + result.getExpanded() + measured);
+            } else {
+                out.println(next.label + " | Caminho não encontrado | Nós expandidos: " + result.getExpanded() + measured);
+            }
+        } catch (RuntimeException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            out.println(next.label + " | Erro: " + cause.getMessage());
+        }
+    }
+
+    // Consulta enviada ao pool (ou linha inválida) e ainda não escrita
+    private static final class Pending {
+        final String label;
+        final CompletableFuture<SearchResult> result;
+
+        Pending(String label, CompletableFuture<SearchResult> result) {
+            this.label = label;
+            this.result = result;
+        }
+    }
+
+    // Função: main
+    // Descrição: Modo em lote: carrega o grafo uma vez e responde às consultas lidas da entrada padrão.
+    // Entrada: String[] args (arquivo de fatos ou snapshot, padrão arquivoEntradaMaior.txt; --threads=N, padrão núcleos disponíveis; --landmarks=k ou --landmarks=arquivo.alt para o algoritmo alt; --ch=arquivo.ch para o algoritmo ch, calculado e gravado se o arquivo não existir; --metricas=json|prometheus escreve o agregado das métricas na saída de erro ao fim; --metricas=consulta acrescenta o JSON de cada consulta à sua linha).
+    // Saída: Nenhuma (uma linha por consulta na saída padrão; tempo total e métricas na saída de erro).
+    // Pré-Condicao: Cada linha da entrada deve estar no formato "origem destino limiteFio [dijkstra|arvore|bidirecional|restrito|astar|alt|ch|dfs]".
+    // Pós-Condicao: Todas as consultas são respondidas na ordem de envio.
+    public static void main(String[] args) throws IOException {
+        String filename = "arquivoEntradaMaior.txt";
+        int threads = Runtime.getRuntime().availableProcessors();
+        String landmarks = null;
+        String hierarchy = null;
+        String metricsFormat = null;
+        for (String arg : args) {
+            if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(arg.substring(10));
+            } else if (arg.startsWith("--landmarks=")) {
+                landmarks = arg.substring(12);
+            } else if (arg.startsWith("--ch=")) {
+                hierarchy = arg.substring(5);
+            } else if (arg.startsWith("--metricas=")) {
+                metricsFormat = arg.substring(11);
+            } else if (!arg.startsWith("--")) {
+                filename = arg;
+            }
+        }
+        Graph graph = Graph.abrir(filename);
+        Heuristic alt = landmarks != null ? Landmarks.load(graph, landmarks) : null;
+        ContractionHierarchy ch = hierarchy != null ? ContractionHierarchy.load(graph, hierarchy) : null;
+        long begin = System.nanoTime();
+        try (BatchRunner runner = new BatchRunner(graph, threads, alt, ch)) {
+            runner.setEchoMetrics("consulta".equals(metricsFormat));
+            int answered = runner.run(new BufferedReader(new InputStreamReader(System.in)),
+                    new PrintWriter(new OutputStreamWriter(System.out)));
+            double seconds = (System.nanoTime() - begin) / 1e9;
+            System.err.printf("%d consultas em %.2f s (%.0f consultas/s, %d threads)%n",
+                    answered, seconds, answered / seconds, threads);
+            if ("json".equals(metricsFormat)) {
+                System.err.println(runner.getMetrics().toJson());
+            } else if ("prometheus".equals(metricsFormat)) {
+                System.err.print(runner.getMetrics().toPrometheus());
+            }
+        }
+    }
+}
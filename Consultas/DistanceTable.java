@@ -0,0 +1,244 @@
+package Consultas;
+
+import Dijkstra_Bonus.Dijkstra;
+import Dijkstra_Bonus.DynamicDijkstra;
+import Grafo.DynamicGraph;
+import Grafo.Graph;
+import Grafo.ShortestPathTree;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Tabelas de distância de muitos para muitos: uma busca de um para todos por origem cobre todos os destinos, e as
+// árvores mais recentes ficam num cache LRU indexado por (origem, limiteFio), então origens repetidas não são buscadas de novo.
+// Sobre um DynamicGraph, uma árvore de versão antiga é reparada com as alterações desde a sua versão em vez de refeita.
+public class DistanceTable {
+    private static final long DEFAULT_BUDGET = 256L << 20; // memória padrão do cache: 256 MiB
+
+    private final DynamicGraph graph;
+    private final int maxTrees;
+    private final LinkedHashMap<Long, Cached> cache;
+    private long hits;
+    private long misses;
+    private long repairs;
+
+    // Árvore guardada e a versão do grafo em que ela vale
+    private static final class Cached {
+        final ShortestPathTree tree;
+        final long version;
+
+        Cached(ShortestPathTree tree, long version) {
+            this.tree = tree;
+            this.version = version;
+        }
+    }
+
+    // Função: DistanceTable (construtor)
+    // Descrição: Cria a tabela com um cache de até 256 MiB de árvores (8 bytes por nó em cada árvore).
+    // Entrada: Graph graph (grafo compartilhado).
+    // Saída: Instância de DistanceTable.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: O cache começa vazio.
+    public DistanceTable(Graph graph) {
+        this(new DynamicGraph(graph));
+    }
+
+    // Função: DistanceTable (construtor)
+    // Descrição: Cria a tabela sobre um grafo que recebe alterações, com um cache de até 256 MiB de árvores.
+    // Entrada: DynamicGraph graph.
+    // Saída: Instância de DistanceTable.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: O cache começa vazio; cada consulta usa a versão atual do grafo.
+    public DistanceTable(DynamicGraph graph) {
+        this(graph, treesForBudget(graph.snapshot().getGraph(), DEFAULT_BUDGET));
+    }
+
+    // Função: DistanceTable (construtor)
+    // Descrição: Cria a tabela guardando no máximo maxTrees árvores; ao passar do limite, a usada há mais tempo sai do cache.
+    // Entrada: DynamicGraph graph (use new DynamicGraph(grafo) para um grafo fixo), int maxTrees (0 desativa o cache).
+    // Saída: Instância de DistanceTable.
+    // Pré-Condicao: maxTrees >= 0.
+    // Pós-Condicao: O cache começa vazio.
+    public DistanceTable(DynamicGraph graph, int maxTrees) {
+        this.graph = graph;
+        this.maxTrees = maxTrees;
+        this.cache = new LinkedHashMap<Long, Cached>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Cached> eldest) {
+                return size() > DistanceTable.this.maxTrees;
+            }
+        };
+    }
+
+    // Função: treesForBudget
+    // Descrição: Quantidade de árvores do grafo que cabem no orçamento de memória informado.
+    // Entrada: Graph graph, long bytes.
+    // Saída: int (pelo menos 1).
+    // Pré-Condicao: bytes >= 0.
+    // Pós-Condicao: Nenhuma.
+    public static int treesForBudget(Graph graph, long bytes) {
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, bytes / (8L * Math.max(1, graph.nodeCount()))));
+    }
+
+    // Função: tree
+    // Descrição: Árvore de menores caminhos da origem com o limite de fio na versão atual do grafo: do cache, reparada a partir de uma versão anterior guardada ou calculada com o Dijkstra de um para todos.
+    // Entrada: int source (id da origem), int limiteFio.
+    // Saída: ShortestPathTree.
+    // Pré-Condicao: source deve ser um id válido do grafo.
+    // Pós-Condicao: A árvore passa a ser a mais recente do cache. Pode ser chamada por várias threads; a busca roda fora do bloqueio.
+    public ShortestPathTree tree(int source, int limiteFio) {
+        return tree(graph.snapshot(), source, limiteFio);
+    }
+
+    // Função: tree
+    // Descrição: Mesmo que tree(source, limiteFio), numa versão fixa do grafo (uma tabela inteira usa a mesma versão).
+    // Entrada: DynamicGraph.Snapshot snapshot, int source, int limiteFio.
+    // Saída: ShortestPathTree (válida na versão do snapshot).
+    // Pré-Condicao: snapshot deve ser do grafo desta tabela.
+    // Pós-Condicao: O cache só troca uma árvore por outra de versão mais nova.
+    private ShortestPathTree tree(DynamicGraph.Snapshot snapshot, int source, int limiteFio) {
+        Long key = ((long) source << 32) | (limiteFio & 0xFFFFFFFFL);
+        Cached cached;
+        synchronized (cache) {
+            cached = cache.get(key);
+            if (cached != null && cached.version == snapshot.getVersion()) {
+                hits++;
+                return cached.tree;
+            }
+        }
+        ShortestPathTree tree = null;
+        if (cached != null && cached.version < snapshot.getVersion()) {
+            int[] changes = snapshot.changesSince(cached.version);
+            if (changes != null) {
+                tree = DynamicDijkstra.repair(snapshot.getGraph(), cached.tree, changes);
+            }
+        }
+        synchronized (cache) {
+            if (tree != null) repairs++;
+            else misses++;
+        }
+        if (tree == null) {
+            tree = Dijkstra.shortestPathTree(snapshot.getGraph(), source, limiteFio);
+        }
+        synchronized (cache) {
+            // Outra thread pode ter guardado uma versão mais nova enquanto esta buscava; fica a mais nova
+            Cached previous = cache.get(key);
+            if (previous == null || previous.version < snapshot.getVersion()) {
+                cache.put(key, new Cached(tree, snapshot.getVersion()));
+            }
+            return tree;
+        }
+    }
+
+    // Função: table
+    // Descrição: Matriz de distâncias de muitos para muitos: uma árvore (do cache, reparada ou nova) por origem, lida em todos os destinos, todas na mesma versão do grafo.
+    // Entrada: int[] sources (ids das origens), int[] targets (ids dos destinos), int limiteFio.
+    // Saída: int[][] (table[i][j] = distância de sources[i] a targets[j], ou Integer.MAX_VALUE sem caminho dentro do limite).
+    // Pré-Condicao: Todos os ids devem ser válidos.
+    // Pós-Condicao: As árvores das origens entram no cache.
+    public int[][] table(int[] sources, int[] targets, int limiteFio) {
+        DynamicGraph.Snapshot snapshot = graph.snapshot();
+        int[][] table = new int[sources.length][targets.length];
+        for (int i = 0; i < sources.length; i++) {
+            ShortestPathTree tree = tree(snapshot, sources[i], limiteFio);
+            for (int j = 0; j < targets.length; j++) {
+                table[i][j] = tree.distance(targets[j]);
+            }
+        }
+        return table;
+    }
+
+    // Função: getHits
+    // Descrição: Retorna quantas árvores foram servidas pelo cache.
+    // Entrada: Nenhuma.
+    // Saída: long.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public long getHits() {
+        synchronized (cache) {
+            return hits;
+        }
+    }
+
+    // Função: getMisses
+    // Descrição: Retorna quantas árvores precisaram de busca completa.
+    // Entrada: Nenhuma.
+    // Saída: long.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public long getMisses() {
+        synchronized (cache) {
+            return misses;
+        }
+    }
+
+    // Função: getRepairs
+    // Descrição: Retorna quantas árvores de versões anteriores foram reparadas em vez de refeitas.
+    // Entrada: Nenhuma.
+    // Saída: long.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public long getRepairs() {
+        synchronized (cache) {
+            return repairs;
+        }
+    }
+
+    // Converte uma lista de nomes separados por vírgula em ids, rejeitando nomes desconhecidos
+    private static int[] nodeIds(Graph graph, String names) {
+        String[] parts = names.split(",");
+        int[] ids = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            ids[i] = graph.indexOf(parts[i].trim());
+            if (ids[i] < 0) {
+                throw new IllegalArgumentException("Nó desconhecido: " + parts[i].trim());
+            }
+        }
+        return ids;
+    }
+
+    // Função: main
+    // Descrição: Imprime a matriz de distâncias entre as origens e os destinos informados, separada por tabulações ("-" quando não há caminho dentro do limite).
+    // Entrada: String[] args (arquivo de fatos ou snapshot, padrão arquivoEntradaMaior.txt; limiteFio, padrão sem limite; --origens=n0,n1 e --destinos=n5,n9, padrão ponto_inicial e ponto_final).
+    // Saída: Nenhuma (matriz na saída padrão; tempo e uso do cache na saída de erro).
+    // Pré-Condicao: Os nomes devem existir no grafo.
+    // Pós-Condicao: Nenhuma alteração nos arquivos.
+    public static void main(String[] args) throws IOException {
+        String filename = "arquivoEntradaMaior.txt";
+        int limiteFio = Integer.MAX_VALUE - 1;
+        String sourceNames = null;
+        String targetNames = null;
+        for (String arg : args) {
+            if (arg.startsWith("--origens=")) {
+                sourceNames = arg.substring(10);
+            } else if (arg.startsWith("--destinos=")) {
+                targetNames = arg.substring(11);
+            } else if (arg.chars().allMatch(Character::isDigit)) {
+                limiteFio = Integer.parseInt(arg);
+            } else if (!arg.startsWith("--")) {
+                filename = arg;
+            }
+        }
+        Graph graph = Graph.abrir(filename);
+        int[] sources = sourceNames != null ? nodeIds(graph, sourceNames) : new int[]{graph.getStart()};
+        int[] targets = targetNames != null ? nodeIds(graph, targetNames) : new int[]{graph.getGoal()};
+
+        long begin = System.nanoTime();
+        DistanceTable distances = new DistanceTable(graph);
+        int[][] table = distances.table(sources, targets, limiteFio);
+        double millis = (System.nanoTime() - begin) / 1e6;
+
+        StringBuilder line = new StringBuilder();
+        for (int target : targets) line.append('\t').append(graph.name(target));
+        System.out.println(line);
+        for (int i = 0; i < sources.length; i++) {
+            line.setLength(0);
+            line.append(graph.name(sources[i]));
+            for (int distance : table[i]) line.append('\t').append(distance == Integer.MAX_VALUE ? "-" : String.valueOf(distance));
+            System.out.println(line);
+        }
+        System.err.printf("%dx%d em %.1f ms (%d buscas, %d do cache)%n", sources.length, targets.length, millis,
+                distances.getMisses(), distances.getHits());
+    }
+}
@@ -0,0 +1,87 @@
+package Consultas;
+
+// Uma consulta do modo em lote: origem, destino, limite de fio e algoritmo
+public final class Query {
+    private final String source;
+    private final String target;
+    private final int limiteFio;
+    private final String algorithm;
+
+    // Função: Query (construtor)
+    // Descrição: Cria uma consulta.
+    // Entrada: String source (nome da origem), String target (nome do destino), int limiteFio, String algorithm (dijkstra, arvore, bidirecional, restrito, astar, alt, ch ou dfs).
+    // Saída: Instância de Query.
+    // Pré-Condicao: Nenhuma (nomes e algoritmo são validados na execução).
+    // Pós-Condicao: A consulta é imutável.
+    public Query(String source, String target, int limiteFio, String algorithm) {
+        this.source = source;
+        this.target = target;
+        this.limiteFio = limiteFio;
+        this.algorithm = algorithm;
+    }
+
+    // Função: parse
+    // Descrição: Lê uma consulta no formato "origem destino limiteFio [algoritmo]" (algoritmo padrão: dijkstra).
+    // Entrada: String line.
+    // Saída: Query.
+    // Pré-Condicao: A linha deve ter ao menos três campos separados por espaços.
+    // Pós-Condicao: Lança IllegalArgumentException se a linha for inválida.
+    public static Query parse(String line) {
+        String[] parts = line.trim().split("\\s+");
+        if (parts.length < 3) {
+            throw new IllegalArgumentException("Consulta inválida: " + line);
+        }
+        int limiteFio;
+        try {
+            limiteFio = Integer.parseInt(parts[2]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Limite de fio inválido: " + parts[2]);
+        }
+        return new Query(parts[0], parts[1], limiteFio, parts.length > 3 ? parts[3] : "dijkstra");
+    }
+
+    // Função: getSource
+    // Descrição: Retorna o nome do nó de origem.
+    // Entrada: Nenhuma.
+    // Saída: String.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public String getSource() {
+        return source;
+    }
+
+    // Função: getTarget
+    // Descrição: Retorna o nome do nó de destino.
+    // Entrada: Nenhuma.
+    // Saída: String.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public String getTarget() {
+        return target;
+    }
+
+    // Função: getLimiteFio
+    // Descrição: Retorna o comprimento máximo do fio.
+    // Entrada: Nenhuma.
+    // Saída: int.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int getLimiteFio() {
+        return limiteFio;
+    }
+
+    // Função: getAlgorithm
+    // Descrição: Retorna o algoritmo pedido (dijkstra, arvore, bidirecional, restrito, astar, alt, ch ou dfs).
+    // Entrada: Nenhuma.
+    // Saída: String.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    @Override
+    public String toString() {
+        return source + " " + target + " " + limiteFio + " " + algorithm;
+    }
+}
@@ -0,0 +1,75 @@
+package DFS_Pior;
+
+import Grafo.Frontier;
+import Grafo.Graph;
+import Grafo.SummaryTrace;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+
+// Saída completa do DFS (lista ordenada e desempenho a cada iteração), escrita por um buffer
+public class DFSTrace extends SummaryTrace {
+    private long[] sorted = new long[16]; // (g + h) << 32 | posição na fila, reaproveitado entre iterações
+    private int[] queued = new int[16]; // ids na ordem interna da fila
+    private int count;
+
+    // Função: DFSTrace (construtor)
+    // Descrição: Cria o ouvinte escrevendo no console.
+    // Entrada: Nenhuma.
+    // Saída: Instância de DFSTrace.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma.
+    public DFSTrace() {
+        super();
+    }
+
+    // Função: DFSTrace (construtor)
+    // Descrição: Cria o ouvinte escrevendo no fluxo informado.
+    // Entrada: OutputStream stream (destino da saída).
+    // Saída: Instância de DFSTrace.
+    // Pré-Condicao: stream deve estar aberto.
+    // Pós-Condicao: Nenhuma.
+    public DFSTrace(OutputStream stream) {
+        super(stream);
+    }
+
+    @Override
+    public void onStart() {
+        out.println("Início da execução");
+    }
+
+    // Função: onIteration
+    // Descrição: Imprime a lista ordenada por g + h (ordenação estável sobre a ordem da fila); só este ouvinte paga pela ordenação, a busca não copia a fila.
+    // Entrada: Graph graph, int iteration, int node (nó expandido), int[] g (custos), Frontier frontier.
+    // Saída: Nenhuma.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração nos parâmetros.
+    @Override
+    public void onIteration(Graph graph, int iteration, int node, int[] g, Frontier frontier) {
+        int size = frontier.size();
+        if (sorted.length < size) {
+            sorted = new long[Math.max(size, sorted.length * 2)];
+            queued = new int[sorted.length];
+        }
+        count = 0;
+        frontier.forEach(state -> {
+            sorted[count] = ((long) (g[state] + graph.heuristic(state)) << 32) | count;
+            queued[count++] = state;
+        });
+        Arrays.sort(sorted, 0, size);
+
+        out.println("Iteração " + iteration + ":");
+        out.print("Lista: ");
+        for (int i = 0; i < size; i++) {
+            int state = queued[(int) sorted[i]];
+            printEntry(graph, state, g[state]);
+        }
+        out.println();
+    }
+
+    @Override
+    public void onExpanded(int nodesExpanded) {
+        // Medida de desempenho: quantidade de nós expandidos
+        out.println("Medida de desempenho (nós expandidos): " + nodesExpanded);
+    }
+}
@@ -0,0 +1,179 @@
+package DFS_Pior;
+
+import java.util.Arrays;
+
+import Grafo.Graph;
+import Grafo.Heuristic;
+import Grafo.SearchResult;
+import Grafo.TraceListener;
+
+// Buscas em profundidade com pilha explícita de int (sem recursão e sem objetos por nó): memória O(profundidade) na pilha
+// mais um bitset de n bits para as marcas de visitado (e, no iddfs, um int por nó com a menor profundidade da passada).
+//   pilha  - DFS simples, uma única passada; cada nó é visitado no máximo uma vez
+//   iddfs  - aprofundamento iterativo pelo número de arestas; na passada um nó só é revisitado por uma profundidade menor,
+//            então o objetivo é achado na sua profundidade real (a mesma da busca em largura)
+//   idastar - IDA*: aprofundamento pelo limite de g + h; só os nós do caminho atual ficam marcados, então o caminho é ótimo com h admissível
+public final class IterativeDeepening {
+    private static final long UNBOUNDED = Long.MAX_VALUE;
+
+    private final Graph graph;
+    private final Heuristic heuristic; // null: limite pelo número de arestas (IDDFS)
+    private final boolean keepVisited; // true: marca vale até o fim da passada; false: só enquanto o nó está no caminho
+    private final long[] marks;
+    private final int[] reachedDepth; // iddfs: menor profundidade em que cada nó entrou na pilha na passada (null nas outras)
+    private int[] nodes = new int[64]; // pilha: nó de cada nível
+    private int[] edges = new int[64]; // próxima aresta a tentar em cada nível
+    private int[] costs = new int[64]; // g de cada nível
+    private int depth;
+    private int expanded;
+    private long nextBound;
+
+    private IterativeDeepening(Graph graph, Heuristic heuristic, boolean keepVisited, boolean byDepth) {
+        this.graph = graph;
+        this.heuristic = heuristic;
+        this.keepVisited = keepVisited;
+        this.marks = new long[(graph.nodeCount() + 63) >>> 6];
+        this.reachedDepth = byDepth ? new int[graph.nodeCount()] : null;
+    }
+
+    // Função: depthFirst
+    // Descrição: Busca em profundidade com pilha explícita, filhos na ordem de leitura e cada nó visitado uma única vez.
+    // Entrada: Graph graph, int start (id do nó inicial), int goal (id do nó objetivo), TraceListener trace (TraceListener.NONE para não imprimir nada).
+    // Saída: SearchResult (primeiro caminho encontrado, não necessariamente o menor).
+    // Pré-Condicao: start e goal devem ser ids válidos do grafo.
+    // Pós-Condicao: O ouvinte recebe uma única iteração (sem limite) e o resultado final.
+    public static SearchResult depthFirst(Graph graph, int start, int goal, TraceListener trace) {
+        return new IterativeDeepening(graph, null, true, false).run(start, goal, UNBOUNDED, trace);
+    }
+
+    // Função: iddfs
+    // Descrição: Aprofundamento iterativo: repete a busca em profundidade com limite de 0, 1, 2, ... arestas até achar o objetivo; na passada, um nó já empilhado só volta à pilha por uma profundidade menor.
+    // Entrada: Graph graph, int start, int goal, TraceListener trace.
+    // Saída: SearchResult (caminho com o menor número de arestas, igual à profundidade da busca em largura; não necessariamente o de menor custo; nós expandidos somam todas as passadas).
+    // Pré-Condicao: start e goal devem ser ids válidos do grafo.
+    // Pós-Condicao: O ouvinte recebe os nós expandidos de cada passada; para quando uma passada não corta nenhum nó pelo limite.
+    public static SearchResult iddfs(Graph graph, int start, int goal, TraceListener trace) {
+        return new IterativeDeepening(graph, null, false, true).run(start, goal, 0, trace);
+    }
+
+    // Função: idaStar
+    // Descrição: IDA*: busca em profundidade limitada por f = g + h, começando em h(start); o próximo limite é o menor f que passou do limite atual.
+    // Entrada: Graph graph, int start, int goal, Heuristic heuristic (ex.: Heuristic.facts(graph) ou Landmarks), TraceListener trace.
+    // Saída: SearchResult (menor caminho se h for admissível; nós expandidos somam todas as passadas).
+    // Pré-Condicao: start e goal devem ser ids válidos do grafo; custos positivos.
+    // Pós-Condicao: O ouvinte recebe os nós expandidos de cada passada. Só os nós do caminho atual são marcados, então nós podem ser reexpandidos por caminhos diferentes.
+    public static SearchResult idaStar(Graph graph, int start, int goal, Heuristic heuristic, TraceListener trace) {
+        int h = heuristic.estimate(start, goal);
+        if (h == Integer.MAX_VALUE) {
+            trace.onStart();
+            SearchResult result = SearchResult.notFound(0);
+            trace.onFinish(graph, result);
+            return result;
+        }
+        return new IterativeDeepening(graph, heuristic, false, false).run(start, goal, h, trace);
+    }
+
+    // Função: run
+    // Descrição: Repete passadas limitadas, aumentando o limite para o menor valor que o excedeu, até achar o objetivo ou nenhum nó ser cortado.
+    // Entrada: int start, int goal, long bound (limite da primeira passada), TraceListener trace.
+    // Saída: SearchResult.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: O ouvinte recebe onDeepening a cada passada e onFinish no fim.
+    private SearchResult run(int start, int goal, long bound, TraceListener trace) {
+        trace.onStart();
+        long total = 0;
+        SearchResult result;
+        for (int iteration = 1; ; iteration++) {
+            boolean found = probe(start, goal, bound);
+            total += expanded;
+            trace.onDeepening(iteration, bound, expanded);
+            int reported = (int) Math.min(total, Integer.MAX_VALUE);
+            if (found) {
+                result = new SearchResult(costs[depth - 1], Arrays.copyOf(nodes, depth), reported);
+                break;
+            }
+            if (nextBound == UNBOUNDED) {
+                result = SearchResult.notFound(reported);
+                break;
+            }
+            bound = nextBound;
+        }
+        trace.onFinish(graph, result);
+        return result;
+    }
+
+    // Função: probe
+    // Descrição: Uma passada em profundidade com pilha explícita; um filho entra na pilha se não estiver marcado (no iddfs: se ainda não entrou por uma profundidade igual ou menor) e seu valor (profundidade, ou g + h) não passar de bound.
+    // Entrada: int start, int goal, long bound.
+    // Saída: boolean (true se o objetivo foi alcançado; a pilha guarda então o caminho da origem ao objetivo).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: expanded guarda os nós expandidos da passada e nextBound o menor valor que excedeu bound (UNBOUNDED se nenhum).
+    private boolean probe(int start, int goal, long bound) {
+        Arrays.fill(marks, 0L);
+        if (reachedDepth != null) Arrays.fill(reachedDepth, Integer.MAX_VALUE);
+        expanded = 0;
+        nextBound = UNBOUNDED;
+        depth = 0;
+        push(start, 0);
+        if (start == goal) return true;
+        expanded++;
+
+        while (depth > 0) {
+            int top = depth - 1;
+            int node = nodes[top];
+            int e = edges[top];
+            if (e == graph.endEdge(node)) {
+                depth--;
+                if (!keepVisited) unmark(node);
+                continue;
+            }
+            edges[top] = e + 1;
+
+            int child = graph.target(e);
+            if (reachedDepth != null ? reachedDepth[child] <= depth : isMarked(child)) continue;
+            int g = costs[top] + graph.weight(e);
+            long value;
+            if (heuristic == null) {
+                value = depth; // profundidade do filho, em arestas
+            } else {
+                int h = heuristic.estimate(child, goal);
+                if (h == Integer.MAX_VALUE) continue; // objetivo inalcançável a partir do filho
+                value = (long) g + h;
+            }
+            if (value > bound) {
+                nextBound = Math.min(nextBound, value);
+                continue;
+            }
+
+            push(child, g);
+            if (child == goal) return true;
+            expanded++;
+        }
+        return false;
+    }
+
+    // Empilha node com custo g, marcando-o e crescendo os vetores da pilha quando necessário
+    private void push(int node, int g) {
+        if (depth == nodes.length) {
+            nodes = Arrays.copyOf(nodes, depth * 2);
+            edges = Arrays.copyOf(edges, depth * 2);
+            costs = Arrays.copyOf(costs, depth * 2);
+        }
+        nodes[depth] = node;
+        edges[depth] = graph.firstEdge(node);
+        costs[depth] = g;
+        if (reachedDepth != null) reachedDepth[node] = depth;
+        depth++;
+        marks[node >>> 6] |= 1L << node;
+    }
+
+    // Remove a marca de node
+    private void unmark(int node) {
+        marks[node >>> 6] &= ~(1L << node);
+    }
+
+    // Indica se node está marcado
+    private boolean isMarked(int node) {
+        return (marks[node >>> 6] & (1L << node)) != 0;
+    }
+}
@@ -0,0 +1,145 @@
+package Dijkstra_Bonus;
+
+import Grafo.Graph;
+import Grafo.IndexedHeap;
+import Grafo.SearchResult;
+import Grafo.SearchScratch;
+import Grafo.TraceListener;
+
+// Dijkstra bidirecional com limite de fio: uma busca parte da origem no grafo e outra parte do destino no grafo reverso.
+// A cada passo avança o lado cujo topo da fila é menor e para quando topo(ida) + topo(volta) >= melhor caminho já visto.
+public class BidirectionalDijkstra {
+    private static final int FORWARD_SLOT = 0;
+    private static final int BACKWARD_SLOT = 1;
+
+    private BidirectionalDijkstra() {
+    }
+
+    // Função: calculateShortestPath
+    // Descrição: Dijkstra bidirecional com limite de fio sobre o grafo compacto, usando os estados de trabalho reaproveitados da thread e delegando a saída ao ouvinte.
+    // Entrada: Graph graph (grafo compacto), int source (id do nó inicial), int target (id do nó final), int limiteFio (comprimento máximo do fio), TraceListener trace (TraceListener.NONE para não imprimir nada).
+    // Saída: SearchResult (mesma distância do Dijkstra unidirecional; entre caminhos de custo empatado o escolhido pode ser outro, pois depende do nó de encontro; nós expandidos somam os dois lados).
+    // Pré-Condicao: source e target devem ser ids válidos do grafo; custos positivos.
+    // Pós-Condicao: O ouvinte recebe os eventos dos dois lados e o resultado final; o grafo reverso fica guardado no grafo.
+    public static SearchResult calculateShortestPath(Graph graph, int source, int target, int limiteFio, TraceListener trace) {
+        SearchScratch forward = SearchScratch.forGraph(graph, FORWARD_SLOT);
+        SearchScratch backward = SearchScratch.forGraph(graph, BACKWARD_SLOT);
+        int meeting = search(graph, source, target, limiteFio, forward, backward, trace);
+        SearchResult result = toResult(forward, backward, meeting);
+        trace.onFinish(graph, result);
+        return result;
+    }
+
+    // Função: shortestDistance
+    // Descrição: Consulta bidirecional sem saída e sem alocação; retorna só a distância.
+    // Entrada: Graph graph, int source, int target, int limiteFio, SearchScratch forward e SearchScratch backward (estados distintos, ex.: SearchScratch.forGraph(graph, 0) e (graph, 1)).
+    // Saída: int (distância até target, ou Integer.MAX_VALUE se não houver caminho dentro do limite).
+    // Pré-Condicao: Os estados devem ter capacidade para o grafo e não estar em uso por outra thread.
+    // Pós-Condicao: forward e backward guardam as duas metades da busca até o próximo reset.
+    public static int shortestDistance(Graph graph, int source, int target, int limiteFio,
+                                       SearchScratch forward, SearchScratch backward) {
+        int meeting = search(graph, source, target, limiteFio, forward, backward, TraceListener.NONE);
+        return meeting == -1 ? Integer.MAX_VALUE : forward.distance(meeting) + backward.distance(meeting);
+    }
+
+    // Função: search
+    // Descrição: Laço bidirecional. Cada lado segue as regras do Dijkstra com limite (nó com fio restante <= 0 não é expandido, relaxamento só até limiteFio) e o encontro só é aceito se o caminho completo couber no fio.
+    // Entrada: Graph graph, int source, int target, int limiteFio, SearchScratch forward, SearchScratch backward, TraceListener trace.
+    // Saída: int (nó de encontro do menor caminho, ou -1 se não houver caminho dentro do limite).
+    // Pré-Condicao: source e target devem ser ids válidos do grafo; custos positivos.
+    // Pós-Condicao: forward guarda distâncias e predecessores a partir da origem; backward, distâncias e sucessores até o destino.
+    private static int search(Graph graph, int source, int target, int limiteFio,
+                              SearchScratch forward, SearchScratch backward, TraceListener trace) {
+        Graph reverse = graph.reverse();
+        forward.reset();
+        backward.reset();
+        forward.reach(source, 0, -1);
+        forward.heap().insert(source, 0);
+        backward.reach(target, 0, -1);
+        backward.heap().insert(target, 0);
+
+        // Melhor caminho completo visto até agora; começa logo acima do fio para já servir de poda
+        long best = (long) limiteFio + 1;
+        int meeting = -1;
+        if (source == target && limiteFio >= 0) {
+            best = 0;
+            meeting = source;
+        }
+        int iteration = 1;
+        int nodesExpanded = 0;
+
+        trace.onStart();
+
+        IndexedHeap forwardQueue = forward.heap();
+        IndexedHeap backwardQueue = backward.heap();
+        while (!forwardQueue.isEmpty() && !backwardQueue.isEmpty()) {
+            // Critério de parada: nenhum caminho ainda não visto pode ser menor que best
+            if ((long) forwardQueue.peekKey() + backwardQueue.peekKey() >= best) break;
+
+            boolean forwardSide = forwardQueue.peekKey() <= backwardQueue.peekKey();
+            Graph side = forwardSide ? graph : reverse;
+            SearchScratch own = forwardSide ? forward : backward;
+            SearchScratch other = forwardSide ? backward : forward;
+            IndexedHeap queue = own.heap();
+
+            int currentNode = queue.poll();
+            own.close(currentNode);
+            int currentDistance = own.distance(currentNode);
+
+            int fioRestante = limiteFio - currentDistance;
+            boolean descartarCaminho = fioRestante <= 0;
+
+            trace.onIteration(graph, iteration, currentNode, own.distances(), queue);
+            trace.onWire(fioRestante, descartarCaminho);
+            if (descartarCaminho) {
+                trace.onExpanded(nodesExpanded);
+                iteration++;
+                continue;
+            }
+
+            nodesExpanded++;
+
+            own.addRelaxed(side.endEdge(currentNode) - side.firstEdge(currentNode));
+            for (int e = side.firstEdge(currentNode), end = side.endEdge(currentNode); e < end; e++) {
+                int neighbor = side.target(e);
+                if (own.isClosed(neighbor)) continue;
+                int newDistance = currentDistance + side.weight(e);
+                if (newDistance <= limiteFio && newDistance < own.distance(neighbor)) {
+                    own.reach(neighbor, newDistance, currentNode);
+                    queue.insertOrDecrease(neighbor, newDistance);
+                }
+                // O vizinho já foi alcançado pelo outro lado: há um caminho completo passando por ele
+                int otherDistance = other.distance(neighbor);
+                if (otherDistance != Integer.MAX_VALUE && (long) own.distance(neighbor) + otherDistance < best) {
+                    best = (long) own.distance(neighbor) + otherDistance;
+                    meeting = neighbor;
+                }
+            }
+
+            trace.onExpanded(nodesExpanded);
+            iteration++;
+        }
+        forward.setExpanded(nodesExpanded);
+        backward.setExpanded(nodesExpanded);
+        return meeting;
+    }
+
+    // Função: toResult
+    // Descrição: Junta o caminho da origem até o nó de encontro (predecessores da ida) com o caminho do encontro até o destino (predecessores da volta).
+    // Entrada: SearchScratch forward, SearchScratch backward, int meeting (nó de encontro ou -1).
+    // Saída: SearchResult.
+    // Pré-Condicao: Os estados devem conter a última busca bidirecional.
+    // Pós-Condicao: Nenhuma alteração nos estados.
+    private static SearchResult toResult(SearchScratch forward, SearchScratch backward, int meeting) {
+        if (meeting == -1) {
+            return SearchResult.notFound(forward.getExpanded());
+        }
+        int length = 0;
+        for (int node = meeting; node != -1; node = forward.parent(node)) length++;
+        for (int node = backward.parent(meeting); node != -1; node = backward.parent(node)) length++;
+        int[] path = new int[length];
+        int head = forward.pathTo(meeting, path);
+        for (int node = backward.parent(meeting); node != -1; node = backward.parent(node)) path[head++] = node;
+        return new SearchResult(forward.distance(meeting) + backward.distance(meeting), path, forward.getExpanded());
+    }
+}
@@ -0,0 +1,450 @@
+package Dijkstra_Bonus;
+
+import Grafo.Graph;
+import Grafo.IndexedHeap;
+import Grafo.SearchResult;
+import Grafo.SearchScratch;
+import Grafo.SummaryTrace;
+import Grafo.TraceListener;
+import Grafo.TraceMode;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Scanner;
+
+// Caminho de menor custo com limite de fio, tratando custo e fio como recursos separados (4º argumento de pode_ir).
+// Busca por rótulos (label-setting): cada rótulo é um caminho parcial (nó, custo, fio), e cada nó guarda só os rótulos
+// Pareto-ótimos (nenhum outro com custo e fio menores ou iguais). Dois Dijkstras no grafo reverso dão, para cada nó,
+// o menor custo e o menor fio que faltam até o destino. Quando o fio aperta, uma relaxação lagrangiana (LARAC: Dijkstras
+// reversos com peso a * custo + b * fio) dá um limite inferior mais forte e caminhos viáveis. A fila é ordenada pelo maior
+// limite inferior, e rótulos que não cabem no fio ou não podem melhorar o melhor caminho viável nem entram na fila.
+public class ConstrainedDijkstra {
+    private static final int DEFAULT_MAX_LABELS = 1 << 22; // teto de memória por consulta (~100 MB de rótulos)
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int COST_SLOT = 2; // estados de trabalho dos Dijkstras reversos (0 e 1 ficam para as outras buscas)
+    private static final int WIRE_SLOT = 3;
+    private static final int LARAC_ITERATIONS = 16; // teto de Dijkstras da relaxação lagrangiana por consulta
+    private static final ThreadLocal<Labels> POOL = ThreadLocal.withInitial(Labels::new);
+
+    private ConstrainedDijkstra() {
+    }
+
+    // Função: calculateShortestPath
+    // Descrição: Caminho de menor custo cujo fio total não passa de limiteFio, com o teto padrão de rótulos.
+    // Entrada: Graph graph, int source, int target, int limiteFio, TraceListener trace (TraceListener.NONE para não imprimir nada).
+    // Saída: SearchResult (custo, caminho e rótulos expandidos).
+    // Pré-Condicao: source e target devem ser ids válidos; custos e fios não negativos.
+    // Pós-Condicao: O ouvinte recebe o início e o resultado final (não há iterações por nó nesta busca).
+    public static SearchResult calculateShortestPath(Graph graph, int source, int target, int limiteFio, TraceListener trace) {
+        return calculateShortestPath(graph, source, target, limiteFio, DEFAULT_MAX_LABELS, trace);
+    }
+
+    // Função: calculateShortestPath
+    // Descrição: Igual à anterior, com o teto de rótulos informado.
+    // Entrada: Graph graph, int source, int target, int limiteFio, int maxLabels (rótulos criados no máximo), TraceListener trace.
+    // Saída: SearchResult.
+    // Pré-Condicao: maxLabels >= 1.
+    // Pós-Condicao: Lança IllegalStateException se a consulta precisar de mais de maxLabels rótulos.
+    public static SearchResult calculateShortestPath(Graph graph, int source, int target, int limiteFio, int maxLabels,
+                                                     TraceListener trace) {
+        trace.onStart();
+        Labels labels = POOL.get();
+        SearchScratch costToTarget = SearchScratch.forGraph(graph, COST_SLOT);
+        SearchScratch wireToTarget = SearchScratch.forGraph(graph, WIRE_SLOT);
+        int found = search(graph, source, target, limiteFio, maxLabels, labels, costToTarget, wireToTarget);
+        SearchResult result = found == -1 ? SearchResult.notFound(labels.expanded)
+                : labels.toResult(found, costToTarget);
+        trace.onFinish(graph, result);
+        return result;
+    }
+
+    // Função: search
+    // Descrição: Calcula os limites inferiores reversos e executa a busca por rótulos.
+    // Entrada: Graph graph, int source, int target, int limiteFio, int maxLabels, Labels labels, SearchScratch costToTarget, SearchScratch wireToTarget.
+    // Saída: int (rótulo que encerrou a busca, ou -1 se não há caminho dentro do fio).
+    // Pré-Condicao: source e target devem ser ids válidos.
+    // Pós-Condicao: labels e os estados reversos guardam o necessário para montar o caminho.
+    private static int search(Graph graph, int source, int target, int limiteFio, int maxLabels, Labels labels,
+                              SearchScratch costToTarget, SearchScratch wireToTarget) {
+        int n = graph.nodeCount();
+        labels.reset(n);
+        lowerBounds(graph, target, limiteFio, labels, costToTarget, wireToTarget);
+        if (wireToTarget.distance(source) == UNREACHABLE) {
+            return -1; // nem o caminho de menor fio cabe no limite
+        }
+        long upper = labels.costAlongWire[source]; // custo de algum caminho viável já conhecido (o de menor fio)
+        if (labels.wireAlongCost[source] > limiteFio) {
+            upper = Math.min(upper, lagrange(graph, source, target, limiteFio, labels, costToTarget, wireToTarget));
+        }
+
+        labels.push(source, 0, 0, -1, (int) bound(labels, source, 0, 0, costToTarget.distance(source), limiteFio));
+        while (!labels.isEmpty()) {
+            int label = labels.pop();
+            if (labels.dead[label]) continue;
+            int node = labels.node[label];
+            int cost = labels.cost[label];
+            int wire = labels.wire[label];
+            labels.expanded++;
+
+            // O caminho de menor custo restante também cabe no fio: como a fila é ordenada por custo + custo
+            // restante mínimo, nenhum outro rótulo pode terminar mais barato (vale também para node == target)
+            if ((long) wire + labels.wireAlongCost[node] <= limiteFio) {
+                return label;
+            }
+
+            for (int e = graph.firstEdge(node), end = graph.endEdge(node); e < end; e++) {
+                int next = graph.target(e);
+                int minWire = wireToTarget.distance(next);
+                int minCost = costToTarget.distance(next);
+                if (minWire == UNREACHABLE || minCost == UNREACHABLE) continue;
+                int nextWire = wire + graph.wire(e);
+                if ((long) nextWire + minWire > limiteFio) continue; // não cabe no fio nem pelo caminho de menor fio
+                int nextCost = cost + graph.weight(e);
+                long lower = bound(labels, next, nextCost, nextWire, minCost, limiteFio);
+                if (lower > upper) continue; // não melhora o melhor caminho viável
+                // Completar pelo caminho de menor custo (se couber no fio) ou pelo de menor fio dá um caminho viável
+                if ((long) nextWire + labels.wireAlongCost[next] <= limiteFio) {
+                    upper = Math.min(upper, (long) nextCost + minCost);
+                } else {
+                    upper = Math.min(upper, (long) nextCost + labels.costAlongWire[next]);
+                }
+                if (labels.dominated(next, nextCost, nextWire)) continue;
+                if (labels.size == maxLabels) {
+                    throw new IllegalStateException("Limite de " + maxLabels + " rótulos excedido");
+                }
+                labels.push(next, nextCost, nextWire, label, (int) lower);
+            }
+        }
+        return -1;
+    }
+
+    // Função: bound
+    // Descrição: Limite inferior do custo total de um rótulo: custo + menor custo restante e, se a relaxação lagrangiana foi calculada, custo + (R(v) - b * fio livre) / a, em que R(v) é o menor a * custo + b * fio de v até o destino.
+    // Entrada: Labels labels, int node, int cost, int wire (rótulo), int minCost (menor custo de node até o destino), int limiteFio.
+    // Saída: long (limite inferior do custo de qualquer caminho viável que estenda o rótulo).
+    // Pré-Condicao: node deve estar na região que cabe no fio.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    private static long bound(Labels labels, int node, int cost, int wire, int minCost, int limiteFio) {
+        long lower = (long) cost + minCost;
+        long a = labels.multiplierCost;
+        if (a > 0) {
+            long rest = labels.reduced[node] - labels.multiplierWire * ((long) limiteFio - wire);
+            lower = Math.max(lower, cost - Math.floorDiv(-rest, a)); // cost + teto(rest / a)
+        }
+        return lower;
+    }
+
+    // Função: lagrange
+    // Descrição: LARAC: parte do caminho de menor custo (não cabe no fio) e do de menor fio (cabe) e repete um Dijkstra reverso com peso a * custo + b * fio, em que b / a é a inclinação entre os dois; cada novo caminho substitui o do mesmo lado até a reta não melhorar.
+    // Entrada: Graph graph, int source, int target, int limiteFio, Labels labels, SearchScratch costToTarget, SearchScratch wireToTarget.
+    // Saída: long (custo do melhor caminho viável encontrado).
+    // Pré-Condicao: lowerBounds já calculado; o caminho de menor custo de source não cabe no fio e o de menor fio cabe.
+    // Pós-Condicao: labels guarda a, b e R(v) da última iteração, usados por bound.
+    private static long lagrange(Graph graph, int source, int target, int limiteFio, Labels labels,
+                                 SearchScratch costToTarget, SearchScratch wireToTarget) {
+        long infeasibleCost = costToTarget.distance(source);
+        long infeasibleWire = labels.wireAlongCost[source];
+        long feasibleCost = labels.costAlongWire[source];
+        long feasibleWire = wireToTarget.distance(source);
+        for (int i = 0; i < LARAC_ITERATIONS && infeasibleWire > feasibleWire; i++) {
+            long a = infeasibleWire - feasibleWire;
+            long b = feasibleCost - infeasibleCost;
+            labels.reducedTree(graph.reverse(), target, a, b, wireToTarget);
+            long cost = labels.treeCost[source];
+            long wire = labels.treeWire[source];
+            if (a * cost + b * wire >= a * infeasibleCost + b * infeasibleWire) {
+                break; // nenhum caminho abaixo da reta: o multiplicador é ótimo
+            }
+            if (wire <= limiteFio) {
+                feasibleCost = cost;
+                feasibleWire = wire;
+            } else {
+                infeasibleCost = cost;
+                infeasibleWire = wire;
+            }
+        }
+        return feasibleCost;
+    }
+
+    // Função: lowerBounds
+    // Descrição: Dois Dijkstras a partir do destino no grafo reverso: menor fio até o destino (só até limiteFio) e menor custo até o destino (só nos nós que cabem no fio). Cada um também guarda o outro recurso ao longo da sua árvore.
+    // Entrada: Graph graph, int target, int limiteFio, Labels labels, SearchScratch costToTarget, SearchScratch wireToTarget.
+    // Saída: Nenhuma.
+    // Pré-Condicao: Custos e fios não negativos.
+    // Pós-Condicao: wireToTarget.distance(v) e costToTarget.distance(v) são limites inferiores (UNREACHABLE fora da região viável); parent(v) em costToTarget é o próximo nó do caminho de menor custo até target.
+    private static void lowerBounds(Graph graph, int target, int limiteFio, Labels labels,
+                                    SearchScratch costToTarget, SearchScratch wireToTarget) {
+        Graph reverse = graph.reverse();
+
+        wireToTarget.reset();
+        wireToTarget.reach(target, 0, -1);
+        labels.costAlongWire[target] = 0;
+        IndexedHeap heap = wireToTarget.heap();
+        heap.insert(target, 0);
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            int du = wireToTarget.distance(u);
+            for (int e = reverse.firstEdge(u), end = reverse.endEdge(u); e < end; e++) {
+                int v = reverse.target(e);
+                int candidate = du + reverse.wire(e);
+                if (candidate <= limiteFio && candidate < wireToTarget.distance(v)) {
+                    wireToTarget.reach(v, candidate, u);
+                    labels.costAlongWire[v] = labels.costAlongWire[u] + reverse.weight(e);
+                    heap.insertOrDecrease(v, candidate);
+                }
+            }
+        }
+
+        costToTarget.reset();
+        costToTarget.reach(target, 0, -1);
+        labels.wireAlongCost[target] = 0;
+        heap = costToTarget.heap();
+        heap.insert(target, 0);
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            int du = costToTarget.distance(u);
+            for (int e = reverse.firstEdge(u), end = reverse.endEdge(u); e < end; e++) {
+                int v = reverse.target(e);
+                if (wireToTarget.distance(v) == UNREACHABLE) continue; // fora da região que cabe no fio
+                int candidate = du + reverse.weight(e);
+                if (candidate < costToTarget.distance(v)) {
+                    costToTarget.reach(v, candidate, u);
+                    labels.wireAlongCost[v] = labels.wireAlongCost[u] + reverse.wire(e);
+                    heap.insertOrDecrease(v, candidate);
+                }
+            }
+        }
+    }
+
+    // Rótulos em vetores primitivos reaproveitados entre consultas da mesma thread: sem um objeto por rótulo
+    private static final class Labels {
+        int[] node = new int[1024];
+        int[] cost = new int[1024];
+        int[] wire = new int[1024];
+        int[] parent = new int[1024]; // rótulo anterior no caminho (-1 na origem)
+        int[] next = new int[1024]; // próximo rótulo da lista de Pareto do mesmo nó
+        boolean[] dead = new boolean[1024]; // dominado depois de entrar na fila
+        int size;
+        int expanded;
+
+        int[] head = new int[0]; // primeiro rótulo da lista de Pareto de cada nó
+        int[] headStamp = new int[0]; // headStamp[v] == stamp: head[v] vale nesta consulta
+        int stamp;
+        int[] costAlongWire = new int[0]; // custo do caminho de menor fio de v até o destino
+        int[] wireAlongCost = new int[0]; // fio do caminho de menor custo de v até o destino
+
+        long[] queue = new long[1024]; // heap binário de (prioridade << 32 | rótulo)
+        int queueSize;
+
+        long multiplierCost; // a da relaxação lagrangiana (0: não calculada nesta consulta)
+        long multiplierWire; // b da relaxação lagrangiana
+        long[] reduced = new long[0]; // R(v): menor a * custo + b * fio de v até o destino
+        int[] treeCost = new int[0]; // custo do caminho de R(v)
+        int[] treeWire = new int[0]; // fio do caminho de R(v)
+        long[] treeKeys = new long[1024]; // heap com remoção preguiçosa do Dijkstra lagrangiano
+        int[] treeNodes = new int[1024];
+        int treeSize;
+
+        // Prepara os vetores para um grafo com n nós, sem limpar o que a geração já invalida
+        void reset(int n) {
+            if (head.length < n) {
+                head = new int[n];
+                headStamp = new int[n];
+                costAlongWire = new int[n];
+                wireAlongCost = new int[n];
+                reduced = new long[n];
+                treeCost = new int[n];
+                treeWire = new int[n];
+                stamp = 0;
+            }
+            if (++stamp == Integer.MAX_VALUE) {
+                Arrays.fill(headStamp, 0);
+                stamp = 1;
+            }
+            size = 0;
+            expanded = 0;
+            queueSize = 0;
+            multiplierCost = 0;
+            multiplierWire = 0;
+        }
+
+        // Dijkstra reverso com peso a * custo + b * fio, só na região que cabe no fio; guarda R(v) e o custo e fio do caminho
+        void reducedTree(Graph reverse, int target, long a, long b, SearchScratch region) {
+            multiplierCost = a;
+            multiplierWire = b;
+            Arrays.fill(reduced, Long.MAX_VALUE);
+            reduced[target] = 0;
+            treeCost[target] = 0;
+            treeWire[target] = 0;
+            treeSize = 0;
+            treePush(0, target);
+            while (treeSize > 0) {
+                long d = treeKeys[0];
+                int u = treePop();
+                if (d > reduced[u]) continue; // entrada antiga na fila
+                for (int e = reverse.firstEdge(u), end = reverse.endEdge(u); e < end; e++) {
+                    int v = reverse.target(e);
+                    if (region.distance(v) == UNREACHABLE) continue;
+                    long candidate = d + a * reverse.weight(e) + b * reverse.wire(e);
+                    if (candidate < reduced[v]) {
+                        reduced[v] = candidate;
+                        treeCost[v] = treeCost[u] + reverse.weight(e);
+                        treeWire[v] = treeWire[u] + reverse.wire(e);
+                        treePush(candidate, v);
+                    }
+                }
+            }
+        }
+
+        private void treePush(long key, int v) {
+            if (treeSize == treeKeys.length) {
+                treeKeys = Arrays.copyOf(treeKeys, treeSize * 2);
+                treeNodes = Arrays.copyOf(treeNodes, treeSize * 2);
+            }
+            int i = treeSize++;
+            while (i > 0 && treeKeys[(i - 1) >>> 1] > key) {
+                treeKeys[i] = treeKeys[(i - 1) >>> 1];
+                treeNodes[i] = treeNodes[(i - 1) >>> 1];
+                i = (i - 1) >>> 1;
+            }
+            treeKeys[i] = key;
+            treeNodes[i] = v;
+        }
+
+        private int treePop() {
+            int top = treeNodes[0];
+            long lastKey = treeKeys[--treeSize];
+            int lastNode = treeNodes[treeSize];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= treeSize) break;
+                if (child + 1 < treeSize && treeKeys[child + 1] < treeKeys[child]) child++;
+                if (treeKeys[child] >= lastKey) break;
+                treeKeys[i] = treeKeys[child];
+                treeNodes[i] = treeNodes[child];
+                i = child;
+            }
+            treeKeys[i] = lastKey;
+            treeNodes[i] = lastNode;
+            return top;
+        }
+
+        // Verifica se (c, w) é dominado por um rótulo de v; se não for, remove os rótulos de v que ele domina
+        boolean dominated(int v, int c, int w) {
+            if (headStamp[v] != stamp) return false;
+            int previous = -1;
+            for (int l = head[v]; l != -1; l = next[l]) {
+                if (cost[l] <= c && wire[l] <= w) return true;
+                if (c <= cost[l] && w <= wire[l]) {
+                    dead[l] = true;
+                    if (previous == -1) head[v] = next[l];
+                    else next[previous] = next[l];
+                } else {
+                    previous = l;
+                }
+            }
+            return false;
+        }
+
+        // Cria o rótulo, liga-o à lista de Pareto do nó e o coloca na fila
+        void push(int v, int c, int w, int from, int priority) {
+            if (size == node.length) grow();
+            int l = size++;
+            node[l] = v;
+            cost[l] = c;
+            wire[l] = w;
+            parent[l] = from;
+            dead[l] = false;
+            next[l] = headStamp[v] == stamp ? head[v] : -1;
+            head[v] = l;
+            headStamp[v] = stamp;
+
+            if (queueSize == queue.length) queue = Arrays.copyOf(queue, queueSize * 2);
+            long key = ((long) priority << 32) | l;
+            int i = queueSize++;
+            while (i > 0 && queue[(i - 1) >>> 1] > key) {
+                queue[i] = queue[(i - 1) >>> 1];
+                i = (i - 1) >>> 1;
+            }
+            queue[i] = key;
+        }
+
+        boolean isEmpty() {
+            return queueSize == 0;
+        }
+
+        // Retira o rótulo de menor prioridade (empate: o criado primeiro)
+        int pop() {
+            int top = (int) queue[0];
+            long last = queue[--queueSize];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= queueSize) break;
+                if (child + 1 < queueSize && queue[child + 1] < queue[child]) child++;
+                if (queue[child] >= last) break;
+                queue[i] = queue[child];
+                i = child;
+            }
+            if (queueSize > 0) queue[i] = last;
+            return top;
+        }
+
+        private void grow() {
+            int capacity = node.length * 2;
+            node = Arrays.copyOf(node, capacity);
+            cost = Arrays.copyOf(cost, capacity);
+            wire = Arrays.copyOf(wire, capacity);
+            parent = Arrays.copyOf(parent, capacity);
+            next = Arrays.copyOf(next, capacity);
+            dead = Arrays.copyOf(dead, capacity);
+        }
+
+        // Caminho da origem até o nó do rótulo, seguido do caminho de menor custo até o destino
+        SearchResult toResult(int label, SearchScratch costToTarget) {
+            int last = node[label];
+            int length = 0;
+            for (int l = label; l != -1; l = parent[l]) length++;
+            for (int v = costToTarget.parent(last); v != -1; v = costToTarget.parent(v)) length++;
+            int[] path = new int[length];
+            int i = 0;
+            for (int l = label; l != -1; l = parent[l]) path[i++] = node[l];
+            for (int a = 0, b = i - 1; a < b; a++, b--) {
+                int swap = path[a];
+                path[a] = path[b];
+                path[b] = swap;
+            }
+            for (int v = costToTarget.parent(last); v != -1; v = costToTarget.parent(v)) path[i++] = v;
+            return new SearchResult(cost[label] + costToTarget.distance(last), path, expanded);
+        }
+    }
+
+    // Função: main
+    // Descrição: Lê o grafo, pergunta pelo comprimento do fio e executa a busca com custo e fio separados.
+    // Entrada: String[] args (arquivo de fatos ou snapshot, padrão arquivoEntradaMaior.txt; --trace=none|summary|full, padrão summary, pois não há iterações por nó).
+    // Saída: Nenhuma (imprime resultados no console).
+    // Pré-Condicao: O arquivo de entrada deve existir; pode_ir sem 4º argumento consome fio igual ao custo.
+    // Pós-Condicao: O resultado é exibido no console; a medida de desempenho conta rótulos expandidos.
+    public static void main(String[] args) {
+        try {
+            String filename = "arquivoEntradaMaior.txt";
+            for (String arg : args) {
+                if (!arg.startsWith("--")) filename = arg;
+            }
+            Graph graph = Graph.abrir(filename);
+            TraceListener trace = TraceMode.fromArgs(args) == TraceMode.NONE ? TraceListener.NONE : new SummaryTrace();
+
+            try (Scanner input = new Scanner(System.in)) {
+                System.out.println("Qual o comprimento do fio?");
+                int limiteFio = input.nextInt();
+                calculateShortestPath(graph, graph.getStart(), graph.getGoal(), limiteFio, trace);
+            }
+        } catch (FileNotFoundException e) {
+            System.out.println("Arquivo não encontrado: " + e.getMessage());
+        } catch (IOException e) {
+            System.out.println("Erro ao ler o arquivo: " + e.getMessage());
+        }
+    }
+}
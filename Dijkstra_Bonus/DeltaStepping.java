@@ -0,0 +1,415 @@
+package Dijkstra_Bonus;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+
+import Grafo.Graph;
+import Grafo.SearchResult;
+import Grafo.SearchScratch;
+import Grafo.TraceListener;
+
+// Delta-stepping com limite de fio: os nós ficam em baldes de largura delta pela distância; o balde atual é esvaziado
+// relaxando as arestas leves (custo <= delta) em paralelo até estabilizar e depois as pesadas, uma vez por nó.
+// Distância e predecessor de cada nó ficam num único long (distância << 32 | predecessor) atualizado por compareAndSet
+// só quando a distância diminui, então a menor distância sempre vence e a distância não depende da ordem das threads
+// (no empate fica o primeiro predecessor gravado). Trocar o predecessor sem diminuir a distância poderia fechar um ciclo
+// de predecessores com arestas de custo 0.
+// Mesmas regras do Dijkstra: nó com fio restante <= 0 não é expandido e o relaxamento só vale até limiteFio.
+public final class DeltaStepping implements AutoCloseable {
+    private static final long UNREACHED = Long.MAX_VALUE;
+    private static final long NO_PARENT = 0xFFFFFFFFL; // -1 nos 32 bits baixos
+    private static final int CHUNK = 256; // nós por tarefa; frentes menores que isso são relaxadas na thread chamadora
+    private static final int MAX_BUCKETS = 4096; // teto do anel; nós mais distantes esperam na lista de excedentes
+
+    private final Graph graph;
+    private final ForkJoinPool pool;
+    private final int delta;
+    private final AtomicLongArray best;
+    private final int[][] buckets; // baldes circulares [i, i + buckets.length), alocados no primeiro uso
+    private final int[] bucketSize;
+    private int[] overflow = new int[16]; // nós cujo balde ficou além do anel (com custos muito maiores que delta)
+    private int overflowSize;
+    private long overflowMin = Long.MAX_VALUE; // menor balde entre os excedentes (pode estar desatualizado para baixo)
+    private long current; // balde em processamento
+    private final int[][] out; // nós melhorados por tarefa, sem disputa entre threads
+    private final int[] outSize;
+    private final int[] frontierMark; // carimbo da frente atual (evita nó repetido na mesma frente)
+    private final int[] settledMark; // carimbo do balde atual (evita relaxar as pesadas duas vezes)
+    private int[] frontier = new int[CHUNK];
+    private int[] settled = new int[CHUNK];
+    private int stamp;
+
+    // Função: DeltaStepping (construtor)
+    // Descrição: Cria o motor com um pool próprio e delta igual ao custo médio das arestas.
+    // Entrada: Graph graph (grafo compartilhado), int threads (tamanho do pool).
+    // Saída: Instância de DeltaStepping.
+    // Pré-Condicao: threads >= 1; custos não negativos.
+    // Pós-Condicao: Os vetores de trabalho (n longs e 2n ints) são alocados uma vez e reaproveitados entre consultas.
+    public DeltaStepping(Graph graph, int threads) {
+        this(graph, threads, averageWeight(graph));
+    }
+
+    // Função: DeltaStepping (construtor)
+    // Descrição: Cria o motor com a largura de balde informada; delta pequeno aproxima o Dijkstra (pouco paralelismo), delta grande aproxima o Bellman-Ford (mais trabalho repetido).
+    // Entrada: Graph graph, int threads, int delta (largura dos baldes).
+    // Saída: Instância de DeltaStepping.
+    // Pré-Condicao: threads >= 1; delta >= 1; custos não negativos.
+    // Pós-Condicao: Nenhuma alteração no grafo.
+    public DeltaStepping(Graph graph, int threads, int delta) {
+        int n = graph.nodeCount();
+        this.graph = graph;
+        this.pool = new ForkJoinPool(threads);
+        this.delta = delta;
+        this.best = new AtomicLongArray(n);
+        int maxWeight = 0;
+        for (int e = 0; e < graph.edgeCount(); e++) maxWeight = Math.max(maxWeight, graph.weight(e));
+        this.buckets = new int[Math.min(MAX_BUCKETS, maxWeight / delta + 2)][];
+        this.bucketSize = new int[buckets.length];
+        this.out = new int[threads * 4][];
+        this.outSize = new int[out.length];
+        for (int c = 0; c < out.length; c++) out[c] = new int[CHUNK];
+        this.frontierMark = new int[n];
+        this.settledMark = new int[n];
+    }
+
+    // Custo médio das arestas (mínimo 1), largura padrão dos baldes
+    private static int averageWeight(Graph graph) {
+        long sum = 0;
+        for (int e = 0; e < graph.edgeCount(); e++) sum += graph.weight(e);
+        return (int) Math.max(1, sum / Math.max(1, graph.edgeCount()));
+    }
+
+    // Função: calculateShortestPath
+    // Descrição: Consulta com limite de fio executada em paralelo; a saída se limita a onStart e onFinish, pois não há uma ordem única de iterações.
+    // Entrada: int source (id do nó inicial), int target (id do nó final), int limiteFio (comprimento máximo do fio), TraceListener trace (TraceListener.NONE para não imprimir nada).
+    // Saída: SearchResult (mesma distância do Dijkstra; entre caminhos empatados pode escolher outro; nós expandidos = nós cujas arestas foram relaxadas).
+    // Pré-Condicao: source e target devem ser ids válidos do grafo.
+    // Pós-Condicao: Uma consulta por vez por instância (as chamadas concorrentes esperam).
+    public synchronized SearchResult calculateShortestPath(int source, int target, int limiteFio, TraceListener trace) {
+        trace.onStart();
+        int expanded = search(source, target, limiteFio);
+        SearchResult result = toResult(target, expanded);
+        trace.onFinish(graph, result);
+        return result;
+    }
+
+    // Função: shortestDistance
+    // Descrição: Consulta paralela sem saída; retorna só a distância.
+    // Entrada: int source, int target, int limiteFio.
+    // Saída: int (distância até target, ou Integer.MAX_VALUE se não houver caminho dentro do limite).
+    // Pré-Condicao: source e target devem ser ids válidos do grafo.
+    // Pós-Condicao: Uma consulta por vez por instância (as chamadas concorrentes esperam).
+    public synchronized int shortestDistance(int source, int target, int limiteFio) {
+        search(source, target, limiteFio);
+        return best.get(target) == UNREACHED ? Integer.MAX_VALUE : distance(target);
+    }
+
+    // Função: search
+    // Descrição: Laço dos baldes. Para o balde i: repete fases leves (frente = nós do balde i) até nenhum nó cair de novo em i, depois uma fase pesada com todos os nós que passaram pelo balde; para quando o destino já não pode melhorar.
+    // Entrada: int source, int target, int limiteFio.
+    // Saída: int (nós expandidos).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: best guarda distância e predecessor de cada nó alcançado.
+    private int search(int source, int target, int limiteFio) {
+        forEachChunk(out.length, chunk -> {
+            int n = best.length();
+            for (int v = (int) ((long) n * chunk / out.length), end = (int) ((long) n * (chunk + 1) / out.length); v < end; v++) {
+                best.lazySet(v, UNREACHED);
+            }
+        });
+        Arrays.fill(bucketSize, 0);
+        overflowSize = 0;
+        overflowMin = Long.MAX_VALUE;
+        current = 0;
+        best.set(source, NO_PARENT); // distância 0, sem predecessor
+        add(0, source);
+
+        int expanded = 0;
+        for (long i = 0; ; i++) {
+            current = i;
+            if (overflowMin < i + buckets.length) migrate();
+            int slot = (int) (i % buckets.length);
+            if (bucketSize[slot] == 0) {
+                // Próximo balde não vazio; se o anel estiver vazio, salta para o menor excedente (ou termina sem eles)
+                int skip = 1;
+                while (skip < buckets.length && bucketSize[(int) ((i + skip) % buckets.length)] == 0) skip++;
+                if (skip == buckets.length) {
+                    if (overflowSize == 0) break;
+                    i = Math.max(i, overflowMin - 1);
+                    continue;
+                }
+                i += skip - 1;
+                continue;
+            }
+
+            int settledCount = 0;
+            int settledStamp = nextStamp();
+            while (bucketSize[slot] > 0) {
+                // Frente: nós do balde que ainda pertencem a ele (os que melhoraram para outro balde são ignorados)
+                int frontierStamp = nextStamp();
+                int count = 0;
+                int[] bucket = buckets[slot];
+                for (int k = 0, size = bucketSize[slot]; k < size; k++) {
+                    int v = bucket[k];
+                    if (distance(v) / delta != i || frontierMark[v] == frontierStamp) continue;
+                    frontierMark[v] = frontierStamp;
+                    frontier = append(frontier, count++, v);
+                    if (settledMark[v] != settledStamp) {
+                        settledMark[v] = settledStamp;
+                        settled = append(settled, settledCount++, v);
+                    }
+                }
+                bucketSize[slot] = 0;
+                relax(frontier, count, true, limiteFio);
+                distribute();
+            }
+            expanded += settledCount;
+            relax(settled, settledCount, false, limiteFio);
+            distribute();
+
+            // O destino não melhora mais: todo caminho restante sai de um balde >= i + 1
+            long targetDistance = best.get(target) == UNREACHED ? Long.MAX_VALUE : distance(target);
+            if (targetDistance < (i + 1) * delta) break;
+        }
+        return expanded;
+    }
+
+    // Função: relax
+    // Descrição: Relaxa as arestas leves (light) ou pesadas dos nós informados, dividindo-os entre as tarefas do pool; cada tarefa anota em out os nós que melhorou.
+    // Entrada: int[] nodes, int count, boolean light, int limiteFio.
+    // Saída: Nenhuma.
+    // Pré-Condicao: nodes não é alterado durante a fase.
+    // Pós-Condicao: outSize[c] nós melhorados pela tarefa c (os demais ficam com 0).
+    private void relax(int[] nodes, int count, boolean light, int limiteFio) {
+        int chunks = Math.max(1, Math.min(out.length, count / CHUNK));
+        Arrays.fill(outSize, 0);
+        forEachChunk(chunks, chunk -> {
+            int[] buffer = out[chunk];
+            int size = 0;
+            for (int k = (int) ((long) count * chunk / chunks), end = (int) ((long) count * (chunk + 1) / chunks); k < end; k++) {
+                int node = nodes[k];
+                int nodeDistance = distance(node);
+                if (limiteFio - nodeDistance <= 0) continue; // fio restante <= 0: caminho descartado
+                for (int e = graph.firstEdge(node), last = graph.endEdge(node); e < last; e++) {
+                    int weight = graph.weight(e);
+                    if ((weight <= delta) != light) continue;
+                    long newDistance = (long) nodeDistance + weight;
+                    if (newDistance > limiteFio) continue;
+                    int neighbor = graph.target(e);
+                    long candidate = newDistance << 32 | node;
+                    long packed = best.get(neighbor);
+                    while (packed == UNREACHED || newDistance < packed >>> 32) {
+                        if (best.compareAndSet(neighbor, packed, candidate)) {
+                            buffer = append(buffer, size++, neighbor);
+                            break;
+                        }
+                        packed = best.get(neighbor);
+                    }
+                }
+            }
+            out[chunk] = buffer;
+            outSize[chunk] = size;
+        });
+    }
+
+    // Coloca os nós melhorados na última fase nos baldes da sua distância atual
+    private void distribute() {
+        for (int c = 0; c < out.length; c++) {
+            int[] buffer = out[c];
+            for (int k = 0; k < outSize[c]; k++) {
+                int v = buffer[k];
+                add(distance(v) / delta, v);
+            }
+        }
+    }
+
+    // Acrescenta node ao balde de índice absoluto bucket, ou aos excedentes se o balde estiver além do anel
+    private void add(long bucket, int node) {
+        if (bucket >= current + buckets.length) {
+            overflow = append(overflow, overflowSize++, node);
+            overflowMin = Math.min(overflowMin, bucket);
+            return;
+        }
+        int slot = (int) (bucket % buckets.length);
+        if (buckets[slot] == null) buckets[slot] = new int[16];
+        buckets[slot] = append(buckets[slot], bucketSize[slot]++, node);
+    }
+
+    // Leva para o anel os excedentes cujo balde já cabe nele, descarta os que melhoraram para um balde já processado
+    // (eles também foram postos no anel) e recalcula o menor balde dos que ficam
+    private void migrate() {
+        int kept = 0;
+        overflowMin = Long.MAX_VALUE;
+        for (int k = 0; k < overflowSize; k++) {
+            int v = overflow[k];
+            long bucket = distance(v) / delta;
+            if (bucket < current) continue;
+            if (bucket < current + buckets.length) {
+                add(bucket, v);
+            } else {
+                overflow[kept++] = v;
+                overflowMin = Math.min(overflowMin, bucket);
+            }
+        }
+        overflowSize = kept;
+    }
+
+    // Executa body(c) para c em [0, chunks) nas threads do pool e espera todas; com uma parte só, roda na thread atual
+    private void forEachChunk(int chunks, IntConsumer body) {
+        if (chunks == 1) {
+            body.accept(0);
+        } else {
+            pool.invoke(new ChunkAction(body, 0, chunks));
+        }
+    }
+
+    // Grava value na posição index, dobrando o vetor se necessário
+    private static int[] append(int[] array, int index, int value) {
+        if (index == array.length) array = Arrays.copyOf(array, index * 2);
+        array[index] = value;
+        return array;
+    }
+
+    // Próximo carimbo de frente/balde; zera as marcas na rara volta do contador
+    private int nextStamp() {
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(frontierMark, 0);
+            Arrays.fill(settledMark, 0);
+            stamp = 1;
+        }
+        return stamp;
+    }
+
+    // Distância guardada para node (lixo se node não foi alcançado; confira UNREACHED antes quando importar)
+    private int distance(int node) {
+        return (int) (best.get(node) >>> 32);
+    }
+
+    // Função: toResult
+    // Descrição: Reconstrói o caminho seguindo os predecessores gravados nos 32 bits baixos de best.
+    // Entrada: int target, int expanded.
+    // Saída: SearchResult.
+    // Pré-Condicao: best deve conter a última consulta.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    private SearchResult toResult(int target, int expanded) {
+        if (best.get(target) == UNREACHED) {
+            return SearchResult.notFound(expanded);
+        }
+        int length = 0;
+        for (int node = target; node != -1; node = (int) best.get(node)) length++;
+        int[] path = new int[length];
+        for (int node = target; node != -1; node = (int) best.get(node)) path[--length] = node;
+        return new SearchResult(distance(target), path, expanded);
+    }
+
+    // Função: close
+    // Descrição: Encerra o pool de threads.
+    // Entrada: Nenhuma.
+    // Saída: Nenhuma.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: A instância não aceita mais consultas.
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    // Divide [lo, hi) ao meio até sobrar uma parte por tarefa
+    private static final class ChunkAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final IntConsumer body;
+        private final int lo;
+        private final int hi;
+
+        ChunkAction(IntConsumer body, int lo, int hi) {
+            this.body = body;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                body.accept(lo);
+            } else {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new ChunkAction(body, lo, mid), new ChunkAction(body, mid, hi));
+            }
+        }
+    }
+
+    // Função: main
+    // Descrição: Curva de aceleração: mede a consulta do ponto_inicial ao ponto_final com 1, 2, 4, ... threads, confere a distância com o Dijkstra sequencial e imprime o tempo mediano e a aceleração de cada quantidade de threads.
+    // Entrada: String[] args (arquivo de fatos ou snapshot, padrão arquivoEntradaMaior.txt; limiteFio opcional, padrão sem limite; --threads=1,2,4 para escolher as quantidades; --delta=N para a largura dos baldes).
+    // Saída: Nenhuma (imprime a tabela no console).
+    // Pré-Condicao: O arquivo do grafo deve existir.
+    // Pós-Condicao: Nenhuma alteração nos arquivos.
+    public static void main(String[] args) throws IOException {
+        String filename = "arquivoEntradaMaior.txt";
+        int limiteFio = Integer.MAX_VALUE - 1;
+        int delta = -1;
+        int[] threadCounts = null;
+        for (String arg : args) {
+            if (arg.startsWith("--threads=")) {
+                threadCounts = Arrays.stream(arg.substring(10).split(",")).mapToInt(Integer::parseInt).toArray();
+            } else if (arg.startsWith("--delta=")) {
+                delta = Integer.parseInt(arg.substring(8));
+            } else if (arg.chars().allMatch(Character::isDigit)) {
+                limiteFio = Integer.parseInt(arg);
+            } else {
+                filename = arg;
+            }
+        }
+        if (threadCounts == null) {
+            int cores = Runtime.getRuntime().availableProcessors();
+            threadCounts = new int[32 - Integer.numberOfLeadingZeros(cores)];
+            for (int k = 0; k < threadCounts.length; k++) threadCounts[k] = 1 << k;
+            if (threadCounts[threadCounts.length - 1] != cores) {
+                threadCounts = Arrays.copyOf(threadCounts, threadCounts.length + 1);
+                threadCounts[threadCounts.length - 1] = cores;
+            }
+        }
+
+        int limit = limiteFio;
+        Graph graph = Graph.abrir(filename);
+        int source = graph.getStart();
+        int target = graph.getGoal();
+        SearchScratch scratch = SearchScratch.forGraph(graph);
+        int expected = Dijkstra.shortestDistance(graph, source, target, limit, scratch);
+        double sequential = medianMillis(() -> Dijkstra.shortestDistance(graph, source, target, limit, scratch));
+        System.out.printf("Dijkstra sequencial: distância %s, %.2f ms%n",
+                expected == Integer.MAX_VALUE ? "-" : String.valueOf(expected), sequential);
+        System.out.println("threads  tempo (ms)  aceleração");
+
+        double single = 0;
+        for (int threads : threadCounts) {
+            try (DeltaStepping engine = delta > 0 ? new DeltaStepping(graph, threads, delta) : new DeltaStepping(graph, threads)) {
+                int distance = engine.shortestDistance(source, target, limit);
+                if (distance != expected) {
+                    System.out.println("ERRO: distância " + distance + " diferente do Dijkstra (" + expected + ") com " + threads + " threads");
+                    return;
+                }
+                double millis = medianMillis(() -> engine.shortestDistance(source, target, limit));
+                if (single == 0) single = millis;
+                System.out.printf("%7d  %10.2f  %9.2fx%n", threads, millis, single / millis);
+            }
+        }
+    }
+
+    // Mediana do tempo de 15 execuções, depois de 5 de aquecimento
+    private static double medianMillis(Runnable query) {
+        for (int k = 0; k < 5; k++) query.run();
+        double[] times = new double[15];
+        for (int k = 0; k < times.length; k++) {
+            long begin = System.nanoTime();
+            query.run();
+            times[k] = (System.nanoTime() - begin) / 1e6;
+        }
+        Arrays.sort(times);
+        return times[times.length / 2];
+    }
+}
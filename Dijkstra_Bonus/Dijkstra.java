@@ -1,98 +1,139 @@
 package Dijkstra_Bonus;
+import Grafo.ContractionHierarchy;
+import Grafo.Graph;
+import Grafo.IndexedHeap;
+import Grafo.SearchResult;
+import Grafo.SearchScratch;
+import Grafo.ShortestPathTree;
+import Grafo.SummaryTrace;
+import Grafo.TraceListener;
+import Grafo.TraceMode;
+
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class Dijkstra {
+    private static final String USAGE = "Uso: java Dijkstra_Bonus.Dijkstra [arquivo] [--trace=none|summary|full] [--bidirecional]"
+            + " [--threads=N] [--ch=arquivo.ch]";
 
     // Função: calculateShortestPath
-    // Descrição: Calcula o caminho mais curto entre o nó inicial (source) e o nó final (target) usando o algoritmo de Dijkstra com limite de fio.
-    // Entrada: Node source (nó inicial), Node target (nó final), Map heuristics (mapa de heurísticas, não usado no Dijkstra), int limiteFio (comprimento máximo do fio).
-    // Saída: Nenhuma (imprime o resultado no console).
-    // Pré-Condicao: O grafo deve estar corretamente inicializado, com nós e arestas.
+    // Descrição: Versão do Dijkstra com limite de fio sobre o grafo compacto (CSR), imprimindo cada iteração no console (DijkstraTrace).
+    // Entrada: Graph graph (grafo compacto), int source (id do nó inicial), int target (id do nó final), int limiteFio (comprimento máximo do fio).
+    // Saída: SearchResult (distância, caminho e nós expandidos).
+    // Pré-Condicao: source e target devem ser ids válidos do grafo.
     // Pós-Condicao: O caminho mais curto e a distância são exibidos no console, considerando o limite de fio.
-    public static void calculateShortestPath(Node source, Node target, Map heuristics, int limiteFio) {
-        source.setDistance(0);
-        Set settledNodes = new HashSet<>();
-        Queue unsettledNodes = new PriorityQueue<>(Collections.singleton(source));
+    public static SearchResult calculateShortestPath(Graph graph, int source, int target, int limiteFio) {
+        return calculateShortestPath(graph, source, target, limiteFio, new DijkstraTrace());
+    }
+
+    // Função: calculateShortestPath
+    // Descrição: Versão do Dijkstra com limite de fio sobre o grafo compacto (CSR), usando o estado de trabalho reaproveitado da thread e delegando a saída ao ouvinte.
+    // Entrada: Graph graph (grafo compacto), int source (id do nó inicial), int target (id do nó final), int limiteFio (comprimento máximo do fio), TraceListener trace (TraceListener.NONE para não imprimir nada).
+    // Saída: SearchResult (distância, caminho e nós expandidos).
+    // Pré-Condicao: source e target devem ser ids válidos do grafo.
+    // Pós-Condicao: O ouvinte recebe os eventos da busca e o resultado final; o grafo não é alterado.
+    public static SearchResult calculateShortestPath(Graph graph, int source, int target, int limiteFio, TraceListener trace) {
+        SearchScratch scratch = SearchScratch.forGraph(graph);
+        search(graph, source, target, limiteFio, scratch, trace);
+        SearchResult result = scratch.toResult(target);
+        trace.onFinish(graph, result);
+        return result;
+    }
+
+    // Função: shortestDistance
+    // Descrição: Consulta sem saída e sem alocação: executa o Dijkstra com limite de fio no estado informado e retorna só a distância; o caminho pode ser lido depois com scratch.pathTo(target, vetor).
+    // Entrada: Graph graph, int source, int target, int limiteFio, SearchScratch scratch (estado de trabalho, ex.: SearchScratch.forGraph(graph)).
+    // Saída: int (distância até target, ou Integer.MAX_VALUE se não houver caminho dentro do limite).
+    // Pré-Condicao: scratch deve ter capacidade para o grafo e não estar em uso por outra thread.
+    // Pós-Condicao: scratch guarda distâncias, predecessores e nós expandidos desta consulta até o próximo reset.
+    public static int shortestDistance(Graph graph, int source, int target, int limiteFio, SearchScratch scratch) {
+        search(graph, source, target, limiteFio, scratch, TraceListener.NONE);
+        return scratch.distance(target);
+    }
+
+    // Função: shortestPathTree
+    // Descrição: Dijkstra de um para todos com limite de fio (sem parada no destino), copiado para uma árvore imutável que responde a qualquer destino.
+    // Entrada: Graph graph, int source (id da origem), int limiteFio.
+    // Saída: ShortestPathTree.
+    // Pré-Condicao: source deve ser um id válido do grafo.
+    // Pós-Condicao: Usa o estado de trabalho da thread; a árvore não depende dele depois de retornada.
+    public static ShortestPathTree shortestPathTree(Graph graph, int source, int limiteFio) {
+        SearchScratch scratch = SearchScratch.forGraph(graph);
+        search(graph, source, -1, limiteFio, scratch, TraceListener.NONE);
+        return ShortestPathTree.fromScratch(scratch, graph.nodeCount(), source, limiteFio);
+    }
+
+    // Função: search
+    // Descrição: Laço do Dijkstra com limite de fio sobre o grafo compacto: heap indexado com decrease-key, distâncias e predecessores no estado de trabalho (sem objetos por nó).
+    // Entrada: Graph graph, int source, int target, int limiteFio, SearchScratch scratch, TraceListener trace.
+    // Saída: Nenhuma (resultado fica em scratch).
+    // Pré-Condicao: source e target devem ser ids válidos do grafo.
+    // Pós-Condicao: scratch contém o resultado da consulta; onFinish não é chamado aqui.
+    private static void search(Graph graph, int source, int target, int limiteFio, SearchScratch scratch, TraceListener trace) {
+        scratch.reset();
+        scratch.reach(source, 0, -1);
+        // Heap indexado: cada nó aparece no máximo uma vez e melhorias viram decrease-key
+        IndexedHeap unsettledNodes = scratch.heap();
+        unsettledNodes.insert(source, 0);
         int iteration = 1;
         int nodesExpanded = 0; // Medida de desempenho: nós expandidos acumulados
 
-        System.out.println("Início da execução");
+        trace.onStart();
 
         while (!unsettledNodes.isEmpty()) {
-            Node currentNode = (Node) unsettledNodes.poll();
+            int currentNode = unsettledNodes.poll();
+            scratch.close(currentNode);
+            int currentDistance = scratch.distance(currentNode);
 
-            int fioRestante = limiteFio - currentNode.getDistance();
+            int fioRestante = limiteFio - currentDistance;
             boolean descartarCaminho = fioRestante <= 0;
 
-            System.out.println("\nIteração " + iteration + ":");
-            System.out.print("Fila: ");
-            unsettledNodes.add(currentNode); // Temporariamente adicionar de volta para printar a fila completa
-            for (Node node : (Queue<Node>) unsettledNodes) {
-                int h = (Integer) heuristics.getOrDefault(node.getName(), 0);
-                System.out.print("(" + node.getName() + ": " + node.getDistance() + " + " + h + " = " + (node.getDistance() + h) + ") ");
-            }
-            System.out.println();
-            unsettledNodes.remove(currentNode); // Remover após print
-
-            System.out.print("Fio restante: " + fioRestante);
+            trace.onIteration(graph, iteration, currentNode, scratch.distances(), unsettledNodes);
+            trace.onWire(fioRestante, descartarCaminho);
             if (descartarCaminho) {
-                System.out.println(" – Caminho descartado");
-                System.out.println("Medida de desempenho (nós expandidos): " + nodesExpanded);
+                trace.onExpanded(nodesExpanded);
                 iteration++;
                 continue;
-            } else {
-                System.out.println();
             }
 
             nodesExpanded++; // Incrementa medida após expandir
 
             // Se alcançou o target, pode parar
             if (currentNode == target) {
-                System.out.println("Medida de desempenho (nós expandidos): " + nodesExpanded);
+                trace.onExpanded(nodesExpanded);
                 break;
             }
 
-            currentNode.getAdjacentNodes()
-                    .entrySet().stream().filter(entry -> !settledNodes.contains(entry.getKey()))
-                    .forEach(entry -> {
-                        int newDistance = currentNode.getDistance() + (Integer) entry.getValue();
-                        // Só atualizar se newDistance <= limiteFio
-                        if (newDistance <= limiteFio && newDistance < ((Node) entry.getKey()).getDistance()) {
-                            ((Node) entry.getKey()).setDistance(newDistance);
-                            ((Node) entry.getKey()).setShortestPath(
-                                    Stream.concat(currentNode.getShortestPath().stream(), Stream.of(currentNode)).collect(Collectors.toList())
-                            );
-                            unsettledNodes.add((Node) entry.getKey());
-                        }
-                    });
-            settledNodes.add(currentNode);
-
-            System.out.println("Medida de desempenho (nós expandidos): " + nodesExpanded);
+            scratch.addRelaxed(graph.endEdge(currentNode) - graph.firstEdge(currentNode));
+            for (int e = graph.firstEdge(currentNode), end = graph.endEdge(currentNode); e < end; e++) {
+                int neighbor = graph.target(e);
+                if (scratch.isClosed(neighbor)) continue;
+                int newDistance = currentDistance + graph.weight(e);
+                // Só atualizar se newDistance <= limiteFio
+                if (newDistance <= limiteFio && newDistance < scratch.distance(neighbor)) {
+                    scratch.reach(neighbor, newDistance, currentNode);
+                    unsettledNodes.insertOrDecrease(neighbor, newDistance);
+                }
+            }
+
+            trace.onExpanded(nodesExpanded);
             iteration++;
         }
-
-        System.out.println("\nFim da execução");
-        // Resumo
-        System.out.println("Distância: " + target.getDistance());
-        String path = target.getShortestPath().stream().map(Node::getName).collect(Collectors.joining(" – "));
-        System.out.println("Caminho: " + path + " – " + target.getName());
-        System.out.println("Medida de desempenho (nós expandidos): " + nodesExpanded);
+        scratch.setExpanded(nodesExpanded);
     }
 
     // Função: lerArquivo
     // Descrição: Lê um arquivo de texto contendo a definição do grafo, inicial, final, orientação e heurísticas.
     // Entrada: String filename (nome do arquivo).
-    // Saída: Map contendo os nós inicial, final e heurísticas.
+    // Saída: Map contendo os nós inicial ("initial", Node), final ("target", Node) e heurísticas ("heuristics", Map<String, Integer>).
     // Pré-Condicao: O arquivo deve estar no formato esperado.
     // Pós-Condicao: Retorna um mapa com os dados do grafo prontos para uso.
-    public static Map lerArquivo(String filename) throws FileNotFoundException {
+    public static Map<String, Object> lerArquivo(String filename) throws FileNotFoundException {
         Scanner scanner = new Scanner(new File(filename));
-        Map nodes = new HashMap<>();
-        Map heuristics = new HashMap<>();
+        Map<String, Node> nodes = new HashMap<>();
+        Map<String, Integer> heuristics = new HashMap<>();
         String initial = null;
         String target = null;
         boolean directed = true; // Default s (orientado)
@@ -116,9 +157,9 @@ public class Dijkstra {
                 nodes.putIfAbsent(from, new Node(from));
                 nodes.putIfAbsent(to, new Node(to));
 
-                ((Node) nodes.get(from)).addAdjacentNode((Node) nodes.get(to), cost);
+                nodes.get(from).addAdjacentNode(nodes.get(to), cost);
                 if (!directed) {
-                    ((Node) nodes.get(to)).addAdjacentNode((Node) nodes.get(from), cost);
+                    nodes.get(to).addAdjacentNode(nodes.get(from), cost);
                 }
             } else if (line.startsWith("h(")) {
                 String[] parts = line.substring(2, line.indexOf(")")).split(",");
@@ -133,37 +174,81 @@ public class Dijkstra {
         // Adicione o nó final se não estiver presente (ex.: f0 pode não ter 'pode_ir')
         nodes.putIfAbsent(target, new Node(target));
 
-        Map result = new HashMap<>();
+        Map<String, Object> result = new HashMap<>();
         result.put("initial", nodes.get(initial));
         result.put("target", nodes.get(target));
         result.put("heuristics", heuristics);
         return result;
     }
 
+    // Função: trace
+    // Descrição: Cria o ouvinte correspondente ao modo de saída escolhido.
+    // Entrada: TraceMode mode.
+    // Saída: TraceListener.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma.
+    static TraceListener trace(TraceMode mode) {
+        switch (mode) {
+            case NONE:
+                return TraceListener.NONE;
+            case SUMMARY:
+                return new SummaryTrace();
+            default:
+                return new DijkstraTrace();
+        }
+    }
+
     // Função: main
     // Descrição: Ponto de entrada do programa, faz a leitura do arquivo, pergunta pelo comprimento do fio e executa o algoritmo de Dijkstra com limite.
-    // Entrada: Nenhum.
+    // Entrada: String[] args (arquivo de fatos ou snapshot binário, padrão arquivoEntradaMaior.txt; --trace=none|summary|full, padrão full; --bidirecional para a busca pelos dois lados; --threads=N para o delta-stepping paralelo; --ch=arquivo.ch para a consulta na hierarquia de contração, calculada e gravada se o arquivo não existir).
     // Saída: Nenhuma (imprime resultados no console).
     // Pré-Condicao: O arquivo de entrada deve existir e estar no formato correto.
     // Pós-Condicao: O resultado do algoritmo é exibido no console.
     public static void main(String[] args) {
         try {
             // Leitura do arquivo
-            Map graphData = lerArquivo("arquivoEntradaMaior.txt");
-            Node source = (Node) graphData.get("initial");
-            Node target = (Node) graphData.get("target");
-            Map heuristics = (Map) graphData.get("heuristics");
+            String filename = "arquivoEntradaMaior.txt";
+            boolean bidirectional = false;
+            int threads = 0;
+            String hierarchyFile = null;
+            for (String arg : args) {
+                if (arg.equals("--bidirecional")) bidirectional = true;
+                else if (arg.startsWith("--threads=")) threads = Integer.parseInt(arg.substring(10));
+                else if (arg.startsWith("--ch=")) hierarchyFile = arg.substring(5);
+                else if (!arg.startsWith("--")) filename = arg;
+            }
+            Graph graph = Graph.abrir(filename);
+            if (bidirectional) {
+                graph.reverse(); // monta a adjacência reversa junto com a leitura, fora do tempo da consulta
+            }
+            ContractionHierarchy hierarchy = hierarchyFile != null ? ContractionHierarchy.load(graph, hierarchyFile) : null;
+            TraceListener trace = trace(TraceMode.fromArgs(args));
 
             try (Scanner input = new Scanner(System.in)) {
                 // Pergunta pelo comprimento do fio
                 System.out.println("Qual o comprimento do fio?");
                 int limiteFio = input.nextInt();
 
-                calculateShortestPath(source, target, heuristics, limiteFio);
+                if (hierarchy != null) {
+                    HierarchyDijkstra.calculateShortestPath(hierarchy, graph.getStart(), graph.getGoal(), limiteFio, trace);
+                } else if (threads > 0) {
+                    try (DeltaStepping engine = new DeltaStepping(graph, threads)) {
+                        engine.calculateShortestPath(graph.getStart(), graph.getGoal(), limiteFio, trace);
+                    }
+                } else if (bidirectional) {
+                    BidirectionalDijkstra.calculateShortestPath(graph, graph.getStart(), graph.getGoal(), limiteFio, trace);
+                } else {
+                    calculateShortestPath(graph, graph.getStart(), graph.getGoal(), limiteFio, trace);
+                }
             }
             
         } catch (FileNotFoundException e) {
             System.out.println("Arquivo não encontrado: " + e.getMessage());
+        } catch (IOException e) {
+            System.out.println("Erro ao ler o arquivo: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println(USAGE);
         }
     }
 }
@@ -0,0 +1,94 @@
+package Dijkstra_Bonus;
+
+import Grafo.Frontier;
+import Grafo.Graph;
+import Grafo.Heuristic;
+import Grafo.SearchResult;
+import Grafo.SummaryTrace;
+
+import java.io.OutputStream;
+
+// Saída completa do Dijkstra (fila, fio restante e desempenho a cada iteração), escrita por um buffer
+public class DijkstraTrace extends SummaryTrace {
+    private final Heuristic heuristic; // h impresso na fila (null: fatos h do arquivo)
+    private final int target;
+
+    // Função: DijkstraTrace (construtor)
+    // Descrição: Cria o ouvinte escrevendo no console.
+    // Entrada: Nenhuma.
+    // Saída: Instância de DijkstraTrace.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma.
+    public DijkstraTrace() {
+        super();
+        this.heuristic = null;
+        this.target = -1;
+    }
+
+    // Função: DijkstraTrace (construtor)
+    // Descrição: Cria o ouvinte escrevendo no console, imprimindo na fila o h da heurística usada pela busca (ex.: Landmarks no A*), para que g + h seja a chave real da fila.
+    // Entrada: Heuristic heuristic, int target (destino da consulta).
+    // Saída: Instância de DijkstraTrace.
+    // Pré-Condicao: heuristic deve valer para target.
+    // Pós-Condicao: Nenhuma.
+    public DijkstraTrace(Heuristic heuristic, int target) {
+        super();
+        this.heuristic = heuristic;
+        this.target = target;
+    }
+
+    // Função: DijkstraTrace (construtor)
+    // Descrição: Cria o ouvinte escrevendo no fluxo informado.
+    // Entrada: OutputStream stream (destino da saída).
+    // Saída: Instância de DijkstraTrace.
+    // Pré-Condicao: stream deve estar aberto.
+    // Pós-Condicao: Nenhuma.
+    public DijkstraTrace(OutputStream stream) {
+        super(stream);
+        this.heuristic = null;
+        this.target = -1;
+    }
+
+    @Override
+    protected int estimate(Graph graph, int node) {
+        return heuristic != null ? heuristic.estimate(node, target) : super.estimate(graph, node);
+    }
+
+    @Override
+    public void onStart() {
+        out.println("Início da execução");
+    }
+
+    // Função: onIteration
+    // Descrição: Imprime o cabeçalho da iteração e a fila (nó atual seguido do heap, na ordem interna).
+    // Entrada: Graph graph, int iteration, int node (nó retirado da fila), int[] g (distâncias), Frontier frontier.
+    // Saída: Nenhuma.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração nos parâmetros.
+    @Override
+    public void onIteration(Graph graph, int iteration, int node, int[] g, Frontier frontier) {
+        out.println();
+        out.println("Iteração " + iteration + ":");
+        out.print("Fila: ");
+        printEntry(graph, node, g[node]);
+        frontier.forEach(queued -> printEntry(graph, queued, g[queued]));
+        out.println();
+    }
+
+    @Override
+    public void onWire(int fioRestante, boolean discarded) {
+        out.print("Fio restante: " + fioRestante);
+        out.println(discarded ? " – Caminho descartado" : "");
+    }
+
+    @Override
+    public void onExpanded(int nodesExpanded) {
+        out.println("Medida de desempenho (nós expandidos): " + nodesExpanded);
+    }
+
+    @Override
+    public void onFinish(Graph graph, SearchResult result) {
+        out.println();
+        super.onFinish(graph, result);
+    }
+}
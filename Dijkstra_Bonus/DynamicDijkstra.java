@@ -0,0 +1,145 @@
+package Dijkstra_Bonus;
+
+import java.util.Arrays;
+
+import Grafo.Graph;
+import Grafo.IndexedHeap;
+import Grafo.ShortestPathTree;
+
+// Reparo incremental de árvores de menores caminhos (SSSP dinâmico) depois de alterações de arestas, sem refazer a busca
+// inteira: arestas da árvore que pioraram ou sumiram invalidam só a subárvore abaixo delas, que é religada a partir da
+// fronteira com o resto da árvore; arestas que melhoraram propagam a melhoria. Um único Dijkstra a partir desses nós
+// termina o serviço, com as mesmas regras do Dijkstra com limite de fio.
+public final class DynamicDijkstra {
+    private static final int INFINITY = Integer.MAX_VALUE;
+
+    private DynamicDijkstra() {
+    }
+
+    // Função: repair
+    // Descrição: Atualiza a árvore para a nova versão do grafo, a partir da lista de pares (origem, destino) cujas arestas mudaram.
+    // Entrada: Graph graph (nova versão), ShortestPathTree tree (árvore na versão anterior), int[] changes (pares alternados [u0, v0, u1, v1, ...], ex.: DynamicGraph.Snapshot.changesSince).
+    // Saída: ShortestPathTree (nova árvore, com as mesmas distâncias de um Dijkstra novo; nós expandidos = nós reprocessados no reparo).
+    // Pré-Condicao: tree deve ser de uma versão do grafo que só difere de graph nas arestas dos pares informados; custos positivos.
+    // Pós-Condicao: tree não é alterada (leitores da versão anterior continuam válidos); o grafo reverso de graph é montado se preciso.
+    public static ShortestPathTree repair(Graph graph, ShortestPathTree tree, int[] changes) {
+        int n = graph.nodeCount();
+        int limiteFio = tree.getLimiteFio();
+        int[] distance = new int[n];
+        int[] parent = new int[n];
+        for (int v = 0; v < n; v++) {
+            distance[v] = tree.distance(v);
+            parent[v] = tree.parent(v);
+        }
+
+        // Arestas da árvore que ficaram mais caras (ou sumiram): a subárvore abaixo delas perde a distância
+        boolean[] affected = new boolean[n];
+        int[] roots = new int[changes.length / 2];
+        int rootCount = 0;
+        for (int i = 0; i < changes.length; i += 2) {
+            int from = changes[i];
+            int to = changes[i + 1];
+            if (parent[to] == from && !affected[to]) {
+                int cost = cheapestEdge(graph, from, to);
+                if (cost == INFINITY || (long) distance[from] + cost > distance[to]) {
+                    affected[to] = true;
+                    roots[rootCount++] = to;
+                }
+            }
+        }
+        int[] invalid = invalidateSubtrees(parent, roots, rootCount, affected, distance);
+
+        IndexedHeap queue = new IndexedHeap(n);
+        // Nós invalidados: melhor ligação a partir de um vizinho de entrada que manteve a distância
+        if (invalid.length > 0) {
+            Graph reverse = graph.reverse();
+            for (int node : invalid) {
+                for (int e = reverse.firstEdge(node), end = reverse.endEdge(node); e < end; e++) {
+                    int from = reverse.target(e);
+                    if (!affected[from]) relax(from, node, reverse.weight(e), limiteFio, distance, parent, queue);
+                }
+            }
+        }
+        // Arestas que ficaram mais baratas (ou foram acrescentadas)
+        for (int i = 0; i < changes.length; i += 2) {
+            int from = changes[i];
+            int to = changes[i + 1];
+            int cost = cheapestEdge(graph, from, to);
+            if (cost != INFINITY && !affected[from]) relax(from, to, cost, limiteFio, distance, parent, queue);
+        }
+
+        int expanded = 0;
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            affected[node] = false; // distância final: pode servir de ligação daqui em diante
+            expanded++;
+            if (limiteFio - distance[node] <= 0) continue; // fio restante <= 0: não expande
+            for (int e = graph.firstEdge(node), end = graph.endEdge(node); e < end; e++) {
+                relax(node, graph.target(e), graph.weight(e), limiteFio, distance, parent, queue);
+            }
+        }
+        return ShortestPathTree.of(tree.getSource(), limiteFio, distance, parent, expanded);
+    }
+
+    // Relaxa a aresta from -> to com as regras do Dijkstra com limite (from com fio restante > 0, nova distância <= limiteFio)
+    private static void relax(int from, int to, int cost, int limiteFio, int[] distance, int[] parent, IndexedHeap queue) {
+        if (distance[from] == INFINITY || limiteFio - distance[from] <= 0) return;
+        long newDistance = (long) distance[from] + cost;
+        if (newDistance <= limiteFio && newDistance < distance[to]) {
+            distance[to] = (int) newDistance;
+            parent[to] = from;
+            queue.insertOrDecrease(to, (int) newDistance);
+        }
+    }
+
+    // Menor custo entre as arestas from -> to do grafo (INFINITY se não houver nenhuma)
+    private static int cheapestEdge(Graph graph, int from, int to) {
+        int best = INFINITY;
+        for (int e = graph.firstEdge(from), end = graph.endEdge(from); e < end; e++) {
+            if (graph.target(e) == to) best = Math.min(best, graph.weight(e));
+        }
+        return best;
+    }
+
+    // Função: invalidateSubtrees
+    // Descrição: Marca os descendentes das raízes na árvore (filhos montados por contagem a partir dos predecessores) e apaga suas distâncias e predecessores.
+    // Entrada: int[] parent, int[] roots, int rootCount, boolean[] affected (raízes já marcadas), int[] distance.
+    // Saída: int[] (nós invalidados, raízes incluídas).
+    // Pré-Condicao: parent descreve uma árvore (a origem tem -1).
+    // Pós-Condicao: affected, distance e parent atualizados para todos os nós invalidados.
+    private static int[] invalidateSubtrees(int[] parent, int[] roots, int rootCount, boolean[] affected, int[] distance) {
+        if (rootCount == 0) {
+            return new int[0];
+        }
+        int n = parent.length;
+        int[] childStart = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            if (parent[v] >= 0) childStart[parent[v] + 1]++;
+        }
+        for (int v = 0; v < n; v++) childStart[v + 1] += childStart[v];
+        int[] children = new int[childStart[n]];
+        int[] next = Arrays.copyOf(childStart, n);
+        for (int v = 0; v < n; v++) {
+            if (parent[v] >= 0) children[next[parent[v]]++] = v;
+        }
+
+        // Busca em largura pelas subárvores; o próprio vetor de saída serve de fila
+        int[] invalid = Arrays.copyOf(roots, Math.max(rootCount, 16));
+        int size = rootCount;
+        for (int head = 0; head < size; head++) {
+            int node = invalid[head];
+            for (int c = childStart[node]; c < childStart[node + 1]; c++) {
+                int child = children[c];
+                if (affected[child]) continue;
+                affected[child] = true;
+                if (size == invalid.length) invalid = Arrays.copyOf(invalid, size * 2);
+                invalid[size++] = child;
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            distance[invalid[i]] = INFINITY;
+            parent[invalid[i]] = -1;
+        }
+        return Arrays.copyOf(invalid, size);
+    }
+}
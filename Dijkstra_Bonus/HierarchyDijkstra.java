@@ -0,0 +1,151 @@
+package Dijkstra_Bonus;
+
+import Grafo.ContractionHierarchy;
+import Grafo.Graph;
+import Grafo.IndexedHeap;
+import Grafo.SearchResult;
+import Grafo.SearchScratch;
+import Grafo.TraceListener;
+
+// Consulta na hierarquia de contração com limite de fio: Dijkstra bidirecional em que a ida só segue arestas de subida a
+// partir da origem e a volta só segue arestas de descida (invertidas) a partir do destino. O menor caminho passa pelo nó
+// de rank mais alto e é o menor ida + volta entre os nós fechados pelos dois lados; os atalhos são desempacotados no fim.
+public class HierarchyDijkstra {
+    private static final int FORWARD_SLOT = 0;
+    private static final int BACKWARD_SLOT = 1;
+
+    private HierarchyDijkstra() {
+    }
+
+    // Função: calculateShortestPath
+    // Descrição: Consulta na hierarquia usando os estados de trabalho reaproveitados da thread e delegando a saída ao ouvinte.
+    // Entrada: ContractionHierarchy hierarchy, int source (id do nó inicial), int target (id do nó final), int limiteFio, TraceListener trace (TraceListener.NONE para não imprimir nada).
+    // Saída: SearchResult (mesma distância do Dijkstra com limite; caminho no grafo original; nós expandidos somam os dois lados).
+    // Pré-Condicao: source e target devem ser ids válidos do grafo; custos positivos.
+    // Pós-Condicao: O ouvinte recebe os eventos dos dois lados e o resultado final.
+    public static SearchResult calculateShortestPath(ContractionHierarchy hierarchy, int source, int target, int limiteFio,
+                                                     TraceListener trace) {
+        Graph graph = hierarchy.getGraph();
+        SearchScratch forward = SearchScratch.forGraph(graph, FORWARD_SLOT);
+        SearchScratch backward = SearchScratch.forGraph(graph, BACKWARD_SLOT);
+        int meeting = search(hierarchy, source, target, limiteFio, forward, backward, trace);
+        SearchResult result = toResult(hierarchy, forward, backward, meeting);
+        trace.onFinish(graph, result);
+        return result;
+    }
+
+    // Função: shortestDistance
+    // Descrição: Consulta na hierarquia sem saída, sem desempacotar e sem alocação; retorna só a distância.
+    // Entrada: ContractionHierarchy hierarchy, int source, int target, int limiteFio, SearchScratch forward e SearchScratch backward (estados distintos).
+    // Saída: int (distância até target, ou Integer.MAX_VALUE se não houver caminho dentro do limite).
+    // Pré-Condicao: Os estados devem ter capacidade para o grafo e não estar em uso por outra thread.
+    // Pós-Condicao: forward e backward guardam as duas metades da busca até o próximo reset.
+    public static int shortestDistance(ContractionHierarchy hierarchy, int source, int target, int limiteFio,
+                                       SearchScratch forward, SearchScratch backward) {
+        int meeting = search(hierarchy, source, target, limiteFio, forward, backward, TraceListener.NONE);
+        return meeting == -1 ? Integer.MAX_VALUE : forward.distance(meeting) + backward.distance(meeting);
+    }
+
+    // Função: search
+    // Descrição: Laço bidirecional na hierarquia. Avança o lado com o menor topo; um lado para quando seu topo passa do melhor caminho (as buscas só sobem, então não vale o critério topo(ida) + topo(volta) do bidirecional comum). Cada nó fechado que o outro lado já alcançou é candidato a encontro.
+    // Entrada: ContractionHierarchy hierarchy, int source, int target, int limiteFio, SearchScratch forward, SearchScratch backward, TraceListener trace.
+    // Saída: int (nó de encontro do menor caminho, ou -1 se não houver caminho dentro do limite).
+    // Pré-Condicao: source e target devem ser ids válidos do grafo; custos positivos.
+    // Pós-Condicao: forward guarda distâncias e predecessores a partir da origem; backward, distâncias e sucessores até o destino.
+    private static int search(ContractionHierarchy hierarchy, int source, int target, int limiteFio,
+                              SearchScratch forward, SearchScratch backward, TraceListener trace) {
+        Graph graph = hierarchy.getGraph();
+        Graph upward = hierarchy.upward();
+        Graph downward = hierarchy.downward();
+        forward.reset();
+        backward.reset();
+        forward.reach(source, 0, -1);
+        forward.heap().insert(source, 0);
+        backward.reach(target, 0, -1);
+        backward.heap().insert(target, 0);
+
+        // Melhor caminho completo visto até agora; começa logo acima do fio para já servir de poda
+        long best = (long) limiteFio + 1;
+        int meeting = -1;
+        int iteration = 1;
+        int nodesExpanded = 0;
+
+        trace.onStart();
+
+        IndexedHeap forwardQueue = forward.heap();
+        IndexedHeap backwardQueue = backward.heap();
+        while (true) {
+            boolean forwardOpen = !forwardQueue.isEmpty() && forwardQueue.peekKey() < best;
+            boolean backwardOpen = !backwardQueue.isEmpty() && backwardQueue.peekKey() < best;
+            if (!forwardOpen && !backwardOpen) break;
+
+            boolean forwardSide = forwardOpen && (!backwardOpen || forwardQueue.peekKey() <= backwardQueue.peekKey());
+            Graph side = forwardSide ? upward : downward;
+            SearchScratch own = forwardSide ? forward : backward;
+            SearchScratch other = forwardSide ? backward : forward;
+            IndexedHeap queue = own.heap();
+
+            int currentNode = queue.poll();
+            own.close(currentNode);
+            int currentDistance = own.distance(currentNode);
+
+            // O outro lado já alcançou este nó: há um caminho completo passando por ele
+            int otherDistance = other.distance(currentNode);
+            if (otherDistance != Integer.MAX_VALUE && (long) currentDistance + otherDistance < best) {
+                best = (long) currentDistance + otherDistance;
+                meeting = currentNode;
+            }
+
+            int fioRestante = limiteFio - currentDistance;
+            boolean descartarCaminho = fioRestante <= 0;
+
+            trace.onIteration(graph, iteration, currentNode, own.distances(), queue);
+            trace.onWire(fioRestante, descartarCaminho);
+            if (descartarCaminho) {
+                trace.onExpanded(nodesExpanded);
+                iteration++;
+                continue;
+            }
+
+            nodesExpanded++;
+
+            own.addRelaxed(side.endEdge(currentNode) - side.firstEdge(currentNode));
+            for (int e = side.firstEdge(currentNode), end = side.endEdge(currentNode); e < end; e++) {
+                int neighbor = side.target(e);
+                if (own.isClosed(neighbor)) continue;
+                int newDistance = currentDistance + side.weight(e);
+                if (newDistance <= limiteFio && newDistance < own.distance(neighbor)) {
+                    own.reach(neighbor, newDistance, currentNode);
+                    queue.insertOrDecrease(neighbor, newDistance);
+                }
+            }
+
+            trace.onExpanded(nodesExpanded);
+            iteration++;
+        }
+        forward.setExpanded(nodesExpanded);
+        backward.setExpanded(nodesExpanded);
+        return meeting;
+    }
+
+    // Função: toResult
+    // Descrição: Junta o caminho da origem até o nó de encontro (predecessores da ida) com o caminho do encontro até o destino (predecessores da volta) e desempacota os atalhos.
+    // Entrada: ContractionHierarchy hierarchy, SearchScratch forward, SearchScratch backward, int meeting (nó de encontro ou -1).
+    // Saída: SearchResult.
+    // Pré-Condicao: Os estados devem conter a última busca na hierarquia.
+    // Pós-Condicao: Nenhuma alteração nos estados.
+    private static SearchResult toResult(ContractionHierarchy hierarchy, SearchScratch forward, SearchScratch backward,
+                                         int meeting) {
+        if (meeting == -1) {
+            return SearchResult.notFound(forward.getExpanded());
+        }
+        int length = 0;
+        for (int node = meeting; node != -1; node = forward.parent(node)) length++;
+        for (int node = backward.parent(meeting); node != -1; node = backward.parent(node)) length++;
+        int[] packed = new int[length];
+        int head = forward.pathTo(meeting, packed);
+        for (int node = backward.parent(meeting); node != -1; node = backward.parent(node)) packed[head++] = node;
+        return new SearchResult(forward.distance(meeting) + backward.distance(meeting), hierarchy.unpackPath(packed),
+                forward.getExpanded());
+    }
+}
@@ -0,0 +1,271 @@
+package Dijkstra_Bonus;
+
+import Grafo.Graph;
+import Grafo.IndexedHeap;
+import Grafo.SearchResult;
+import Grafo.SearchScratch;
+import Grafo.ShortestPathTree;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Scanner;
+import java.util.Set;
+
+// Os k menores caminhos sem ciclos (Yen) com limite de fio, entregues sob demanda em ordem de custo: cada next() devolve
+// o próximo caminho e só então os desvios dele são calculados, então o chamador paga apenas pelos caminhos que pede.
+// Um desvio parte de um nó do último caminho (o nó de desvio), mantém a raiz até ele e procura o resto evitando os nós
+// da raiz e as arestas que os caminhos já entregues com a mesma raiz usam a partir dele. Um Dijkstra reverso feito uma
+// única vez a partir do destino dá a distância exata de cada nó até ele no grafo sem restrições: ela guia as buscas de
+// desvio como um A* (é um limite inferior consistente também com nós e arestas proibidos) e descarta, sem busca, desvios
+// que não cabem no fio. Como em Lawler, um caminho só gera desvios a partir do ponto em que ele próprio desviou.
+public final class KShortestPaths implements Iterator<SearchResult> {
+    private final Graph graph;
+    private final int source;
+    private final int target;
+    private final int limiteFio;
+    private ShortestPathTree toTarget; // distância de cada nó até o destino (grafo reverso), montada no primeiro uso
+    private final List<Path> accepted = new ArrayList<>(); // caminhos já entregues, em ordem
+    private final PriorityQueue<Path> candidates = new PriorityQueue<>(
+            Comparator.comparingInt((Path p) -> p.cost).thenComparingInt(p -> p.nodes.length).thenComparingLong(p -> p.sequence));
+    private final Set<Path> seen = new HashSet<>(); // entregues e candidatos, para não repetir caminhos
+    private final int[] banned; // banned[v] == banStamp: v está na raiz do desvio atual
+    private int banStamp = 1; // a primeira busca não proíbe nada (banned começa zerado)
+    private int[] bannedNext = new int[4]; // vizinhos proibidos a partir do nó de desvio
+    private Path pending; // último caminho entregue, cujos desvios ainda não foram calculados
+    private long sequence;
+    private int expanded; // nós expandidos desde o último caminho entregue
+
+    // Caminho como sequência de nós, com o custo acumulado até cada posição e o índice em que desviou do pai
+    private static final class Path {
+        final int[] nodes;
+        final int[] prefix; // prefix[i]: custo de nodes[0] até nodes[i]
+        final int cost;
+        final int deviation;
+        final long sequence;
+
+        Path(int[] nodes, int[] prefix, int deviation, long sequence) {
+            this.nodes = nodes;
+            this.prefix = prefix;
+            this.cost = prefix[prefix.length - 1];
+            this.deviation = deviation;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Path && Arrays.equals(nodes, ((Path) other).nodes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(nodes);
+        }
+    }
+
+    // Função: KShortestPaths (construtor)
+    // Descrição: Prepara a enumeração dos caminhos de source até target; nenhuma busca é feita antes do primeiro hasNext ou next.
+    // Entrada: Graph graph, int source (id do nó inicial), int target (id do nó final), int limiteFio (custo máximo de cada caminho).
+    // Saída: Instância de KShortestPaths.
+    // Pré-Condicao: source e target devem ser ids válidos do grafo; custos positivos.
+    // Pós-Condicao: O iterador usa o estado de trabalho da thread que chama next, então não deve ser usado por duas threads ao mesmo tempo.
+    public KShortestPaths(Graph graph, int source, int target, int limiteFio) {
+        this.graph = graph;
+        this.source = source;
+        this.target = target;
+        this.limiteFio = limiteFio;
+        this.banned = new int[graph.nodeCount()];
+    }
+
+    // Função: calculate
+    // Descrição: Retorna até k caminhos sem ciclos de source até target, em ordem crescente de custo.
+    // Entrada: Graph graph, int source, int target, int limiteFio, int k (quantidade máxima de caminhos).
+    // Saída: List<SearchResult> (menos de k se não houver mais caminhos dentro do limite).
+    // Pré-Condicao: source e target devem ser ids válidos do grafo; k >= 0.
+    // Pós-Condicao: Nenhuma alteração no grafo.
+    public static List<SearchResult> calculate(Graph graph, int source, int target, int limiteFio, int k) {
+        KShortestPaths paths = new KShortestPaths(graph, source, target, limiteFio);
+        List<SearchResult> result = new ArrayList<>();
+        while (result.size() < k && paths.hasNext()) {
+            result.add(paths.next());
+        }
+        return result;
+    }
+
+    // Função: hasNext
+    // Descrição: Indica se há mais um caminho dentro do limite; calcula, se preciso, o primeiro caminho ou os desvios do último entregue.
+    // Entrada: Nenhuma.
+    // Saída: boolean.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Os candidatos ficam prontos para o próximo next.
+    @Override
+    public boolean hasNext() {
+        if (toTarget == null) {
+            toTarget = Dijkstra.shortestPathTree(graph.reverse(), target, limiteFio);
+            expanded += toTarget.getExpanded();
+            offer(new int[0], new int[0], source, 0, 0);
+        } else if (pending != null) {
+            spurs(pending);
+            pending = null;
+        }
+        return !candidates.isEmpty();
+    }
+
+    // Função: next
+    // Descrição: Entrega o próximo caminho sem ciclos, em ordem crescente de custo (empates pelo menor número de nós).
+    // Entrada: Nenhuma.
+    // Saída: SearchResult (custo, caminho e nós expandidos para encontrá-lo desde o caminho anterior).
+    // Pré-Condicao: hasNext() deve ser true.
+    // Pós-Condicao: Lança NoSuchElementException se não houver mais caminhos dentro do limite.
+    @Override
+    public SearchResult next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("Não há mais caminhos dentro do limite de fio");
+        }
+        Path path = candidates.poll();
+        accepted.add(path);
+        pending = path;
+        SearchResult result = new SearchResult(path.cost, path.nodes.clone(), expanded);
+        expanded = 0;
+        return result;
+    }
+
+    // Função: spurs
+    // Descrição: Gera os desvios do caminho a partir do índice em que ele próprio desviou: para cada nó de desvio, proíbe os nós da raiz e os próximos nós dos caminhos entregues com a mesma raiz e procura o resto do caminho.
+    // Entrada: Path path (último caminho entregue).
+    // Saída: Nenhuma.
+    // Pré-Condicao: path deve estar em accepted.
+    // Pós-Condicao: Os desvios encontrados entram nos candidatos (sem repetir caminhos já vistos).
+    private void spurs(Path path) {
+        for (int i = path.deviation; i < path.nodes.length - 1; i++) {
+            banStamp++;
+            for (int j = 0; j < i; j++) banned[path.nodes[j]] = banStamp;
+            int bannedCount = 0;
+            for (Path other : accepted) {
+                if (other.nodes.length > i + 1 && sameRoot(other, path, i)) {
+                    if (bannedCount == bannedNext.length) bannedNext = Arrays.copyOf(bannedNext, bannedCount * 2);
+                    bannedNext[bannedCount++] = other.nodes[i + 1];
+                }
+            }
+            offer(Arrays.copyOf(path.nodes, i), Arrays.copyOf(path.prefix, i), path.nodes[i], path.prefix[i], bannedCount);
+        }
+    }
+
+    // Indica se os dois caminhos têm os mesmos nós da posição 0 até i
+    private static boolean sameRoot(Path a, Path b, int i) {
+        return Arrays.equals(a.nodes, 0, i + 1, b.nodes, 0, i + 1);
+    }
+
+    // Função: offer
+    // Descrição: Procura o resto do caminho a partir de spur (A* guiado pela distância exata até o destino, respeitando os nós e vizinhos proibidos) e, se couber no fio, junta à raiz e acrescenta aos candidatos.
+    // Entrada: int[] root e int[] rootPrefix (nós antes de spur e seus custos acumulados), int spur (nó de desvio), int rootCost (custo da origem até spur), int bannedCount (vizinhos proibidos em bannedNext).
+    // Saída: Nenhuma.
+    // Pré-Condicao: Os nós da raiz devem estar marcados em banned com banStamp (nenhum na primeira busca).
+    // Pós-Condicao: Usa o estado de trabalho da thread atual (slot 0); expanded soma os nós expandidos.
+    private void offer(int[] root, int[] rootPrefix, int spur, int rootCost, int bannedCount) {
+        int budget = limiteFio - rootCost;
+        int estimate = toTarget.distance(spur);
+        if (budget < 0 || estimate == Integer.MAX_VALUE || estimate > budget) return;
+
+        SearchScratch scratch = SearchScratch.forGraph(graph);
+        scratch.reset();
+        scratch.reach(spur, 0, -1);
+        IndexedHeap queue = scratch.heap();
+        queue.insert(spur, estimate);
+        boolean found = false;
+        while (!queue.isEmpty()) {
+            int currentNode = queue.poll();
+            scratch.close(currentNode);
+            if (currentNode == target) {
+                found = true;
+                break;
+            }
+            expanded++;
+            int currentDistance = scratch.distance(currentNode);
+            scratch.addRelaxed(graph.endEdge(currentNode) - graph.firstEdge(currentNode));
+            for (int e = graph.firstEdge(currentNode), end = graph.endEdge(currentNode); e < end; e++) {
+                int neighbor = graph.target(e);
+                if (banned[neighbor] == banStamp || scratch.isClosed(neighbor)) continue;
+                if (currentNode == spur && isBannedNext(neighbor, bannedCount)) continue;
+                int newDistance = currentDistance + graph.weight(e);
+                int remaining = toTarget.distance(neighbor);
+                // Só entra na fila se o caminho ainda puder chegar ao destino dentro do fio
+                if (newDistance > budget || remaining == Integer.MAX_VALUE || (long) newDistance + remaining > budget) continue;
+                if (newDistance < scratch.distance(neighbor)) {
+                    scratch.reach(neighbor, newDistance, currentNode);
+                    queue.insertOrDecrease(neighbor, newDistance + remaining);
+                }
+            }
+        }
+        if (!found) return;
+
+        int spurLength = 0;
+        for (int node = target; node != -1; node = scratch.parent(node)) spurLength++;
+        int[] nodes = Arrays.copyOf(root, root.length + spurLength);
+        int[] prefix = Arrays.copyOf(rootPrefix, nodes.length);
+        for (int node = target, at = nodes.length - 1; node != -1; node = scratch.parent(node), at--) {
+            nodes[at] = node;
+            prefix[at] = rootCost + scratch.distance(node);
+        }
+        Path path = new Path(nodes, prefix, root.length, sequence++);
+        if (seen.add(path)) {
+            candidates.add(path);
+        }
+    }
+
+    // Indica se neighbor está entre os vizinhos proibidos a partir do nó de desvio
+    private boolean isBannedNext(int neighbor, int bannedCount) {
+        for (int i = 0; i < bannedCount; i++) {
+            if (bannedNext[i] == neighbor) return true;
+        }
+        return false;
+    }
+
+    // Função: main
+    // Descrição: Lê o grafo, pergunta pelo comprimento do fio e pela quantidade de caminhos e imprime os caminhos alternativos do ponto_inicial ao ponto_final.
+    // Entrada: String[] args (arquivo de fatos ou snapshot, padrão arquivoEntradaMaior.txt).
+    // Saída: Nenhuma (imprime resultados no console).
+    // Pré-Condicao: O arquivo de entrada deve existir e estar no formato correto.
+    // Pós-Condicao: Os caminhos são exibidos em ordem de custo, até k ou até não haver mais caminhos dentro do limite.
+    public static void main(String[] args) {
+        try {
+            String filename = "arquivoEntradaMaior.txt";
+            for (String arg : args) {
+                if (!arg.startsWith("--")) filename = arg;
+            }
+            Graph graph = Graph.abrir(filename);
+
+            try (Scanner input = new Scanner(System.in)) {
+                System.out.println("Qual o comprimento do fio?");
+                int limiteFio = input.nextInt();
+                System.out.println("Quantos caminhos?");
+                int k = input.nextInt();
+
+                KShortestPaths paths = new KShortestPaths(graph, graph.getStart(), graph.getGoal(), limiteFio);
+                int count = 0;
+                while (count < k && paths.hasNext()) {
+                    SearchResult result = paths.next();
+                    count++;
+                    System.out.println("\nCaminho " + count + ":");
+                    System.out.println("Distância: " + result.getDistance());
+                    System.out.println("Caminho: " + result.pathToString(graph));
+                    System.out.println("Medida de desempenho (nós expandidos): " + result.getExpanded());
+                }
+                if (count == 0) {
+                    System.out.println("Caminho não encontrado");
+                }
+            }
+        } catch (FileNotFoundException e) {
+            System.out.println("Arquivo não encontrado: " + e.getMessage());
+        } catch (IOException e) {
+            System.out.println("Erro ao ler o arquivo: " + e.getMessage());
+        }
+    }
+}
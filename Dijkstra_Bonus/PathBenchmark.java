@@ -0,0 +1,177 @@
+package Dijkstra_Bonus;
+
+import Grafo.Graph;
+import Grafo.SearchResult;
+import Grafo.TraceListener;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Compara a alocação e o GC de duas formas de guardar o caminho no Dijkstra: copiando a lista inteira a cada relaxamento,
+// como na versão original (linha de base implementada só aqui, sobre o mesmo grafo CSR), e guardando só o predecessor de
+// cada nó, como faz o Dijkstra.calculateShortestPath distribuído.
+public class PathBenchmark {
+    private static final Pattern NODE = Pattern.compile("n(\\d+)");
+    private static final int GRID_NODES = 200; // arquivoEntradaMaior.txt: grade 20 x 10, nomes n0..n199
+    private static final int ROW_WIDTH = 10;
+
+    // Função: scaleGrid
+    // Descrição: Gera um arquivo de fatos com a grade de arquivoEntradaMaior.txt empilhada copies vezes, ligando a última linha de cada cópia à primeira da seguinte.
+    // Entrada: String source (arquivo da grade original), int copies (quantidade de cópias), Path output (arquivo gerado).
+    // Saída: Nenhuma.
+    // Pré-Condicao: source deve seguir a numeração nRC da grade original.
+    // Pós-Condicao: output contém copies * 200 nós, de n0 até o último nó da última cópia.
+    static void scaleGrid(String source, int copies, Path output) throws IOException {
+        List<int[]> edges = new ArrayList<>();
+        Map<Integer, Integer> heuristics = new HashMap<>();
+        try (BufferedReader in = new BufferedReader(new FileReader(source))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                Matcher m = NODE.matcher(line);
+                if (line.startsWith("pode_ir(") && m.find()) {
+                    int from = Integer.parseInt(m.group(1));
+                    m.find();
+                    int to = Integer.parseInt(m.group(1));
+                    int cost = Integer.parseInt(line.substring(line.lastIndexOf(',') + 1, line.indexOf(')')).trim());
+                    edges.add(new int[]{from, to, cost});
+                } else if (line.startsWith("h(") && m.find()) {
+                    int node = Integer.parseInt(m.group(1));
+                    heuristics.put(node, Integer.parseInt(line.substring(line.lastIndexOf(',') + 1, line.indexOf(')')).trim()));
+                }
+            }
+        }
+
+        int last = copies * GRID_NODES - 1;
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(output))) {
+            out.println("ponto_inicial(n0).");
+            out.println("ponto_final(n" + last + ").");
+            out.println("orientado(s).");
+            for (int c = 0; c < copies; c++) {
+                int base = c * GRID_NODES;
+                for (int[] e : edges) {
+                    out.println("pode_ir(n" + (base + e[0]) + ",n" + (base + e[1]) + "," + e[2] + ").");
+                }
+                if (c + 1 < copies) {
+                    for (int col = 0; col < ROW_WIDTH; col++) {
+                        int from = base + GRID_NODES - ROW_WIDTH + col;
+                        out.println("pode_ir(n" + from + ",n" + (from + ROW_WIDTH) + ",10).");
+                    }
+                }
+            }
+            // h da cópia mais baixa somado a uma estimativa das cópias restantes (apenas informativo aqui)
+            for (int c = 0; c < copies; c++) {
+                for (Map.Entry<Integer, Integer> h : heuristics.entrySet()) {
+                    int node = c * GRID_NODES + h.getKey();
+                    out.println("h(n" + node + ",n" + last + "," + (h.getValue() + (copies - 1 - c) * 20) + ").");
+                }
+            }
+        }
+    }
+
+    // Função: copyingPaths
+    // Descrição: Linha de base, fora do programa: Dijkstra sobre o mesmo grafo CSR com a estratégia de caminho da versão original, em que cada relaxamento cria uma lista nova com o caminho completo.
+    // Entrada: Graph graph, int source, int target, int limiteFio.
+    // Saída: int (tamanho do caminho encontrado, para evitar que o JIT descarte o trabalho).
+    // Pré-Condicao: source e target devem ser ids válidos do grafo.
+    // Pós-Condicao: Nenhuma alteração no grafo.
+    static int copyingPaths(Graph graph, int source, int target, int limiteFio) {
+        int n = graph.nodeCount();
+        int[] distance = new int[n];
+        Arrays.fill(distance, Integer.MAX_VALUE);
+        boolean[] settled = new boolean[n];
+        Map<Integer, List<Integer>> paths = new HashMap<>();
+        paths.put(source, new LinkedList<>());
+        distance[source] = 0;
+        PriorityQueue<int[]> queue = new PriorityQueue<>(Comparator.comparingInt(entry -> entry[1]));
+        queue.add(new int[]{source, 0});
+        while (!queue.isEmpty()) {
+            int current = queue.poll()[0];
+            if (settled[current]) continue;
+            settled[current] = true;
+            if (current == target) break;
+            for (int e = graph.firstEdge(current), end = graph.endEdge(current); e < end; e++) {
+                int neighbor = graph.target(e);
+                if (settled[neighbor]) continue;
+                int newDistance = distance[current] + graph.weight(e);
+                if (newDistance <= limiteFio && newDistance < distance[neighbor]) {
+                    distance[neighbor] = newDistance;
+                    paths.put(neighbor, Stream.concat(paths.get(current).stream(), Stream.of(current)).collect(Collectors.toList()));
+                    queue.add(new int[]{neighbor, newDistance});
+                }
+            }
+        }
+        return paths.getOrDefault(target, Collections.emptyList()).size();
+    }
+
+    // Função: measure
+    // Descrição: Executa a tarefa e imprime tempo, bytes alocados pela thread e coletas de lixo ocorridas.
+    // Entrada: String label (nome da variante), Runnable task.
+    // Saída: Nenhuma (imprime no console).
+    // Pré-Condicao: A JVM deve expor com.sun.management.ThreadMXBean (HotSpot/OpenJDK).
+    // Pós-Condicao: Nenhuma.
+    static void measure(String label, Runnable task) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long gcCount = 0;
+        long gcMillis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount -= gc.getCollectionCount();
+            gcMillis -= gc.getCollectionTime();
+        }
+        long allocated = -threads.getThreadAllocatedBytes(threadId);
+        long begin = System.nanoTime();
+
+        task.run();
+
+        long elapsed = System.nanoTime() - begin;
+        allocated += threads.getThreadAllocatedBytes(threadId);
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += gc.getCollectionCount();
+            gcMillis += gc.getCollectionTime();
+        }
+        System.out.printf("%-28s %10.1f ms %12.1f MB alocados %5d GCs (%d ms)%n",
+                label, elapsed / 1e6, allocated / 1e6, gcCount, gcMillis);
+    }
+
+    // Função: main
+    // Descrição: Gera a grade ampliada e compara as variantes de armazenamento do caminho.
+    // Entrada: String[] args (args[0] opcional: quantidade de cópias da grade, padrão 200; args[1] opcional: repetições, padrão 5).
+    // Saída: Nenhuma (imprime a tabela no console).
+    // Pré-Condicao: arquivoEntradaMaior.txt deve existir no diretório atual.
+    // Pós-Condicao: O arquivo temporário gerado é apagado.
+    public static void main(String[] args) throws IOException {
+        int copies = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        Path scaled = Files.createTempFile("grade", ".txt");
+        try {
+            scaleGrid("arquivoEntradaMaior.txt", copies, scaled);
+            Graph graph = Graph.lerArquivo(scaled.toString());
+            System.out.println("Grade ampliada: " + graph.nodeCount() + " nós, " + graph.edgeCount() + " arestas");
+            System.out.println("(linha de base: cópia da lista a cada relaxamento, só neste benchmark; CSR: Dijkstra.calculateShortestPath)");
+
+            for (int r = 0; r < repetitions; r++) {
+                System.out.println("Rodada " + (r + 1) + ":");
+                measure("lista copiada (linha de base)", () ->
+                        copyingPaths(graph, graph.getStart(), graph.getGoal(), Integer.MAX_VALUE));
+                measure("vetor de predecessores (CSR)", () -> {
+                    SearchResult result = Dijkstra.calculateShortestPath(graph, graph.getStart(), graph.getGoal(),
+                            Integer.MAX_VALUE, TraceListener.NONE);
+                    if (!result.isFound()) throw new IllegalStateException("caminho não encontrado");
+                });
+            }
+        } finally {
+            Files.deleteIfExists(scaled);
+        }
+    }
+}
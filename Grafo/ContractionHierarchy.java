@@ -0,0 +1,282 @@
+package Grafo;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Hierarquia de contração (CH) de um grafo estático: os nós são contraídos um a um (rank = ordem de contração) e cada
+// contração acrescenta atalhos entre os vizinhos que preservam as menores distâncias. A consulta só sobe na hierarquia
+// pelos dois lados (Dijkstra_Bonus.HierarchyDijkstra), visitando poucos nós; cada atalho guarda o nó do meio para
+// desempacotar o caminho original.
+// Arquivo persistido (little-endian): MAGIC, VERSION, nós, arestas, resumo das arestas do grafo (long, Graph.edgeChecksum),
+// arestas de subida, arestas de descida, rank[nós], subida (offsets[nós + 1], destinos, custos, meios) e descida (mesmo layout).
+public final class ContractionHierarchy {
+    static final int MAGIC = 0x31424843; // "CHB1" em little-endian
+    static final int VERSION = 2;
+    private static final int HEADER_INTS = 8;
+
+    private final Graph graph;
+    private final Graph upward; // arestas u -> v com rank(v) > rank(u), guardadas em u
+    private final Graph downward; // arestas x -> v com rank(x) > rank(v), guardadas em v apontando para x
+    private final IntBuffer rank;
+    private final IntBuffer upMiddle; // nó do meio de cada atalho de subida (-1: aresta original)
+    private final IntBuffer downMiddle; // nó do meio de cada atalho de descida (-1: aresta original)
+
+    private ContractionHierarchy(Graph graph, Graph upward, Graph downward, IntBuffer rank, IntBuffer upMiddle,
+                                 IntBuffer downMiddle) {
+        this.graph = graph;
+        this.upward = upward;
+        this.downward = downward;
+        this.rank = rank;
+        this.upMiddle = upMiddle;
+        this.downMiddle = downMiddle;
+    }
+
+    // Função: build
+    // Descrição: Contrai todos os nós do grafo (ordem pela diferença de arestas com atualização preguiçosa e buscas de testemunha limitadas) e monta os grafos de subida e descida.
+    // Entrada: Graph graph.
+    // Saída: ContractionHierarchy.
+    // Pré-Condicao: Custos positivos.
+    // Pós-Condicao: Nenhuma alteração no grafo; as distâncias da hierarquia são iguais às do grafo (só o custo é considerado, não o fio separado).
+    public static ContractionHierarchy build(Graph graph) {
+        HierarchyBuilder builder = new HierarchyBuilder(graph);
+        builder.contractAll();
+        int[][] up = builder.toCsr(true);
+        int[][] down = builder.toCsr(false);
+        return new ContractionHierarchy(graph, graph.withEdges(up[0], up[1], up[2], null),
+                graph.withEdges(down[0], down[1], down[2], null), IntBuffer.wrap(builder.rank()),
+                IntBuffer.wrap(up[3]), IntBuffer.wrap(down[3]));
+    }
+
+    // Função: getGraph
+    // Descrição: Retorna o grafo original da hierarquia.
+    // Entrada: Nenhuma.
+    // Saída: Graph.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public Graph getGraph() {
+        return graph;
+    }
+
+    // Função: upward
+    // Descrição: Retorna o grafo de subida (arestas para nós de rank maior), usado pela busca a partir da origem.
+    // Entrada: Nenhuma.
+    // Saída: Graph (mesmos nós do grafo original).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public Graph upward() {
+        return upward;
+    }
+
+    // Função: downward
+    // Descrição: Retorna o grafo de descida invertido (em v, as arestas x -> v com x de rank maior, apontando para x), usado pela busca a partir do destino.
+    // Entrada: Nenhuma.
+    // Saída: Graph (mesmos nós do grafo original).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public Graph downward() {
+        return downward;
+    }
+
+    // Função: rank
+    // Descrição: Retorna a posição do nó na ordem de contração.
+    // Entrada: int node.
+    // Saída: int (0 = primeiro contraído).
+    // Pré-Condicao: node deve ser um id válido do grafo.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int rank(int node) {
+        return rank.get(node);
+    }
+
+    // Função: shortcutCount
+    // Descrição: Retorna quantas arestas da hierarquia são atalhos (não existem no grafo original).
+    // Entrada: Nenhuma.
+    // Saída: int.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int shortcutCount() {
+        int count = 0;
+        for (int e = 0; e < upward.edgeCount(); e++) if (upMiddle.get(e) >= 0) count++;
+        for (int e = 0; e < downward.edgeCount(); e++) if (downMiddle.get(e) >= 0) count++;
+        return count;
+    }
+
+    // Função: unpackPath
+    // Descrição: Troca cada atalho do caminho pelos nós que ele pula, recursivamente (com pilha explícita), até sobrar só arestas do grafo original.
+    // Entrada: int[] packed (caminho na hierarquia, da origem ao destino).
+    // Saída: int[] (caminho no grafo original, com os mesmos extremos).
+    // Pré-Condicao: Nós consecutivos de packed devem estar ligados por uma aresta da hierarquia.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int[] unpackPath(int[] packed) {
+        if (packed.length == 0) {
+            return packed;
+        }
+        int[] path = new int[Math.max(16, packed.length)];
+        int size = 0;
+        path[size++] = packed[0];
+        int[] stack = new int[16]; // pares (a, b) de arestas a desempacotar; o topo é a próxima do caminho
+        for (int i = 1; i < packed.length; i++) {
+            int top = 0;
+            stack[top++] = packed[i - 1];
+            stack[top++] = packed[i];
+            while (top > 0) {
+                int b = stack[--top];
+                int a = stack[--top];
+                int middle = middle(a, b);
+                if (middle < 0) {
+                    if (size == path.length) path = Arrays.copyOf(path, size * 2);
+                    path[size++] = b;
+                    continue;
+                }
+                if (top + 4 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+                // (middle, b) fica embaixo de (a, middle) para sair depois
+                stack[top++] = middle;
+                stack[top++] = b;
+                stack[top++] = a;
+                stack[top++] = middle;
+            }
+        }
+        return Arrays.copyOf(path, size);
+    }
+
+    // Nó do meio da aresta a -> b da hierarquia (-1 se for aresta original): guardada na subida de a ou na descida de b
+    private int middle(int a, int b) {
+        if (rank.get(a) < rank.get(b)) {
+            for (int e = upward.firstEdge(a), end = upward.endEdge(a); e < end; e++) {
+                if (upward.target(e) == b) return upMiddle.get(e);
+            }
+        } else {
+            for (int e = downward.firstEdge(b), end = downward.endEdge(b); e < end; e++) {
+                if (downward.target(e) == a) return downMiddle.get(e);
+            }
+        }
+        throw new IllegalStateException("Aresta fora da hierarquia: " + a + " -> " + b);
+    }
+
+    // Função: write
+    // Descrição: Grava a hierarquia em disco, junto com o tamanho e o resumo das arestas do grafo para conferência na leitura.
+    // Entrada: String filename (arquivo de saída).
+    // Saída: Nenhuma.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: O arquivo é criado (ou sobrescrito) e pode ser aberto com open.
+    public void write(String filename) throws IOException {
+        int n = graph.nodeCount();
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            GraphSnapshot.IntWriter out = new GraphSnapshot.IntWriter(channel);
+            out.put(MAGIC);
+            out.put(VERSION);
+            out.put(n);
+            out.put(graph.edgeCount());
+            long checksum = graph.edgeChecksum();
+            out.put((int) checksum);
+            out.put((int) (checksum >>> 32));
+            out.put(upward.edgeCount());
+            out.put(downward.edgeCount());
+            for (int v = 0; v < n; v++) out.put(rank.get(v));
+            writeEdges(out, upward, upMiddle);
+            writeEdges(out, downward, downMiddle);
+            out.flush();
+        }
+    }
+
+    // Grava offsets, destinos, custos e meios de um dos lados da hierarquia
+    private static void writeEdges(GraphSnapshot.IntWriter out, Graph side, IntBuffer middles) throws IOException {
+        int n = side.nodeCount();
+        for (int v = 0; v < n; v++) out.put(side.firstEdge(v));
+        out.put(side.edgeCount());
+        for (int e = 0; e < side.edgeCount(); e++) out.put(side.target(e));
+        for (int e = 0; e < side.edgeCount(); e++) out.put(side.weight(e));
+        for (int e = 0; e < side.edgeCount(); e++) out.put(middles.get(e));
+    }
+
+    // Função: open
+    // Descrição: Abre uma hierarquia gravada por write, mapeada em memória somente leitura (sem cópia para o heap).
+    // Entrada: Graph graph (grafo em que a hierarquia será usada), String filename.
+    // Saída: ContractionHierarchy.
+    // Pré-Condicao: O arquivo deve ter sido gerado para um grafo com os mesmos nós, arestas e custos.
+    // Pós-Condicao: Lança IOException se o arquivo não for de hierarquia ou for de outro grafo (tamanho ou resumo das arestas diferente).
+    public static ContractionHierarchy open(Graph graph, String filename) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            IntBuffer header = GraphSnapshot.map(channel, 0, HEADER_INTS * 4L).asIntBuffer();
+            if (header.get(0) != MAGIC) {
+                throw new IOException("Arquivo não é de hierarquia de contração: " + filename);
+            }
+            if (header.get(1) != VERSION) {
+                throw new IOException("Versão de hierarquia não suportada: " + header.get(1));
+            }
+            long checksum = header.get(4) & 0xFFFFFFFFL | (long) header.get(5) << 32;
+            if (header.get(2) != graph.nodeCount() || header.get(3) != graph.edgeCount()
+                    || checksum != graph.edgeChecksum()) {
+                throw new IOException("Hierarquia calculada para outro grafo: " + filename);
+            }
+            int n = header.get(2);
+            int upEdges = header.get(6);
+            int downEdges = header.get(7);
+            long position = HEADER_INTS * 4L;
+            IntBuffer rank = GraphSnapshot.map(channel, position, n * 4L).asIntBuffer();
+            position += n * 4L;
+            IntBuffer[] up = new IntBuffer[4];
+            position = mapEdges(channel, position, n, upEdges, up);
+            IntBuffer[] down = new IntBuffer[4];
+            position = mapEdges(channel, position, n, downEdges, down);
+            if (position != channel.size()) {
+                throw new IOException("Arquivo de hierarquia truncado ou corrompido: " + filename);
+            }
+            return new ContractionHierarchy(graph, graph.withEdges(up[0], up[1], up[2], null),
+                    graph.withEdges(down[0], down[1], down[2], null), rank, up[3], down[3]);
+        }
+    }
+
+    // Mapeia offsets, destinos, custos e meios de um lado a partir de position; retorna a posição seguinte
+    private static long mapEdges(FileChannel channel, long position, int n, int edges, IntBuffer[] buffers) throws IOException {
+        buffers[0] = GraphSnapshot.map(channel, position, (n + 1) * 4L).asIntBuffer();
+        position += (n + 1) * 4L;
+        for (int i = 1; i < 4; i++) {
+            buffers[i] = GraphSnapshot.map(channel, position, edges * 4L).asIntBuffer();
+            position += edges * 4L;
+        }
+        return position;
+    }
+
+    // Função: load
+    // Descrição: Abre a hierarquia do arquivo se ele existir; senão calcula e grava nele, para as próximas execuções.
+    // Entrada: Graph graph, String filename.
+    // Saída: ContractionHierarchy.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Lança IOException se o arquivo existir e não for uma hierarquia deste grafo.
+    public static ContractionHierarchy load(Graph graph, String filename) throws IOException {
+        if (Files.exists(Paths.get(filename))) {
+            return open(graph, filename);
+        }
+        ContractionHierarchy hierarchy = build(graph);
+        hierarchy.write(filename);
+        return hierarchy;
+    }
+
+    // Função: main
+    // Descrição: Pré-processamento: contrai o grafo e grava a hierarquia em disco.
+    // Entrada: String[] args (args[0]: arquivo de fatos ou snapshot; args[1]: arquivo de saída, padrão args[0] com extensão .ch).
+    // Saída: Nenhuma (imprime os tempos e o tamanho da hierarquia no console).
+    // Pré-Condicao: O arquivo do grafo deve existir.
+    // Pós-Condicao: O arquivo da hierarquia é gravado.
+    public static void main(String[] args) throws IOException {
+        String input = args.length > 0 ? args[0] : "arquivoEntradaMaior.txt";
+        String output = args.length > 1 ? args[1] : input.replaceFirst("\\.[^./]*$", "") + ".ch";
+
+        Graph graph = Graph.abrir(input);
+        long begin = System.nanoTime();
+        ContractionHierarchy hierarchy = build(graph);
+        long built = System.nanoTime();
+        hierarchy.write(output);
+        long written = System.nanoTime();
+
+        System.out.printf("Contração em %.1f ms (%d nós, %d arestas, %d atalhos)%n", (built - begin) / 1e6,
+                graph.nodeCount(), graph.edgeCount(), hierarchy.shortcutCount());
+        System.out.printf("Gravação: %.1f ms em %s%n", (written - built) / 1e6, output);
+    }
+}
@@ -0,0 +1,202 @@
+package Grafo;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Grafo que muda com o tempo (interdições, congestionamento) em versões imutáveis: cada lote de alterações monta um novo
+// CSR copiando em bloco as faixas de nós não alterados e publica a nova versão numa AtomicReference. Leitores pegam a
+// versão atual com snapshot() e consultam sem bloqueio; escritores são serializados entre si.
+public final class DynamicGraph {
+    private static final int HISTORY = 64; // versões cujas alterações ficam guardadas para o reparo das árvores
+
+    private final AtomicReference<Snapshot> current;
+
+    // Versão publicada: o grafo, seu número e os pares (origem, destino) alterados nas últimas versões
+    public static final class Snapshot {
+        private final Graph graph;
+        private final long version;
+        private final int[][] history; // history[i]: pares alterados da versão version - i - 1 para version - i
+
+        private Snapshot(Graph graph, long version, int[][] history) {
+            this.graph = graph;
+            this.version = version;
+            this.history = history;
+        }
+
+        // Função: getGraph
+        // Descrição: Retorna o grafo desta versão.
+        // Entrada: Nenhuma.
+        // Saída: Graph (imutável).
+        // Pré-Condicao: Nenhuma.
+        // Pós-Condicao: Nenhuma alteração no estado.
+        public Graph getGraph() {
+            return graph;
+        }
+
+        // Função: getVersion
+        // Descrição: Retorna o número da versão (0 para o grafo inicial).
+        // Entrada: Nenhuma.
+        // Saída: long.
+        // Pré-Condicao: Nenhuma.
+        // Pós-Condicao: Nenhuma alteração no estado.
+        public long getVersion() {
+            return version;
+        }
+
+        // Função: changesSince
+        // Descrição: Pares de nós cujas arestas foram acrescentadas, removidas ou tiveram o custo trocado entre a versão informada e esta.
+        // Entrada: long since (versão anterior).
+        // Saída: int[] (origem e destino alternados: [u0, v0, u1, v1, ...], com repetições possíveis), ou null se as alterações já saíram do histórico.
+        // Pré-Condicao: since <= getVersion().
+        // Pós-Condicao: Nenhuma alteração no estado.
+        public int[] changesSince(long since) {
+            long distance = version - since;
+            if (distance < 0 || distance > history.length) {
+                return null;
+            }
+            int length = 0;
+            for (int i = 0; i < distance; i++) length += history[i].length;
+            int[] pairs = new int[length];
+            int at = 0;
+            for (int i = 0; i < distance; i++) {
+                System.arraycopy(history[i], 0, pairs, at, history[i].length);
+                at += history[i].length;
+            }
+            return pairs;
+        }
+    }
+
+    // Função: DynamicGraph (construtor)
+    // Descrição: Começa na versão 0 com o grafo informado.
+    // Entrada: Graph graph (versão inicial, ex.: Graph.abrir).
+    // Saída: Instância de DynamicGraph.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: snapshot() retorna a versão 0.
+    public DynamicGraph(Graph graph) {
+        this.current = new AtomicReference<>(new Snapshot(graph, 0, new int[0][]));
+    }
+
+    // Função: snapshot
+    // Descrição: Retorna a versão atual; nunca espera por escritores.
+    // Entrada: Nenhuma.
+    // Saída: Snapshot.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: A versão retornada continua válida (e imutável) mesmo depois de novas alterações.
+    public Snapshot snapshot() {
+        return current.get();
+    }
+
+    // Função: apply
+    // Descrição: Aplica o lote de alterações de uma vez: monta o CSR da nova versão (faixas de nós sem alteração copiadas em bloco, nós alterados remontados) e a publica atomicamente.
+    // Entrada: GraphUpdate update.
+    // Saída: Snapshot (a nova versão).
+    // Pré-Condicao: Ids válidos; custos positivos.
+    // Pós-Condicao: Consultas iniciadas antes continuam na versão antiga; as seguintes veem todas as alterações do lote ou nenhuma. Custo O(n + m) por lote, então alterações frequentes devem ser agrupadas.
+    public synchronized Snapshot apply(GraphUpdate update) {
+        Snapshot old = current.get();
+        Graph graph = old.graph;
+        int n = graph.nodeCount();
+        int m = graph.edgeCount();
+
+        // Operações por nó de origem, na ordem do lote; grafos não orientados recebem também o sentido inverso
+        int directions = graph.isDirected() ? 1 : 2;
+        int count = update.size() * directions;
+        long[] order = new long[count];
+        int[] pairs = new int[count * 2];
+        int added = 0;
+        boolean wires = graph.hasWires();
+        for (int i = 0, k = 0; i < update.size(); i++) {
+            for (int d = 0; d < directions; d++, k++) {
+                int from = d == 0 ? update.from(i) : update.to(i);
+                int to = d == 0 ? update.to(i) : update.from(i);
+                order[k] = ((long) from << 32) | k;
+                pairs[2 * k] = from;
+                pairs[2 * k + 1] = to;
+            }
+            if (update.kind(i) == GraphUpdate.ADD) {
+                added += directions;
+                if (update.wire(i) >= 0 && update.wire(i) != update.cost(i)) wires = true;
+            }
+        }
+        Arrays.sort(order);
+
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[m + added];
+        int[] weights = new int[m + added];
+        int[] wireValues = wires ? new int[m + added] : null;
+        int at = 0;
+        int copied = 0; // primeiro nó ainda não copiado
+        for (int k = 0; k < count; ) {
+            int node = (int) (order[k] >>> 32);
+            at = copyRange(graph, copied, node, offsets, targets, weights, wireValues, at);
+
+            // Nó alterado: as arestas atuais seguidas das operações do lote, aplicadas em ordem
+            offsets[node] = at;
+            int first = graph.firstEdge(node);
+            int end = graph.endEdge(node);
+            graph.copyEdges(first, end, targets, weights, wireValues, at);
+            int size = end - first;
+            for (; k < count && (int) (order[k] >>> 32) == node; k++) {
+                int index = (int) order[k];
+                int op = index / directions;
+                int to = pairs[2 * index + 1];
+                size = applyOperation(update, op, to, targets, weights, wireValues, !graph.hasWires(), at, size);
+            }
+            at += size;
+            copied = node + 1;
+        }
+        at = copyRange(graph, copied, n, offsets, targets, weights, wireValues, at);
+        offsets[n] = at;
+        if (at < targets.length) {
+            targets = Arrays.copyOf(targets, at);
+            weights = Arrays.copyOf(weights, at);
+            if (wireValues != null) wireValues = Arrays.copyOf(wireValues, at);
+        }
+
+        int[][] history = new int[Math.min(HISTORY, old.history.length + 1)][];
+        history[0] = pairs;
+        System.arraycopy(old.history, 0, history, 1, history.length - 1);
+        Snapshot next = new Snapshot(graph.withEdges(offsets, targets, weights, wireValues), old.version + 1, history);
+        current.set(next);
+        return next;
+    }
+
+    // Copia em bloco as arestas dos nós [from, to) para a posição at, ajustando seus offsets; retorna a nova posição livre
+    private static int copyRange(Graph graph, int from, int to, int[] offsets, int[] targets, int[] weights, int[] wires, int at) {
+        if (from >= to) return at;
+        int shift = at - graph.firstEdge(from);
+        for (int v = from; v < to; v++) offsets[v] = graph.firstEdge(v) + shift;
+        graph.copyEdges(graph.firstEdge(from), graph.firstEdge(to), targets, weights, wires, at);
+        return at + graph.firstEdge(to) - graph.firstEdge(from);
+    }
+
+    // Aplica a operação op às size arestas do nó guardadas a partir de at (destino to já no sentido do nó); retorna o novo tamanho
+    private static int applyOperation(GraphUpdate update, int op, int to, int[] targets, int[] weights, int[] wires,
+                                      boolean wireFollowsCost, int at, int size) {
+        switch (update.kind(op)) {
+            case GraphUpdate.ADD:
+                targets[at + size] = to;
+                weights[at + size] = update.cost(op);
+                if (wires != null) wires[at + size] = update.wire(op) >= 0 ? update.wire(op) : update.cost(op);
+                return size + 1;
+            case GraphUpdate.REMOVE: {
+                int kept = 0;
+                for (int i = 0; i < size; i++) {
+                    if (targets[at + i] == to) continue;
+                    targets[at + kept] = targets[at + i];
+                    weights[at + kept] = weights[at + i];
+                    if (wires != null) wires[at + kept] = wires[at + i];
+                    kept++;
+                }
+                return kept;
+            }
+            default: // REWEIGHT
+                for (int i = 0; i < size; i++) {
+                    if (targets[at + i] != to) continue;
+                    weights[at + i] = update.cost(op);
+                    if (wires != null && wireFollowsCost) wires[at + i] = update.cost(op);
+                }
+                return size;
+        }
+    }
+}
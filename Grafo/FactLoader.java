@@ -0,0 +1,445 @@
+package Grafo;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public final class FactLoader {
+    private static final int CHUNK_SIZE = 1 << 20; // leitura em blocos de 1 MiB
+
+    private static final byte[] PONTO_INICIAL = ascii("ponto_inicial");
+    private static final byte[] PONTO_FINAL = ascii("ponto_final");
+    private static final byte[] ORIENTADO = ascii("orientado");
+    private static final byte[] PODE_IR = ascii("pode_ir");
+    private static final byte[] H = ascii("h");
+
+    private final GraphBuilder builder;
+    private final NameTable names = new NameTable();
+    private final Stats stats = new Stats();
+
+    // Estado do tokenizador sobre o bloco atual
+    private byte[] buf = new byte[CHUNK_SIZE];
+    private int pos;
+    private int limit;
+    private long line = 1;
+
+    // Função: FactLoader (construtor)
+    // Descrição: Cria um leitor de fatos que alimenta diretamente o builder informado.
+    // Entrada: GraphBuilder builder (destino dos nós, arestas e heurísticas).
+    // Saída: Instância de FactLoader.
+    // Pré-Condicao: O builder não deve ter nós criados por outro caminho, pois os ids são repassados como recebidos.
+    // Pós-Condicao: O leitor está pronto para ler um ou mais arquivos.
+    public FactLoader(GraphBuilder builder) {
+        this.builder = builder;
+    }
+
+    // Função: load
+    // Descrição: Lê o arquivo e monta o grafo CSR em uma única passada.
+    // Entrada: String filename (nome do arquivo).
+    // Saída: Graph (grafo imutável).
+    // Pré-Condicao: O arquivo deve existir e estar no formato esperado.
+    // Pós-Condicao: Retorna o grafo pronto para as buscas.
+    public static Graph load(String filename) throws IOException {
+        GraphBuilder builder = new GraphBuilder();
+        new FactLoader(builder).read(filename);
+        return builder.build();
+    }
+
+    // Função: read
+    // Descrição: Lê o arquivo em blocos, tokenizando os fatos ponto_inicial, ponto_final, orientado, pode_ir (com o fio como 4º argumento opcional) e h direto dos bytes, sem criar Strings por token (apenas uma por nome de nó novo); linhas com outros fatos são ignoradas e contadas em Stats.getSkipped.
+    // Entrada: String filename (nome do arquivo).
+    // Saída: Stats (bytes, fatos e arestas lidos e tempo gasto).
+    // Pré-Condicao: O arquivo deve existir; fatos não podem ocupar mais de uma linha.
+    // Pós-Condicao: Todos os fatos do arquivo foram repassados ao builder.
+    public Stats read(String filename) throws IOException {
+        long begin = System.nanoTime();
+        try (InputStream in = new FileInputStream(filename)) {
+            int carry = 0;
+            boolean eof = false;
+            while (!eof) {
+                if (carry == buf.length) {
+                    buf = Arrays.copyOf(buf, buf.length * 2); // linha maior que o bloco
+                }
+                int read = in.read(buf, carry, buf.length - carry);
+                if (read < 0) {
+                    eof = true;
+                    read = 0;
+                }
+                stats.bytes += read;
+                int available = carry + read;
+
+                // Processa só até a última quebra de linha; o resto vai para o próximo bloco
+                int end = available;
+                if (!eof) {
+                    while (end > 0 && buf[end - 1] != '\n') end--;
+                    if (end == 0) {
+                        carry = available;
+                        continue;
+                    }
+                }
+                pos = 0;
+                limit = end;
+                parseFacts();
+                carry = available - end;
+                System.arraycopy(buf, end, buf, 0, carry);
+            }
+        }
+        stats.nanos += System.nanoTime() - begin;
+        return stats;
+    }
+
+    // Função: getStats
+    // Descrição: Retorna as estatísticas acumuladas das leituras feitas por este leitor.
+    // Entrada: Nenhuma.
+    // Saída: Stats.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public Stats getStats() {
+        return stats;
+    }
+
+    // Função: parseFacts
+    // Descrição: Consome todos os fatos do intervalo [pos, limit) do bloco atual.
+    // Entrada: Nenhuma (usa o estado do tokenizador).
+    // Saída: Nenhuma.
+    // Pré-Condicao: O intervalo deve terminar em fim de linha ou no fim do arquivo.
+    // Pós-Condicao: pos == limit.
+    private void parseFacts() throws IOException {
+        while (skipBlank()) {
+            int start = pos;
+            while (pos < limit && isNameByte(buf[pos])) pos++;
+            int length = pos - start;
+            if (!isKnownFact(start, length)) {
+                // Fato desconhecido: a linha é ignorada, como na leitura original
+                while (pos < limit && buf[pos] != '\n') pos++;
+                stats.skipped++;
+                continue;
+            }
+            expect('(');
+
+            if (matches(start, length, PODE_IR)) {
+                int from = readName();
+                expect(',');
+                int to = readName();
+                expect(',');
+                int cost = readInt();
+                if (pos < limit && buf[pos] == ',') {
+                    pos++;
+                    builder.addEdge(from, to, cost, readInt()); // 4º argumento opcional: fio consumido
+                } else {
+                    builder.addEdge(from, to, cost);
+                }
+                stats.edges++;
+            } else if (matches(start, length, H)) {
+                int node = readName();
+                expect(',');
+                skipName(); // segundo argumento é o ponto_final, ignorado
+                expect(',');
+                builder.setHeuristic(node, readInt());
+            } else if (matches(start, length, PONTO_INICIAL)) {
+                builder.setStart(readName());
+            } else if (matches(start, length, PONTO_FINAL)) {
+                builder.setGoal(readName());
+            } else {
+                skipSpaces(); // orientado
+                builder.setDirected(pos < limit && buf[pos] == 's');
+                skipName();
+            }
+            expect(')');
+            skipSpaces();
+            if (pos < limit && buf[pos] == '.') pos++;
+            stats.facts++;
+        }
+    }
+
+    // Função: skipBlank
+    // Descrição: Pula espaços, quebras de linha e comentários iniciados por '%'.
+    // Entrada: Nenhuma.
+    // Saída: boolean (true se ainda há um fato a ler no bloco).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: pos aponta para o início do próximo fato ou para limit.
+    private boolean skipBlank() {
+        while (pos < limit) {
+            byte b = buf[pos];
+            if (b == '\n') {
+                line++;
+                pos++;
+            } else if (b == '%') {
+                while (pos < limit && buf[pos] != '\n') pos++;
+            } else if (b <= ' ') {
+                pos++;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Pula espaços e tabulações dentro de um fato
+    private void skipSpaces() {
+        while (pos < limit && (buf[pos] == ' ' || buf[pos] == '\t' || buf[pos] == '\r')) pos++;
+    }
+
+    // Função: readName
+    // Descrição: Lê um nome de nó e o converte em id, criando uma String apenas na primeira ocorrência do nome.
+    // Entrada: Nenhuma.
+    // Saída: int (id do nó no builder).
+    // Pré-Condicao: pos deve estar antes de um nome.
+    // Pós-Condicao: pos aponta para depois do nome.
+    private int readName() throws IOException {
+        skipSpaces();
+        int start = pos;
+        while (pos < limit && isNameByte(buf[pos])) pos++;
+        if (pos == start) throw error("nome de nó esperado");
+        int id = names.find(buf, start, pos - start);
+        if (id < 0) {
+            id = builder.intern(new String(buf, start, pos - start, StandardCharsets.UTF_8));
+            names.add(buf, start, pos - start, id);
+        }
+        skipSpaces();
+        return id;
+    }
+
+    // Pula um nome sem convertê-lo em id
+    private void skipName() {
+        skipSpaces();
+        while (pos < limit && isNameByte(buf[pos])) pos++;
+        skipSpaces();
+    }
+
+    // Função: readInt
+    // Descrição: Lê um inteiro (com sinal opcional) direto dos bytes.
+    // Entrada: Nenhuma.
+    // Saída: int (valor lido).
+    // Pré-Condicao: pos deve estar antes de um inteiro.
+    // Pós-Condicao: pos aponta para depois do inteiro.
+    private int readInt() throws IOException {
+        skipSpaces();
+        boolean negative = pos < limit && buf[pos] == '-';
+        if (negative) pos++;
+        int start = pos;
+        int value = 0;
+        while (pos < limit && buf[pos] >= '0' && buf[pos] <= '9') {
+            value = value * 10 + (buf[pos++] - '0');
+        }
+        if (pos == start) throw error("inteiro esperado");
+        skipSpaces();
+        return negative ? -value : value;
+    }
+
+    // Exige o caractere c (ignorando espaços) na posição atual
+    private void expect(char c) throws IOException {
+        skipSpaces();
+        if (pos >= limit || buf[pos] != c) throw error("'" + c + "' esperado");
+        pos++;
+    }
+
+    // Verifica se o identificador em buf[start, start + length) é um dos fatos lidos
+    private boolean isKnownFact(int start, int length) {
+        return matches(start, length, PODE_IR) || matches(start, length, H) || matches(start, length, PONTO_INICIAL)
+                || matches(start, length, PONTO_FINAL) || matches(start, length, ORIENTADO);
+    }
+
+    // Compara o identificador em buf[start, start + length) com um nome de fato
+    private boolean matches(int start, int length, byte[] word) {
+        return length == word.length && Arrays.equals(buf, start, start + length, word, 0, length);
+    }
+
+    // Cria a exceção de formato com o número da linha
+    private IOException error(String message) {
+        return new IOException("Linha " + line + ": " + message);
+    }
+
+    // Bytes que podem fazer parte de um nome (tudo exceto pontuação dos fatos e espaços)
+    private static boolean isNameByte(byte b) {
+        return b != '(' && b != ')' && b != ',' && b != '.' && b > ' ';
+    }
+
+    // Converte o nome de um fato para bytes, para comparação sem criar Strings
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // Tabela hash aberta de nomes (bytes -> id), para não criar uma String a cada ocorrência de um nome
+    private static final class NameTable {
+        private byte[] arena = new byte[1 << 12];
+        private int arenaSize;
+        private int[] nameStart = new int[64];
+        private int[] nameLength = new int[64];
+        private int[] nameId = new int[64];
+        private int count;
+        private int[] slots = new int[128]; // índice + 1 na lista de nomes, 0 se vazio
+
+        // Função: find
+        // Descrição: Procura o nome em bytes na tabela.
+        // Entrada: byte[] src, int off, int len (nome).
+        // Saída: int (id do nó, ou -1 se ausente).
+        // Pré-Condicao: Nenhuma.
+        // Pós-Condicao: Nenhuma alteração no estado.
+        int find(byte[] src, int off, int len) {
+            int mask = slots.length - 1;
+            for (int s = hash(src, off, len) & mask; slots[s] != 0; s = (s + 1) & mask) {
+                int i = slots[s] - 1;
+                if (nameLength[i] == len && Arrays.equals(arena, nameStart[i], nameStart[i] + len, src, off, off + len)) {
+                    return nameId[i];
+                }
+            }
+            return -1;
+        }
+
+        // Função: add
+        // Descrição: Copia o nome para a arena e o registra com o id informado.
+        // Entrada: byte[] src, int off, int len (nome), int id (id do nó).
+        // Saída: Nenhuma.
+        // Pré-Condicao: O nome não pode estar na tabela.
+        // Pós-Condicao: find passa a retornar id para o nome.
+        void add(byte[] src, int off, int len, int id) {
+            if (arenaSize + len > arena.length) {
+                arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + len));
+            }
+            if (count == nameId.length) {
+                nameStart = Arrays.copyOf(nameStart, count * 2);
+                nameLength = Arrays.copyOf(nameLength, count * 2);
+                nameId = Arrays.copyOf(nameId, count * 2);
+            }
+            System.arraycopy(src, off, arena, arenaSize, len);
+            nameStart[count] = arenaSize;
+            nameLength[count] = len;
+            nameId[count] = id;
+            arenaSize += len;
+            count++;
+            if (count * 2 > slots.length) {
+                rehash();
+            } else {
+                insertSlot(count - 1);
+            }
+        }
+
+        // Dobra a tabela e reinsere todos os nomes
+        private void rehash() {
+            slots = new int[slots.length * 2];
+            for (int i = 0; i < count; i++) {
+                insertSlot(i);
+            }
+        }
+
+        // Coloca o nome i no primeiro slot livre a partir do seu hash
+        private void insertSlot(int i) {
+            int mask = slots.length - 1;
+            int s = hash(arena, nameStart[i], nameLength[i]) & mask;
+            while (slots[s] != 0) s = (s + 1) & mask;
+            slots[s] = i + 1;
+        }
+
+        // Hash FNV-1a sobre os bytes do nome
+        private static int hash(byte[] src, int off, int len) {
+            int h = 0x811c9dc5;
+            for (int i = off; i < off + len; i++) {
+                h = (h ^ src[i]) * 0x01000193;
+            }
+            return h ^ (h >>> 16);
+        }
+    }
+
+    public static final class Stats {
+        private long bytes;
+        private long facts;
+        private long edges;
+        private long skipped;
+        private long nanos;
+
+        // Função: getBytes
+        // Descrição: Retorna a quantidade de bytes lidos.
+        // Entrada: Nenhuma.
+        // Saída: long.
+        // Pré-Condicao: Nenhuma.
+        // Pós-Condicao: Nenhuma alteração no estado.
+        public long getBytes() {
+            return bytes;
+        }
+
+        // Função: getEdges
+        // Descrição: Retorna a quantidade de fatos pode_ir lidos.
+        // Entrada: Nenhuma.
+        // Saída: long.
+        // Pré-Condicao: Nenhuma.
+        // Pós-Condicao: Nenhuma alteração no estado.
+        public long getEdges() {
+            return edges;
+        }
+
+        // Função: getFacts
+        // Descrição: Retorna a quantidade total de fatos lidos.
+        // Entrada: Nenhuma.
+        // Saída: long.
+        // Pré-Condicao: Nenhuma.
+        // Pós-Condicao: Nenhuma alteração no estado.
+        public long getFacts() {
+            return facts;
+        }
+
+        // Função: getSkipped
+        // Descrição: Retorna a quantidade de linhas com fatos desconhecidos, ignoradas na leitura.
+        // Entrada: Nenhuma.
+        // Saída: long.
+        // Pré-Condicao: Nenhuma.
+        // Pós-Condicao: Nenhuma alteração no estado.
+        public long getSkipped() {
+            return skipped;
+        }
+
+        // Função: getNanos
+        // Descrição: Retorna o tempo gasto na leitura, em nanossegundos.
+        // Entrada: Nenhuma.
+        // Saída: long.
+        // Pré-Condicao: Nenhuma.
+        // Pós-Condicao: Nenhuma alteração no estado.
+        public long getNanos() {
+            return nanos;
+        }
+
+        // Função: mbPerSecond
+        // Descrição: Calcula a vazão de leitura em MB/s.
+        // Entrada: Nenhuma.
+        // Saída: double.
+        // Pré-Condicao: Nenhuma.
+        // Pós-Condicao: Nenhuma alteração no estado.
+        public double mbPerSecond() {
+            return nanos == 0 ? 0 : (bytes / 1e6) / (nanos / 1e9);
+        }
+
+        // Função: edgesPerSecond
+        // Descrição: Calcula a vazão de leitura em arestas por segundo.
+        // Entrada: Nenhuma.
+        // Saída: double.
+        // Pré-Condicao: Nenhuma.
+        // Pós-Condicao: Nenhuma alteração no estado.
+        public double edgesPerSecond() {
+            return nanos == 0 ? 0 : edges / (nanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d bytes, %d fatos, %d arestas, %d ignorados em %.1f ms (%.1f MB/s, %.0f arestas/s)",
+                    bytes, facts, edges, skipped, nanos / 1e6, mbPerSecond(), edgesPerSecond());
+        }
+    }
+
+    // Função: main
+    // Descrição: Lê o arquivo informado (ou arquivoEntradaMaior.txt) e imprime a vazão de leitura.
+    // Entrada: String[] args (args[0] opcional: nome do arquivo).
+    // Saída: Nenhuma (imprime as estatísticas no console).
+    // Pré-Condicao: O arquivo deve existir e estar no formato correto.
+    // Pós-Condicao: Nenhuma.
+    public static void main(String[] args) throws IOException {
+        String filename = args.length > 0 ? args[0] : "arquivoEntradaMaior.txt";
+        GraphBuilder builder = new GraphBuilder();
+        FactLoader loader = new FactLoader(builder);
+        Stats stats = loader.read(filename);
+        Graph graph = builder.build();
+        System.out.println("Leitura: " + stats);
+        System.out.println("Grafo: " + graph.nodeCount() + " nós, " + graph.edgeCount() + " arestas");
+    }
+}
@@ -0,0 +1,23 @@
+package Grafo;
+
+import java.util.function.IntConsumer;
+
+// Visão somente leitura da fila de uma busca, usada pelos ouvintes para listar seus nós
+public interface Frontier {
+
+    // Função: size
+    // Descrição: Retorna a quantidade de nós na fila.
+    // Entrada: Nenhuma.
+    // Saída: int.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    int size();
+
+    // Função: forEach
+    // Descrição: Percorre os nós da fila na sua ordem interna (não ordenada).
+    // Entrada: IntConsumer action (recebe o id de cada nó).
+    // Saída: Nenhuma.
+    // Pré-Condicao: A fila não pode ser alterada durante o percurso.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    void forEach(IntConsumer action);
+}
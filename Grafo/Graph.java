@@ -0,0 +1,350 @@
+package Grafo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class Graph {
+    // Os vetores ficam em IntBuffer: em memória (int[] embrulhado) ou mapeados de um snapshot binário
+    private final IntBuffer offsets; // arestas de v ficam em [offsets[v], offsets[v + 1])
+    private final IntBuffer targets; // destino de cada aresta
+    private final IntBuffer weights; // custo de cada aresta
+    private final IntBuffer wires; // fio consumido por aresta (null: igual ao custo)
+    private final IntBuffer heuristics; // valor h(...) de cada nó (0 se ausente)
+    private final String[] names; // nome de cada nó, decodificado sob demanda quando vem de um snapshot
+    private final IntBuffer nameOffsets; // início de cada nome em nameBytes (apenas snapshots)
+    private final ByteBuffer nameBytes; // nomes em UTF-8 (apenas snapshots)
+    private final int start;
+    private final int goal;
+    private final boolean directed;
+    private volatile Map<String, Integer> index; // nome -> id, montado no primeiro indexOf
+    private volatile Graph reverse; // grafo com as arestas invertidas, montado no primeiro reverse()
+
+    // Função: Graph (construtor)
+    // Descrição: Cria o grafo imutável em formato CSR a partir dos vetores já montados pelo GraphBuilder.
+    // Entrada: String[] names, int[] offsets, int[] targets, int[] weights, int[] wires (ou null), int[] heuristics, int start, int goal, boolean directed.
+    // Saída: Instância de Graph.
+    // Pré-Condicao: offsets deve ter names.length + 1 posições e ser não decrescente; targets, weights e wires devem ter o mesmo tamanho.
+    // Pós-Condicao: O grafo é criado sobre os vetores recebidos, sem cópia.
+    Graph(String[] names, int[] offsets, int[] targets, int[] weights, int[] wires, int[] heuristics, int start, int goal, boolean directed) {
+        this(names, null, null, IntBuffer.wrap(offsets), IntBuffer.wrap(targets), IntBuffer.wrap(weights),
+                wires != null ? IntBuffer.wrap(wires) : null, IntBuffer.wrap(heuristics), start, goal, directed);
+    }
+
+    // Função: Graph (construtor)
+    // Descrição: Cria o grafo sobre buffers já prontos (usado pelo GraphSnapshot com buffers mapeados, somente leitura).
+    // Entrada: String[] names (ou null), IntBuffer nameOffsets e ByteBuffer nameBytes (se names for null), buffers CSR (wires pode ser null), int start, int goal, boolean directed.
+    // Saída: Instância de Graph.
+    // Pré-Condicao: Os buffers devem seguir o mesmo layout do construtor com vetores.
+    // Pós-Condicao: O grafo é criado sem copiar os buffers.
+    Graph(String[] names, IntBuffer nameOffsets, ByteBuffer nameBytes, IntBuffer offsets, IntBuffer targets,
+          IntBuffer weights, IntBuffer wires, IntBuffer heuristics, int start, int goal, boolean directed) {
+        this.names = names != null ? names : new String[offsets.limit() - 1];
+        this.nameOffsets = nameOffsets;
+        this.nameBytes = nameBytes;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.wires = wires;
+        this.heuristics = heuristics;
+        this.start = start;
+        this.goal = goal;
+        this.directed = directed;
+    }
+
+    // Função: nodeCount
+    // Descrição: Retorna a quantidade de nós do grafo.
+    // Entrada: Nenhuma.
+    // Saída: int (quantidade de nós).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int nodeCount() {
+        return names.length;
+    }
+
+    // Função: edgeCount
+    // Descrição: Retorna a quantidade de arestas armazenadas (arestas reversas de grafos não orientados incluídas).
+    // Entrada: Nenhuma.
+    // Saída: int (quantidade de arestas).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int edgeCount() {
+        return targets.limit();
+    }
+
+    // Função: firstEdge
+    // Descrição: Retorna o índice da primeira aresta que sai do nó.
+    // Entrada: int node (id do nó).
+    // Saída: int (índice da primeira aresta).
+    // Pré-Condicao: 0 <= node < nodeCount().
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int firstEdge(int node) {
+        return offsets.get(node);
+    }
+
+    // Função: endEdge
+    // Descrição: Retorna o índice logo após a última aresta que sai do nó.
+    // Entrada: int node (id do nó).
+    // Saída: int (limite exclusivo das arestas do nó).
+    // Pré-Condicao: 0 <= node < nodeCount().
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int endEdge(int node) {
+        return offsets.get(node + 1);
+    }
+
+    // Função: target
+    // Descrição: Retorna o nó de destino da aresta.
+    // Entrada: int edge (índice da aresta).
+    // Saída: int (id do nó de destino).
+    // Pré-Condicao: 0 <= edge < edgeCount().
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int target(int edge) {
+        return targets.get(edge);
+    }
+
+    // Função: weight
+    // Descrição: Retorna o custo da aresta.
+    // Entrada: int edge (índice da aresta).
+    // Saída: int (custo da aresta).
+    // Pré-Condicao: 0 <= edge < edgeCount().
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int weight(int edge) {
+        return weights.get(edge);
+    }
+
+    // Função: wire
+    // Descrição: Retorna o comprimento de fio consumido pela aresta (4º argumento de pode_ir; igual ao custo quando omitido).
+    // Entrada: int edge (índice da aresta).
+    // Saída: int (fio consumido).
+    // Pré-Condicao: 0 <= edge < edgeCount().
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int wire(int edge) {
+        return wires != null ? wires.get(edge) : weights.get(edge);
+    }
+
+    // Função: hasWires
+    // Descrição: Indica se o arquivo informou o fio das arestas separado do custo.
+    // Entrada: Nenhuma.
+    // Saída: boolean.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public boolean hasWires() {
+        return wires != null;
+    }
+
+    // Função: heuristic
+    // Descrição: Retorna o valor heurístico h(...) informado para o nó.
+    // Entrada: int node (id do nó).
+    // Saída: int (valor heurístico, 0 se não informado).
+    // Pré-Condicao: 0 <= node < nodeCount().
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int heuristic(int node) {
+        return heuristics.get(node);
+    }
+
+    // Função: name
+    // Descrição: Retorna o nome original do nó.
+    // Entrada: int node (id do nó).
+    // Saída: String (nome do nó).
+    // Pré-Condicao: 0 <= node < nodeCount().
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public String name(int node) {
+        String name = names[node];
+        if (name == null) {
+            int from = nameOffsets.get(node);
+            int length = nameOffsets.get(node + 1) - from;
+            byte[] bytes = new byte[length];
+            nameBytes.get(from, bytes);
+            name = new String(bytes, StandardCharsets.UTF_8);
+            names[node] = name; // corrida benigna: todas as threads decodificam o mesmo valor
+        }
+        return name;
+    }
+
+    // Função: indexOf
+    // Descrição: Converte o nome de um nó para o seu id denso; o índice é montado na primeira chamada.
+    // Entrada: String name (nome do nó).
+    // Saída: int (id do nó, ou -1 se não existir).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int indexOf(String name) {
+        Map<String, Integer> index = this.index;
+        if (index == null) {
+            index = new HashMap<>();
+            for (int i = 0; i < names.length; i++) {
+                index.put(name(i), i);
+            }
+            this.index = index;
+        }
+        Integer id = index.get(name);
+        return id == null ? -1 : id;
+    }
+
+    // Função: getStart
+    // Descrição: Retorna o id do ponto_inicial lido do arquivo.
+    // Entrada: Nenhuma.
+    // Saída: int (id do nó inicial, ou -1 se não informado).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int getStart() {
+        return start;
+    }
+
+    // Função: getGoal
+    // Descrição: Retorna o id do ponto_final lido do arquivo.
+    // Entrada: Nenhuma.
+    // Saída: int (id do nó final, ou -1 se não informado).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int getGoal() {
+        return goal;
+    }
+
+    // Função: isDirected
+    // Descrição: Indica se o grafo foi lido como orientado.
+    // Entrada: Nenhuma.
+    // Saída: boolean (true se orientado).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public boolean isDirected() {
+        return directed;
+    }
+
+    // Função: copyEdges
+    // Descrição: Copia em bloco as arestas [first, end) para os vetores do chamador; sem fio separado, o fio copiado é o custo.
+    // Entrada: int first, int end (intervalo de arestas), int[] targets, int[] weights, int[] wires (ou null para não copiar o fio), int at (posição de destino).
+    // Saída: Nenhuma.
+    // Pré-Condicao: Os vetores devem ter espaço para end - first arestas a partir de at.
+    // Pós-Condicao: Nenhuma alteração no grafo.
+    void copyEdges(int first, int end, int[] targets, int[] weights, int[] wires, int at) {
+        int length = end - first;
+        this.targets.get(first, targets, at, length);
+        this.weights.get(first, weights, at, length);
+        if (wires != null) {
+            (this.wires != null ? this.wires : this.weights).get(first, wires, at, length);
+        }
+    }
+
+    // Função: edgeChecksum
+    // Descrição: Resumo (FNV-1a de 64 bits) dos offsets, destinos e custos, gravado junto dos pré-processamentos (.ch, .alt) para recusar arquivos de outro grafo com o mesmo tamanho.
+    // Entrada: Nenhuma.
+    // Saída: long (resumo das arestas).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Percorre todas as arestas a cada chamada; nomes, fatos h e fios não entram no resumo.
+    long edgeChecksum() {
+        long hash = 0xCBF29CE484222325L;
+        for (int v = 0; v <= nodeCount(); v++) hash = (hash ^ offsets.get(v)) * 0x100000001B3L;
+        for (int e = 0; e < edgeCount(); e++) hash = (hash ^ targets.get(e)) * 0x100000001B3L;
+        for (int e = 0; e < edgeCount(); e++) hash = (hash ^ weights.get(e)) * 0x100000001B3L;
+        return hash;
+    }
+
+    // Função: withEdges
+    // Descrição: Cria uma nova versão do grafo com outras arestas e os mesmos nós, nomes, fatos h, origem e destino (usado pelo DynamicGraph).
+    // Entrada: int[] offsets, int[] targets, int[] weights, int[] wires (ou null).
+    // Saída: Graph (nova versão; o grafo reverso é montado de novo sob demanda).
+    // Pré-Condicao: Mesmo layout do construtor com vetores, com nodeCount() + 1 posições em offsets.
+    // Pós-Condicao: Este grafo não é alterado; o índice de nomes é compartilhado.
+    Graph withEdges(int[] offsets, int[] targets, int[] weights, int[] wires) {
+        return withEdges(IntBuffer.wrap(offsets), IntBuffer.wrap(targets), IntBuffer.wrap(weights),
+                wires != null ? IntBuffer.wrap(wires) : null);
+    }
+
+    // Função: withEdges
+    // Descrição: Mesmo que withEdges com vetores, sobre buffers já prontos (ex.: mapeados de um arquivo da hierarquia de contração).
+    // Entrada: IntBuffer offsets, IntBuffer targets, IntBuffer weights, IntBuffer wires (ou null).
+    // Saída: Graph.
+    // Pré-Condicao: Mesmo layout do construtor com buffers, com nodeCount() + 1 posições em offsets.
+    // Pós-Condicao: Este grafo não é alterado; o índice de nomes é compartilhado.
+    Graph withEdges(IntBuffer offsets, IntBuffer targets, IntBuffer weights, IntBuffer wires) {
+        Graph result = new Graph(names, nameOffsets, nameBytes, offsets, targets, weights, wires, heuristics, start, goal,
+                directed);
+        result.index = index;
+        return result;
+    }
+
+    // Função: reverse
+    // Descrição: Retorna o grafo com todas as arestas invertidas (mesmos ids e nomes), montado uma única vez e guardado.
+    // Entrada: Nenhuma.
+    // Saída: Graph (grafo reverso; o próprio grafo se não for orientado).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Chamadas seguintes retornam a mesma instância.
+    public Graph reverse() {
+        if (!directed) {
+            return this;
+        }
+        Graph result = reverse;
+        if (result == null) {
+            synchronized (this) {
+                result = reverse;
+                if (result == null) {
+                    result = buildReverse();
+                    reverse = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    // Função: buildReverse
+    // Descrição: Monta o CSR reverso com uma ordenação por contagem sobre os destinos das arestas.
+    // Entrada: Nenhuma.
+    // Saída: Graph (grafo reverso, cujo reverse() aponta de volta para este grafo).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração neste grafo.
+    private Graph buildReverse() {
+        int n = nodeCount();
+        int m = edgeCount();
+        int[] reverseOffsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            reverseOffsets[targets.get(e) + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            reverseOffsets[v + 1] += reverseOffsets[v];
+        }
+        int[] reverseTargets = new int[m];
+        int[] reverseWeights = new int[m];
+        int[] reverseWires = wires != null ? new int[m] : null;
+        int[] next = Arrays.copyOf(reverseOffsets, n);
+        for (int v = 0; v < n; v++) {
+            for (int e = offsets.get(v), end = offsets.get(v + 1); e < end; e++) {
+                int pos = next[targets.get(e)]++;
+                reverseTargets[pos] = v;
+                reverseWeights[pos] = weights.get(e);
+                if (reverseWires != null) reverseWires[pos] = wires.get(e);
+            }
+        }
+        Graph result = new Graph(names, nameOffsets, nameBytes, IntBuffer.wrap(reverseOffsets),
+                IntBuffer.wrap(reverseTargets), IntBuffer.wrap(reverseWeights),
+                reverseWires != null ? IntBuffer.wrap(reverseWires) : null, heuristics, goal, start, true);
+        result.reverse = this;
+        return result;
+    }
+
+    // Função: abrir
+    // Descrição: Abre um grafo a partir de um snapshot binário (mapeado, sem leitura do texto) ou, se não for snapshot, de um arquivo de fatos.
+    // Entrada: String filename (nome do arquivo).
+    // Saída: Graph (grafo imutável).
+    // Pré-Condicao: O arquivo deve existir e ser um snapshot gerado por GraphSnapshot ou um arquivo de fatos válido.
+    // Pós-Condicao: Retorna o grafo pronto para as buscas.
+    public static Graph abrir(String filename) throws IOException {
+        if (GraphSnapshot.isSnapshot(filename)) {
+            return GraphSnapshot.open(filename);
+        }
+        return lerArquivo(filename);
+    }
+
+    // Função: lerArquivo
+    // Descrição: Lê um arquivo com os fatos ponto_inicial, ponto_final, orientado, pode_ir e h e monta o grafo CSR (via FactLoader).
+    // Entrada: String filename (nome do arquivo).
+    // Saída: Graph (grafo imutável).
+    // Pré-Condicao: O arquivo deve existir e estar no formato esperado.
+    // Pós-Condicao: Retorna o grafo pronto para as buscas.
+    public static Graph lerArquivo(String filename) throws IOException {
+        return FactLoader.load(filename);
+    }
+}
@@ -0,0 +1,171 @@
+package Grafo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class GraphBuilder {
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private int[] heuristics = new int[16];
+    private int[] edgeFrom = new int[16];
+    private int[] edgeTo = new int[16];
+    private int[] edgeCost = new int[16];
+    private int[] edgeWire = new int[16];
+    private boolean hasWires; // algum pode_ir informou o consumo de fio separado do custo
+    private int edgeCount;
+    private int start = -1;
+    private int goal = -1;
+    private boolean directed = true; // Default s (orientado)
+
+    // Função: intern
+    // Descrição: Converte o nome de um nó em um id denso, criando o nó na primeira vez que o nome aparece.
+    // Entrada: String name (nome do nó).
+    // Saída: int (id do nó).
+    // Pré-Condicao: O nome deve ser uma string válida.
+    // Pós-Condicao: O nó passa a existir no grafo em construção.
+    public int intern(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        int newId = names.size();
+        ids.put(name, newId);
+        names.add(name);
+        if (newId == heuristics.length) {
+            heuristics = Arrays.copyOf(heuristics, newId * 2);
+        }
+        return newId;
+    }
+
+    // Função: nodeCount
+    // Descrição: Retorna quantos nós já foram criados.
+    // Entrada: Nenhuma.
+    // Saída: int (quantidade de nós).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int nodeCount() {
+        return names.size();
+    }
+
+    // Função: addEdge
+    // Descrição: Registra uma aresta pode_ir(from, to, cost).
+    // Entrada: int from (id de origem), int to (id de destino), int cost (custo da aresta).
+    // Saída: Nenhuma.
+    // Pré-Condicao: from e to devem ter sido obtidos por intern.
+    // Pós-Condicao: A aresta é acrescentada na ordem de leitura.
+    public void addEdge(int from, int to, int cost) {
+        append(from, to, cost, cost);
+    }
+
+    // Função: addEdge
+    // Descrição: Registra uma aresta pode_ir(from, to, cost, wire), em que o fio consumido é diferente do custo.
+    // Entrada: int from, int to, int cost (custo da aresta), int wire (comprimento de fio consumido).
+    // Saída: Nenhuma.
+    // Pré-Condicao: from e to devem ter sido obtidos por intern.
+    // Pós-Condicao: O grafo construído passa a guardar o fio de cada aresta (as de 3 argumentos consomem fio igual ao custo).
+    public void addEdge(int from, int to, int cost, int wire) {
+        hasWires = true;
+        append(from, to, cost, wire);
+    }
+
+    // Acrescenta a aresta nos vetores de leitura, dobrando a capacidade quando necessário
+    private void append(int from, int to, int cost, int wire) {
+        if (edgeCount == edgeFrom.length) {
+            int capacity = edgeCount * 2;
+            edgeFrom = Arrays.copyOf(edgeFrom, capacity);
+            edgeTo = Arrays.copyOf(edgeTo, capacity);
+            edgeCost = Arrays.copyOf(edgeCost, capacity);
+            edgeWire = Arrays.copyOf(edgeWire, capacity);
+        }
+        edgeFrom[edgeCount] = from;
+        edgeTo[edgeCount] = to;
+        edgeCost[edgeCount] = cost;
+        edgeWire[edgeCount] = wire;
+        edgeCount++;
+    }
+
+    // Função: setHeuristic
+    // Descrição: Define o valor h(...) de um nó.
+    // Entrada: int node (id do nó), int value (valor heurístico).
+    // Saída: Nenhuma.
+    // Pré-Condicao: node deve ter sido obtido por intern.
+    // Pós-Condicao: O valor heurístico do nó é atualizado.
+    public void setHeuristic(int node, int value) {
+        heuristics[node] = value;
+    }
+
+    // Função: setStart
+    // Descrição: Define o ponto_inicial.
+    // Entrada: int node (id do nó).
+    // Saída: Nenhuma.
+    // Pré-Condicao: node deve ter sido obtido por intern.
+    // Pós-Condicao: O nó inicial é atualizado.
+    public void setStart(int node) {
+        this.start = node;
+    }
+
+    // Função: setGoal
+    // Descrição: Define o ponto_final.
+    // Entrada: int node (id do nó).
+    // Saída: Nenhuma.
+    // Pré-Condicao: node deve ter sido obtido por intern.
+    // Pós-Condicao: O nó final é atualizado.
+    public void setGoal(int node) {
+        this.goal = node;
+    }
+
+    // Função: setDirected
+    // Descrição: Define se o grafo é orientado (orientado(s)) ou não (orientado(n)).
+    // Entrada: boolean directed.
+    // Saída: Nenhuma.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Na construção, grafos não orientados recebem a aresta reversa de cada pode_ir.
+    public void setDirected(boolean directed) {
+        this.directed = directed;
+    }
+
+    // Função: build
+    // Descrição: Monta o grafo CSR com uma ordenação por contagem estável, preservando a ordem de leitura das arestas de cada nó.
+    // Entrada: Nenhuma.
+    // Saída: Graph (grafo imutável).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: O builder pode continuar sendo usado; o grafo retornado não é afetado.
+    public Graph build() {
+        int n = names.size();
+        int m = directed ? edgeCount : edgeCount * 2;
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < edgeCount; i++) {
+            offsets[edgeFrom[i] + 1]++;
+            if (!directed) {
+                offsets[edgeTo[i] + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        int[] wires = hasWires ? new int[m] : null;
+        int[] next = Arrays.copyOf(offsets, n);
+        for (int i = 0; i < edgeCount; i++) {
+            int pos = next[edgeFrom[i]]++;
+            targets[pos] = edgeTo[i];
+            weights[pos] = edgeCost[i];
+            if (wires != null) wires[pos] = edgeWire[i];
+            if (!directed) {
+                // Mesma ordem do parser antigo: a reversa entra logo após a aresta lida
+                pos = next[edgeTo[i]]++;
+                targets[pos] = edgeFrom[i];
+                weights[pos] = edgeCost[i];
+                if (wires != null) wires[pos] = edgeWire[i];
+            }
+        }
+
+        return new Graph(names.toArray(new String[0]), offsets, targets, weights, wires,
+                Arrays.copyOf(heuristics, n), start, goal, directed);
+    }
+}
@@ -0,0 +1,262 @@
+package Grafo;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+// Gera arquivos de fatos (pode_ir/h) sintéticos e reprodutíveis pela semente, para testes de carga e benchmarks:
+//   grid      - grade como a de arquivoEntradaMaior.txt (abaixo, direita e as duas diagonais de baixo), custos 1..20
+//   rgg       - grafo geométrico aleatório no quadrado unitário, custo = distância euclidiana escalada (h consistente)
+//   scalefree - Barabási–Albert (ligação preferencial), arestas nos dois sentidos, custos 1..20, sem fatos h
+public final class GraphGenerator {
+    private static final int MAX_COST = 20;
+    private static final int RGG_DEGREE = 8; // grau médio (arestas de saída) do grafo geométrico
+    private static final int BA_LINKS = 4; // ligações de cada nó novo no Barabási–Albert
+
+    private GraphGenerator() {
+    }
+
+    // Função: generate
+    // Descrição: Gera o arquivo de fatos do modelo pedido com aproximadamente a quantidade de arestas informada.
+    // Entrada: String model (grid, rgg ou scalefree), long edges (arestas desejadas), long seed (semente), Path output (arquivo gerado).
+    // Saída: long (quantidade de arestas escritas).
+    // Pré-Condicao: edges >= 16.
+    // Pós-Condicao: output contém ponto_inicial, ponto_final, orientado(s), os pode_ir e os h; a mesma semente gera o mesmo arquivo.
+    public static long generate(String model, long edges, long seed, Path output) throws IOException {
+        switch (model) {
+            case "grid":
+                return grid(edges, seed, output);
+            case "rgg":
+                return randomGeometric(edges, seed, output);
+            case "scalefree":
+                return scaleFree(edges, seed, output);
+            default:
+                throw new IllegalArgumentException("Modelo desconhecido: " + model + " (use grid, rgg ou scalefree)");
+        }
+    }
+
+    // Função: grid
+    // Descrição: Grade quase quadrada em que cada nó liga para baixo, para a direita e para as duas diagonais de baixo, do canto superior esquerdo ao inferior direito.
+    // Entrada: long edges (arestas desejadas, cerca de 4 por nó), long seed, Path output.
+    // Saída: long (arestas escritas).
+    // Pré-Condicao: edges >= 16.
+    // Pós-Condicao: h(v) = max(linhas, colunas) até o destino, consistente porque todo custo é >= 1.
+    public static long grid(long edges, long seed, Path output) throws IOException {
+        int cols = (int) Math.max(2, Math.sqrt(edges / 4.0));
+        int rows = (int) Math.max(2, (edges / 4 + cols - 1) / cols);
+        int n = rows * cols;
+        Random random = new Random(seed);
+        long written = 0;
+        try (FactWriter out = new FactWriter(output)) {
+            out.header(0, n - 1);
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    int v = r * cols + c;
+                    if (r + 1 < rows) {
+                        out.edge(v, v + cols, 1 + random.nextInt(MAX_COST));
+                        written++;
+                        if (c + 1 < cols) {
+                            out.edge(v, v + cols + 1, 1 + random.nextInt(MAX_COST));
+                            written++;
+                        }
+                        if (c > 0) {
+                            out.edge(v, v + cols - 1, 1 + random.nextInt(MAX_COST));
+                            written++;
+                        }
+                    }
+                    if (c + 1 < cols) {
+                        out.edge(v, v + 1, 1 + random.nextInt(MAX_COST));
+                        written++;
+                    }
+                }
+            }
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    out.heuristic(r * cols + c, n - 1, Math.max(rows - 1 - r, cols - 1 - c));
+                }
+            }
+        }
+        return written;
+    }
+
+    // Função: randomGeometric
+    // Descrição: Sorteia pontos no quadrado unitário e liga, nos dois sentidos, os pares mais próximos que o raio escolhido para o grau médio desejado; a origem é o ponto mais perto de (0, 0) e o destino o mais perto de (1, 1).
+    // Entrada: long edges (arestas desejadas, cerca de 8 por nó), long seed, Path output.
+    // Saída: long (arestas escritas).
+    // Pré-Condicao: edges >= 16.
+    // Pós-Condicao: custo = teto(distância * escala) e h = piso(distância até o destino * escala), então h é consistente.
+    public static long randomGeometric(long edges, long seed, Path output) throws IOException {
+        int n = (int) Math.max(2, edges / RGG_DEGREE);
+        double radius = Math.sqrt(RGG_DEGREE / (Math.PI * n));
+        double scale = Math.sqrt(n) * 10; // custos na mesma faixa (~1..20) das arestas da grade
+        Random random = new Random(seed);
+        double[] x = new double[n];
+        double[] y = new double[n];
+        int start = 0;
+        int goal = 0;
+        for (int v = 0; v < n; v++) {
+            x[v] = random.nextDouble();
+            y[v] = random.nextDouble();
+            if (x[v] + y[v] < x[start] + y[start]) start = v;
+            if (x[v] + y[v] > x[goal] + y[goal]) goal = v;
+        }
+
+        // Células de lado >= raio: os vizinhos de um ponto estão na sua célula ou nas 8 ao redor
+        int cells = Math.max(1, (int) (1 / radius));
+        int[] cellStart = new int[cells * cells + 1];
+        for (int v = 0; v < n; v++) cellStart[cell(x[v], y[v], cells) + 1]++;
+        for (int i = 0; i < cells * cells; i++) cellStart[i + 1] += cellStart[i];
+        int[] next = new int[cells * cells];
+        System.arraycopy(cellStart, 0, next, 0, next.length);
+        int[] byCell = new int[n];
+        for (int v = 0; v < n; v++) byCell[next[cell(x[v], y[v], cells)]++] = v;
+
+        long written = 0;
+        double radius2 = radius * radius;
+        try (FactWriter out = new FactWriter(output)) {
+            out.header(start, goal);
+            for (int u = 0; u < n; u++) {
+                int cx = Math.min(cells - 1, (int) (x[u] * cells));
+                int cy = Math.min(cells - 1, (int) (y[u] * cells));
+                for (int gx = Math.max(0, cx - 1); gx <= Math.min(cells - 1, cx + 1); gx++) {
+                    for (int gy = Math.max(0, cy - 1); gy <= Math.min(cells - 1, cy + 1); gy++) {
+                        int c = gy * cells + gx;
+                        for (int i = cellStart[c]; i < cellStart[c + 1]; i++) {
+                            int v = byCell[i];
+                            double dx = x[u] - x[v];
+                            double dy = y[u] - y[v];
+                            double d2 = dx * dx + dy * dy;
+                            if (v != u && d2 <= radius2) {
+                                out.edge(u, v, Math.max(1, (int) Math.ceil(Math.sqrt(d2) * scale)));
+                                written++;
+                            }
+                        }
+                    }
+                }
+            }
+            for (int v = 0; v < n; v++) {
+                double dx = x[v] - x[goal];
+                double dy = y[v] - y[goal];
+                out.heuristic(v, goal, (int) (Math.sqrt(dx * dx + dy * dy) * scale));
+            }
+        }
+        return written;
+    }
+
+    // Função: scaleFree
+    // Descrição: Modelo Barabási–Albert: cada nó novo liga a BA_LINKS nós já existentes, escolhidos com probabilidade proporcional ao grau; arestas nos dois sentidos, da origem n0 ao último nó criado.
+    // Entrada: long edges (arestas desejadas, cerca de 8 por nó), long seed, Path output.
+    // Saída: long (arestas escritas).
+    // Pré-Condicao: edges >= 16.
+    // Pós-Condicao: Sem fatos h (heurística 0, o A* se comporta como Dijkstra).
+    public static long scaleFree(long edges, long seed, Path output) throws IOException {
+        int n = (int) Math.max(BA_LINKS + 2, edges / (2 * BA_LINKS));
+        Random random = new Random(seed);
+        // Cada aresta entra duas vezes na lista de pontas, então sortear uma posição é sortear proporcional ao grau
+        int[] endpoints = new int[2 * BA_LINKS * n];
+        int size = 0;
+        int[] chosen = new int[BA_LINKS];
+        long written = 0;
+        try (FactWriter out = new FactWriter(output)) {
+            out.header(0, n - 1);
+            // Núcleo inicial: clique com BA_LINKS + 1 nós
+            for (int u = 0; u <= BA_LINKS; u++) {
+                for (int v = u + 1; v <= BA_LINKS; v++) {
+                    int cost = 1 + random.nextInt(MAX_COST);
+                    out.edge(u, v, cost);
+                    out.edge(v, u, cost);
+                    written += 2;
+                    endpoints[size++] = u;
+                    endpoints[size++] = v;
+                }
+            }
+            for (int v = BA_LINKS + 1; v < n; v++) {
+                for (int k = 0; k < BA_LINKS; k++) {
+                    int u;
+                    do {
+                        u = endpoints[random.nextInt(size)];
+                    } while (contains(chosen, k, u));
+                    chosen[k] = u;
+                }
+                for (int k = 0; k < BA_LINKS; k++) {
+                    int cost = 1 + random.nextInt(MAX_COST);
+                    out.edge(v, chosen[k], cost);
+                    out.edge(chosen[k], v, cost);
+                    written += 2;
+                    endpoints[size++] = v;
+                    endpoints[size++] = chosen[k];
+                }
+            }
+        }
+        return written;
+    }
+
+    // Célula do ponto na divisão do quadrado unitário em cells x cells
+    private static int cell(double x, double y, int cells) {
+        return Math.min(cells - 1, (int) (y * cells)) * cells + Math.min(cells - 1, (int) (x * cells));
+    }
+
+    // Indica se value está entre os length primeiros elementos de values
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) return true;
+        }
+        return false;
+    }
+
+    // Escrita bufferizada dos fatos, montando cada linha sem formatação de String
+    private static final class FactWriter implements AutoCloseable {
+        private final Writer out;
+        private final StringBuilder line = new StringBuilder(64);
+
+        FactWriter(Path output) throws IOException {
+            out = new BufferedWriter(Files.newBufferedWriter(output, StandardCharsets.UTF_8), 1 << 20);
+        }
+
+        void header(int start, int goal) throws IOException {
+            out.write("ponto_inicial(n" + start + ").\n");
+            out.write("ponto_final(n" + goal + ").\n");
+            out.write("orientado(s).\n");
+        }
+
+        void edge(int from, int to, int cost) throws IOException {
+            line.setLength(0);
+            line.append("pode_ir(n").append(from).append(",n").append(to).append(',').append(cost).append(").\n");
+            out.append(line);
+        }
+
+        void heuristic(int node, int goal, int value) throws IOException {
+            line.setLength(0);
+            line.append("h(n").append(node).append(",n").append(goal).append(',').append(value).append(").\n");
+            out.append(line);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    // Função: main
+    // Descrição: Gera um arquivo de fatos sintético pela linha de comando.
+    // Entrada: String[] args (args[0]: grid, rgg ou scalefree; args[1]: arestas, ex. 1000000 ou 1e6; args[2]: arquivo de saída; args[3] opcional: semente, padrão 42).
+    // Saída: Nenhuma (imprime o tamanho gerado e o tempo).
+    // Pré-Condicao: O diretório de saída deve existir.
+    // Pós-Condicao: O arquivo é criado (ou sobrescrito).
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.out.println("Uso: java Grafo.GraphGenerator grid|rgg|scalefree arestas saida [semente]");
+            return;
+        }
+        long edges = (long) Double.parseDouble(args[1]);
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+        long begin = System.nanoTime();
+        long written = generate(args[0], edges, seed, Paths.get(args[2]));
+        System.out.printf("%s: %d arestas em %s (%.1f s)%n", args[0], written, args[2], (System.nanoTime() - begin) / 1e9);
+    }
+}
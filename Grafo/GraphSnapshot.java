@@ -0,0 +1,208 @@
+package Grafo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Formato do snapshot (little-endian, todas as seções alinhadas em 4 bytes):
+//   cabeçalho: MAGIC, VERSION, flags (bit 0 = orientado, bit 1 = fio por aresta), nós, arestas, ponto_inicial, ponto_final, bytes de nomes
+//   offsets[nós + 1], targets[arestas], weights[arestas], wires[arestas] (só com o bit 1), heuristics[nós], nameOffsets[nós + 1], nomes em UTF-8
+// A versão 2 acrescentou o bit 1 e a seção wires; snapshots da versão 1 continuam sendo abertos.
+public final class GraphSnapshot {
+    static final int MAGIC = 0x42465247; // "GRFB" em little-endian
+    static final int VERSION = 2;
+    private static final int HEADER_INTS = 8;
+    private static final int FLAG_DIRECTED = 1;
+    private static final int FLAG_WIRES = 2;
+
+    private GraphSnapshot() {
+    }
+
+    // Função: write
+    // Descrição: Grava o grafo já lido em um snapshot binário versionado (etapa de "compilação" do arquivo de fatos).
+    // Entrada: Graph graph (grafo a gravar), String filename (arquivo de saída).
+    // Saída: Nenhuma.
+    // Pré-Condicao: O grafo deve estar completo.
+    // Pós-Condicao: O arquivo é criado (ou sobrescrito) e pode ser aberto com open.
+    public static void write(Graph graph, String filename) throws IOException {
+        int n = graph.nodeCount();
+        int m = graph.edgeCount();
+        byte[][] encoded = new byte[n][];
+        int nameBytes = 0;
+        for (int v = 0; v < n; v++) {
+            encoded[v] = graph.name(v).getBytes(StandardCharsets.UTF_8);
+            nameBytes += encoded[v].length;
+        }
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            IntWriter out = new IntWriter(channel);
+            out.put(MAGIC);
+            out.put(VERSION);
+            out.put((graph.isDirected() ? FLAG_DIRECTED : 0) | (graph.hasWires() ? FLAG_WIRES : 0));
+            out.put(n);
+            out.put(m);
+            out.put(graph.getStart());
+            out.put(graph.getGoal());
+            out.put(nameBytes);
+
+            for (int v = 0; v < n; v++) out.put(graph.firstEdge(v));
+            out.put(m);
+            for (int e = 0; e < m; e++) out.put(graph.target(e));
+            for (int e = 0; e < m; e++) out.put(graph.weight(e));
+            if (graph.hasWires()) {
+                for (int e = 0; e < m; e++) out.put(graph.wire(e));
+            }
+            for (int v = 0; v < n; v++) out.put(graph.heuristic(v));
+            int nameOffset = 0;
+            for (int v = 0; v < n; v++) {
+                out.put(nameOffset);
+                nameOffset += encoded[v].length;
+            }
+            out.put(nameOffset);
+            for (byte[] name : encoded) out.put(name);
+            out.flush();
+        }
+    }
+
+    // Função: open
+    // Descrição: Abre um snapshot mapeando suas seções em memória somente leitura; nada é copiado para o heap, e vários processos compartilham as mesmas páginas do cache do sistema.
+    // Entrada: String filename (arquivo do snapshot).
+    // Saída: Graph (grafo imutável apoiado nos buffers mapeados).
+    // Pré-Condicao: O arquivo deve ter sido gerado por write (versão 1 ou 2); cada seção deve ter menos de 2 GiB.
+    // Pós-Condicao: O arquivo pode ser fechado; o mapeamento continua válido enquanto o grafo for usado.
+    public static Graph open(String filename) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            IntBuffer header = map(channel, 0, HEADER_INTS * 4L).asIntBuffer();
+            if (header.get(0) != MAGIC) {
+                throw new IOException("Arquivo não é um snapshot de grafo: " + filename);
+            }
+            if (header.get(1) < 1 || header.get(1) > VERSION) {
+                throw new IOException("Versão de snapshot não suportada: " + header.get(1));
+            }
+            boolean directed = (header.get(2) & FLAG_DIRECTED) != 0;
+            int n = header.get(3);
+            int m = header.get(4);
+            int start = header.get(5);
+            int goal = header.get(6);
+            int nameBytes = header.get(7);
+
+            long position = HEADER_INTS * 4L;
+            IntBuffer offsets = map(channel, position, (n + 1) * 4L).asIntBuffer();
+            position += (n + 1) * 4L;
+            IntBuffer targets = map(channel, position, m * 4L).asIntBuffer();
+            position += m * 4L;
+            IntBuffer weights = map(channel, position, m * 4L).asIntBuffer();
+            position += m * 4L;
+            IntBuffer wires = null;
+            if ((header.get(2) & FLAG_WIRES) != 0) {
+                wires = map(channel, position, m * 4L).asIntBuffer();
+                position += m * 4L;
+            }
+            IntBuffer heuristics = map(channel, position, n * 4L).asIntBuffer();
+            position += n * 4L;
+            IntBuffer nameOffsets = map(channel, position, (n + 1) * 4L).asIntBuffer();
+            position += (n + 1) * 4L;
+            ByteBuffer names = map(channel, position, nameBytes);
+            if (position + nameBytes != channel.size()) {
+                throw new IOException("Snapshot truncado ou corrompido: " + filename);
+            }
+
+            return new Graph(null, nameOffsets, names, offsets, targets, weights, wires, heuristics, start, goal, directed);
+        }
+    }
+
+    // Função: isSnapshot
+    // Descrição: Verifica se o arquivo começa com o número mágico do snapshot.
+    // Entrada: String filename (nome do arquivo).
+    // Saída: boolean (true se for um snapshot).
+    // Pré-Condicao: O arquivo deve existir.
+    // Pós-Condicao: Nenhuma alteração no arquivo.
+    public static boolean isSnapshot(String filename) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            while (head.hasRemaining() && channel.read(head) >= 0) {
+                // lê até 4 bytes
+            }
+            return !head.hasRemaining() && head.getInt(0) == MAGIC;
+        }
+    }
+
+    // Mapeia uma seção do arquivo como somente leitura, em little-endian
+    static ByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // Escrita bufferizada de ints e bytes no canal
+    static final class IntWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+
+        IntWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void put(int value) throws IOException {
+            if (buffer.remaining() < 4) drain();
+            buffer.putInt(value);
+        }
+
+        void put(byte[] bytes) throws IOException {
+            for (int i = 0; i < bytes.length; ) {
+                if (!buffer.hasRemaining()) drain();
+                int length = Math.min(buffer.remaining(), bytes.length - i);
+                buffer.put(bytes, i, length);
+                i += length;
+            }
+        }
+
+        void flush() throws IOException {
+            drain();
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+    }
+
+    // Função: main
+    // Descrição: Compila um arquivo de fatos para snapshot binário e mede o tempo de abertura das duas formas.
+    // Entrada: String[] args (args[0]: arquivo de fatos, args[1]: snapshot de saída; --ordem=bfs|rcm|hilbert renumera os nós antes de gravar, veja NodeOrdering).
+    // Saída: Nenhuma (imprime os tempos no console).
+    // Pré-Condicao: O arquivo de fatos deve existir e estar no formato correto.
+    // Pós-Condicao: O snapshot é gravado em args[1].
+    public static void main(String[] args) throws IOException {
+        List<String> files = new ArrayList<>();
+        String ordering = "nenhuma";
+        for (String arg : args) {
+            if (arg.startsWith("--ordem=")) ordering = arg.substring(8);
+            else files.add(arg);
+        }
+        String input = files.size() > 0 ? files.get(0) : "arquivoEntradaMaior.txt";
+        String output = files.size() > 1 ? files.get(1) : input.replaceFirst("\\.txt$", "") + ".grafo";
+
+        long begin = System.nanoTime();
+        Graph graph = NodeOrdering.reorder(Graph.lerArquivo(input), ordering);
+        long parsed = System.nanoTime();
+        write(graph, output);
+        long written = System.nanoTime();
+        Graph mapped = open(output);
+        long opened = System.nanoTime();
+
+        System.out.printf("Leitura do texto (ordem %s): %.1f ms%n", ordering, (parsed - begin) / 1e6);
+        System.out.printf("Gravação do snapshot: %.1f ms (%d bytes)%n", (written - parsed) / 1e6, Files.size(Path.of(output)));
+        System.out.printf("Abertura do snapshot: %.1f ms (%d nós, %d arestas)%n", (opened - written) / 1e6,
+                mapped.nodeCount(), mapped.edgeCount());
+    }
+}
@@ -0,0 +1,112 @@
+package Grafo;
+
+import java.util.Arrays;
+
+// Lote de alterações de arestas aplicado de uma vez por DynamicGraph.apply; as operações valem na ordem em que foram
+// adicionadas. Em grafos não orientados cada operação vale para os dois sentidos.
+public final class GraphUpdate {
+    static final int ADD = 0;
+    static final int REMOVE = 1;
+    static final int REWEIGHT = 2;
+
+    private int[] kind = new int[8];
+    private int[] from = new int[8];
+    private int[] to = new int[8];
+    private int[] cost = new int[8];
+    private int[] wire = new int[8]; // -1: fio igual ao custo (ADD) ou fio mantido (REWEIGHT)
+    private int size;
+
+    // Função: addEdge
+    // Descrição: Acrescenta a aresta from -> to com o custo informado (fio igual ao custo).
+    // Entrada: int from, int to (ids dos nós), int cost.
+    // Saída: GraphUpdate (o próprio lote, para encadear chamadas).
+    // Pré-Condicao: Ids válidos no grafo; cost > 0.
+    // Pós-Condicao: A operação é registrada no lote.
+    public GraphUpdate addEdge(int from, int to, int cost) {
+        return add(ADD, from, to, cost, -1);
+    }
+
+    // Função: addEdge
+    // Descrição: Acrescenta a aresta from -> to com custo e fio consumido separados.
+    // Entrada: int from, int to, int cost, int wire.
+    // Saída: GraphUpdate.
+    // Pré-Condicao: Ids válidos no grafo; cost > 0; wire >= 0.
+    // Pós-Condicao: A operação é registrada no lote.
+    public GraphUpdate addEdge(int from, int to, int cost, int wire) {
+        return add(ADD, from, to, cost, wire);
+    }
+
+    // Função: removeEdge
+    // Descrição: Remove todas as arestas from -> to (ex.: via interditada).
+    // Entrada: int from, int to.
+    // Saída: GraphUpdate.
+    // Pré-Condicao: Ids válidos no grafo.
+    // Pós-Condicao: A operação é registrada no lote; não é erro se a aresta não existir.
+    public GraphUpdate removeEdge(int from, int to) {
+        return add(REMOVE, from, to, 0, -1);
+    }
+
+    // Função: reweight
+    // Descrição: Troca o custo de todas as arestas from -> to (ex.: congestionamento). Se o grafo guarda o fio separado, o fio não muda; senão o fio acompanha o custo.
+    // Entrada: int from, int to, int cost.
+    // Saída: GraphUpdate.
+    // Pré-Condicao: Ids válidos no grafo; cost > 0.
+    // Pós-Condicao: A operação é registrada no lote; não é erro se a aresta não existir.
+    public GraphUpdate reweight(int from, int to, int cost) {
+        return add(REWEIGHT, from, to, cost, -1);
+    }
+
+    // Função: size
+    // Descrição: Retorna a quantidade de operações no lote.
+    // Entrada: Nenhuma.
+    // Saída: int.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int size() {
+        return size;
+    }
+
+    // Registra uma operação, crescendo os vetores quando necessário
+    private GraphUpdate add(int operation, int from, int to, int cost, int wire) {
+        if (size == kind.length) {
+            int capacity = size * 2;
+            this.kind = Arrays.copyOf(this.kind, capacity);
+            this.from = Arrays.copyOf(this.from, capacity);
+            this.to = Arrays.copyOf(this.to, capacity);
+            this.cost = Arrays.copyOf(this.cost, capacity);
+            this.wire = Arrays.copyOf(this.wire, capacity);
+        }
+        this.kind[size] = operation;
+        this.from[size] = from;
+        this.to[size] = to;
+        this.cost[size] = cost;
+        this.wire[size] = wire;
+        size++;
+        return this;
+    }
+
+    // Tipo da i-ésima operação (ADD, REMOVE ou REWEIGHT)
+    int kind(int i) {
+        return kind[i];
+    }
+
+    // Nó de origem da i-ésima operação
+    int from(int i) {
+        return from[i];
+    }
+
+    // Nó de destino da i-ésima operação
+    int to(int i) {
+        return to[i];
+    }
+
+    // Custo da i-ésima operação (ADD e REWEIGHT)
+    int cost(int i) {
+        return cost[i];
+    }
+
+    // Fio da i-ésima operação (-1 se não informado)
+    int wire(int i) {
+        return wire[i];
+    }
+}
@@ -0,0 +1,25 @@
+package Grafo;
+
+// Estimativa inferior da distância de um nó até o destino da consulta, usada pelo A* para ordenar a fila
+@FunctionalInterface
+public interface Heuristic {
+
+    // Função: estimate
+    // Descrição: Retorna um limite inferior para a distância de node até target.
+    // Entrada: int node (nó avaliado), int target (destino da consulta).
+    // Saída: int (estimativa >= 0; 0 quando não há informação; Integer.MAX_VALUE se target for comprovadamente inalcançável a partir de node).
+    // Pré-Condicao: 0 <= node, target < nodeCount() do grafo.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    int estimate(int node, int target);
+
+    // Função: facts
+    // Descrição: Heurística lida dos fatos h(...) do arquivo; os valores só se referem ao ponto_final, então para outro destino ela devolve 0.
+    // Entrada: Graph graph.
+    // Saída: Heuristic.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma.
+    static Heuristic facts(Graph graph) {
+        int goal = graph.getGoal();
+        return (node, target) -> target == goal ? graph.heuristic(node) : 0;
+    }
+}
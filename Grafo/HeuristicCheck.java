@@ -0,0 +1,138 @@
+package Grafo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Verifica se os valores h(...) lidos do arquivo são consistentes e admissíveis para um destino
+public final class HeuristicCheck {
+    private static final int MAX_REPORTED = 5; // quantas violações de cada tipo guardar para o relatório
+
+    private final boolean consistent;
+    private final boolean admissible;
+    private final List<String> violations;
+
+    private HeuristicCheck(boolean consistent, boolean admissible, List<String> violations) {
+        this.consistent = consistent;
+        this.admissible = admissible;
+        this.violations = violations;
+    }
+
+    // Função: check
+    // Descrição: Confere a consistência (h(u) <= custo(u, v) + h(v) em toda aresta e h(goal) = 0) e a admissibilidade (h(v) <= distância real até goal, calculada por um Dijkstra no grafo reverso).
+    // Entrada: Graph graph, int goal (id do destino a que os valores h se referem).
+    // Saída: HeuristicCheck (resultado das verificações e exemplos de violações).
+    // Pré-Condicao: goal deve ser um id válido; custos não negativos.
+    // Pós-Condicao: Nenhuma alteração no grafo.
+    public static HeuristicCheck check(Graph graph, int goal) {
+        List<String> violations = new ArrayList<>();
+        int n = graph.nodeCount();
+
+        boolean consistent = graph.heuristic(goal) == 0;
+        if (!consistent) {
+            violations.add("h(" + graph.name(goal) + ") = " + graph.heuristic(goal) + " no destino");
+        }
+        int reported = 0;
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.firstEdge(u), end = graph.endEdge(u); e < end; e++) {
+                int v = graph.target(e);
+                if (graph.heuristic(u) > graph.weight(e) + graph.heuristic(v)) {
+                    consistent = false;
+                    if (reported++ < MAX_REPORTED) {
+                        violations.add("inconsistente: h(" + graph.name(u) + ") = " + graph.heuristic(u) + " > "
+                                + graph.weight(e) + " + h(" + graph.name(v) + ") = " + (graph.weight(e) + graph.heuristic(v)));
+                    }
+                }
+            }
+        }
+
+        // Uma heurística consistente com h(goal) = 0 é sempre admissível; só resta conferir se não for
+        boolean admissible = true;
+        if (!consistent) {
+            int[] exact = distancesTo(graph, goal);
+            reported = 0;
+            for (int v = 0; v < n; v++) {
+                if (exact[v] != Integer.MAX_VALUE && graph.heuristic(v) > exact[v]) {
+                    admissible = false;
+                    if (reported++ < MAX_REPORTED) {
+                        violations.add("não admissível: h(" + graph.name(v) + ") = " + graph.heuristic(v)
+                                + " > distância real " + exact[v]);
+                    }
+                }
+            }
+        }
+        return new HeuristicCheck(consistent, admissible, violations);
+    }
+
+    // Função: distancesTo
+    // Descrição: Calcula a distância real de todos os nós até goal com um Dijkstra sobre o grafo reverso.
+    // Entrada: Graph graph, int goal.
+    // Saída: int[] (distância até goal; Integer.MAX_VALUE se inalcançável).
+    // Pré-Condicao: Custos não negativos.
+    // Pós-Condicao: Nenhuma alteração no grafo.
+    static int[] distancesTo(Graph graph, int goal) {
+        return distancesFrom(graph.reverse(), goal);
+    }
+
+    // Função: distancesFrom
+    // Descrição: Dijkstra de um para todos, sem limite de fio: distância de source até cada nó.
+    // Entrada: Graph graph, int source.
+    // Saída: int[] (distância a partir de source; Integer.MAX_VALUE se inalcançável).
+    // Pré-Condicao: Custos não negativos.
+    // Pós-Condicao: Nenhuma alteração no grafo.
+    static int[] distancesFrom(Graph graph, int source) {
+        int[] distance = new int[graph.nodeCount()];
+        Arrays.fill(distance, Integer.MAX_VALUE);
+        distance[source] = 0;
+        IndexedHeap heap = new IndexedHeap(graph.nodeCount());
+        heap.insert(source, 0);
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            for (int e = graph.firstEdge(u), end = graph.endEdge(u); e < end; e++) {
+                int v = graph.target(e);
+                int candidate = distance[u] + graph.weight(e);
+                if (candidate < distance[v]) {
+                    distance[v] = candidate;
+                    heap.insertOrDecrease(v, candidate);
+                }
+            }
+        }
+        return distance;
+    }
+
+    // Função: isConsistent
+    // Descrição: Indica se a heurística é consistente (monótona).
+    // Entrada: Nenhuma.
+    // Saída: boolean.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public boolean isConsistent() {
+        return consistent;
+    }
+
+    // Função: isAdmissible
+    // Descrição: Indica se a heurística nunca superestima a distância real até o destino.
+    // Entrada: Nenhuma.
+    // Saída: boolean.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public boolean isAdmissible() {
+        return admissible;
+    }
+
+    // Função: getViolations
+    // Descrição: Retorna exemplos das violações encontradas (no máximo alguns de cada tipo).
+    // Entrada: Nenhuma.
+    // Saída: List<String>.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public List<String> getViolations() {
+        return violations;
+    }
+
+    @Override
+    public String toString() {
+        return "Heurística " + (consistent ? "consistente" : "inconsistente") + " e "
+                + (admissible ? "admissível" : "não admissível");
+    }
+}
@@ -0,0 +1,312 @@
+package Grafo;
+
+import java.util.Arrays;
+
+// Contração dos nós para a ContractionHierarchy. Cada nó contraído sai do grafo de trabalho e, para cada par
+// (vizinho de entrada u, vizinho de saída w) sem caminho alternativo tão curto (busca de testemunha limitada),
+// ganha um atalho u -> w. As arestas do nó no momento da contração são as arestas finais da hierarquia.
+// Ordem: fila pela diferença de arestas (atalhos criados - arestas removidas) + vizinhos já contraídos, com atualização preguiçosa.
+final class HierarchyBuilder {
+    // Nós fechados por busca de testemunha (na estimativa da prioridade e na contração de fato); limitar só cria atalhos a mais
+    private static final int ESTIMATE_SETTLE_LIMIT = 8;
+    private static final int CONTRACT_SETTLE_LIMIT = 128;
+
+    private final int n;
+    // Grafo de trabalho: listas de saída e de entrada por nó (vizinho, custo, nó do meio ou -1), sem nós contraídos
+    private final int[][] outTo, outWeight, outMiddle;
+    private final int[] outSize;
+    private final int[][] inFrom, inWeight, inMiddle;
+    private final int[] inSize;
+    private final boolean[] contracted;
+    private final int[] contractedNeighbors;
+    private final int[] rank;
+
+    // Busca de testemunha: distâncias com carimbo de geração e heap reaproveitados
+    private final int[] witnessDistance;
+    private final int[] witnessStamp;
+    private final int[] targetStamp; // targetStamp[w] == generation: w é vizinho de saída do nó em contração
+    private final IndexedHeap witnessHeap;
+    private int generation;
+
+    // Arestas finais da hierarquia (origem, destino, custo, meio), montadas em CSR no fim
+    private int[] upFrom = new int[16], upTo = new int[16], upWeight = new int[16], upMiddle = new int[16];
+    private int upCount;
+    private int[] downAt = new int[16], downTo = new int[16], downWeight = new int[16], downMiddle = new int[16];
+    private int downCount;
+    private int shortcuts;
+
+    HierarchyBuilder(Graph graph) {
+        n = graph.nodeCount();
+        outTo = new int[n][];
+        outWeight = new int[n][];
+        outMiddle = new int[n][];
+        outSize = new int[n];
+        inFrom = new int[n][];
+        inWeight = new int[n][];
+        inMiddle = new int[n][];
+        inSize = new int[n];
+        for (int v = 0; v < n; v++) {
+            int degree = Math.max(2, graph.endEdge(v) - graph.firstEdge(v));
+            outTo[v] = new int[degree];
+            outWeight[v] = new int[degree];
+            outMiddle[v] = new int[degree];
+            inFrom[v] = new int[4];
+            inWeight[v] = new int[4];
+            inMiddle[v] = new int[4];
+        }
+        contracted = new boolean[n];
+        contractedNeighbors = new int[n];
+        rank = new int[n];
+        witnessDistance = new int[n];
+        witnessStamp = new int[n];
+        targetStamp = new int[n];
+        witnessHeap = new IndexedHeap(n);
+
+        // Arestas paralelas ficam só com a mais barata; laços são descartados
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.firstEdge(u), end = graph.endEdge(u); e < end; e++) {
+                int v = graph.target(e);
+                if (v != u) setEdge(u, v, graph.weight(e), -1);
+            }
+        }
+    }
+
+    // Função: contractAll
+    // Descrição: Contrai todos os nós na ordem da fila de prioridade. Atualização preguiçosa: a prioridade do nó retirado é recalculada e, se passou do próximo da fila, ele volta para a fila em vez de ser contraído.
+    // Entrada: Nenhuma.
+    // Saída: Nenhuma.
+    // Pré-Condicao: Chamado uma única vez.
+    // Pós-Condicao: rank e as listas de arestas finais estão completos.
+    void contractAll() {
+        IndexedHeap queue = new IndexedHeap(n);
+        for (int v = 0; v < n; v++) queue.insert(v, priority(v));
+        int next = 0;
+        while (!queue.isEmpty()) {
+            int v = queue.poll();
+            int current = priority(v);
+            if (!queue.isEmpty() && current > queue.peekKey()) {
+                queue.insert(v, current); // prioridade ficou velha: volta para a fila com o valor atual
+                continue;
+            }
+            contract(v);
+            rank[v] = next++;
+            detach(v);
+        }
+    }
+
+    // Prioridade de contração: atalhos que seriam criados - arestas removidas + vizinhos já contraídos
+    private int priority(int v) {
+        return shortcutsFor(v, false) - outSize[v] - inSize[v] + contractedNeighbors[v];
+    }
+
+    // Função: shortcutsFor
+    // Descrição: Para cada vizinho de entrada u de v, busca testemunhas a partir de u sem passar por v e conta (ou cria) os atalhos u -> w necessários.
+    // Entrada: int v, boolean create (true cria os atalhos; false só conta).
+    // Saída: int (atalhos necessários).
+    // Pré-Condicao: v ainda não contraído.
+    // Pós-Condicao: Com create, os atalhos entram no grafo de trabalho (ou reduzem o custo de uma aresta existente).
+    private int shortcutsFor(int v, boolean create) {
+        int count = 0;
+        int maxOut = 0;
+        for (int j = 0; j < outSize[v]; j++) maxOut = Math.max(maxOut, outWeight[v][j]);
+        for (int i = 0; i < inSize[v]; i++) {
+            int u = inFrom[v][i];
+            int toV = inWeight[v][i];
+            witness(u, v, (long) toV + maxOut, outTo[v], outSize[v], create ? CONTRACT_SETTLE_LIMIT : ESTIMATE_SETTLE_LIMIT);
+            for (int j = 0; j < outSize[v]; j++) {
+                int w = outTo[v][j];
+                if (w == u) continue;
+                long through = (long) toV + outWeight[v][j];
+                if (witnessDistanceTo(w) > through) {
+                    count++;
+                    if (create) setEdge(u, w, (int) through, v);
+                }
+            }
+        }
+        return count;
+    }
+
+    // Dijkstra local a partir de source no grafo de trabalho sem o nó excluded, até a distância limit, settleLimit nós
+    // fechados ou todos os targets fechados
+    private void witness(int source, int excluded, long limit, int[] targets, int targetCount, int settleLimit) {
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(witnessStamp, 0);
+            Arrays.fill(targetStamp, 0);
+            generation = 1;
+        }
+        int pending = 0;
+        for (int j = 0; j < targetCount; j++) {
+            if (targets[j] != source && targetStamp[targets[j]] != generation) {
+                targetStamp[targets[j]] = generation;
+                pending++;
+            }
+        }
+        witnessHeap.clear();
+        witnessStamp[source] = generation;
+        witnessDistance[source] = 0;
+        witnessHeap.insert(source, 0);
+        int settled = 0;
+        while (pending > 0 && !witnessHeap.isEmpty() && witnessHeap.peekKey() <= limit && settled < settleLimit) {
+            int x = witnessHeap.poll();
+            settled++;
+            if (targetStamp[x] == generation) pending--;
+            int base = witnessDistance[x];
+            for (int i = 0; i < outSize[x]; i++) {
+                int y = outTo[x][i];
+                if (y == excluded) continue;
+                long candidate = (long) base + outWeight[x][i];
+                if (candidate > limit) continue;
+                if (witnessStamp[y] != generation || candidate < witnessDistance[y]) {
+                    witnessStamp[y] = generation;
+                    witnessDistance[y] = (int) candidate;
+                    witnessHeap.insertOrDecrease(y, (int) candidate);
+                }
+            }
+        }
+    }
+
+    // Distância até node na última busca de testemunha (infinita se não alcançado)
+    private long witnessDistanceTo(int node) {
+        return witnessStamp[node] == generation ? witnessDistance[node] : Long.MAX_VALUE;
+    }
+
+    // Contrai v: cria os atalhos e registra as arestas restantes de v como arestas finais da hierarquia
+    private void contract(int v) {
+        shortcuts += shortcutsFor(v, true);
+        for (int j = 0; j < outSize[v]; j++) {
+            if (upCount == upFrom.length) growUp();
+            upFrom[upCount] = v;
+            upTo[upCount] = outTo[v][j];
+            upWeight[upCount] = outWeight[v][j];
+            upMiddle[upCount++] = outMiddle[v][j];
+        }
+        for (int i = 0; i < inSize[v]; i++) {
+            // Aresta u -> v com u acima de v: guardada em v, apontando para u, para a busca de volta subir a partir do destino
+            if (downCount == downAt.length) growDown();
+            downAt[downCount] = v;
+            downTo[downCount] = inFrom[v][i];
+            downWeight[downCount] = inWeight[v][i];
+            downMiddle[downCount++] = inMiddle[v][i];
+        }
+        contracted[v] = true;
+    }
+
+    // Remove v das listas dos vizinhos, que passam a contar mais um vizinho contraído
+    private void detach(int v) {
+        for (int j = 0; j < outSize[v]; j++) {
+            int w = outTo[v][j];
+            remove(inFrom[w], inWeight[w], inMiddle[w], inSize, w, v);
+            contractedNeighbors[w]++;
+        }
+        for (int i = 0; i < inSize[v]; i++) {
+            int u = inFrom[v][i];
+            remove(outTo[u], outWeight[u], outMiddle[u], outSize, u, v);
+            contractedNeighbors[u]++;
+        }
+    }
+
+    // Remove a entrada neighbor da lista do nó owner (troca pela última)
+    private static void remove(int[] nodes, int[] weights, int[] middles, int[] sizes, int owner, int neighbor) {
+        int size = sizes[owner];
+        for (int i = 0; i < size; i++) {
+            if (nodes[i] == neighbor) {
+                nodes[i] = nodes[size - 1];
+                weights[i] = weights[size - 1];
+                middles[i] = middles[size - 1];
+                sizes[owner] = size - 1;
+                return;
+            }
+        }
+    }
+
+    // Cria a aresta u -> w ou reduz o custo da existente, nas listas de saída de u e de entrada de w
+    private void setEdge(int u, int w, int weight, int middle) {
+        for (int i = 0; i < outSize[u]; i++) {
+            if (outTo[u][i] == w) {
+                if (weight < outWeight[u][i]) {
+                    outWeight[u][i] = weight;
+                    outMiddle[u][i] = middle;
+                    for (int k = 0; k < inSize[w]; k++) {
+                        if (inFrom[w][k] == u) {
+                            inWeight[w][k] = weight;
+                            inMiddle[w][k] = middle;
+                        }
+                    }
+                }
+                return;
+            }
+        }
+        if (outSize[u] == outTo[u].length) {
+            int capacity = outTo[u].length * 2;
+            outTo[u] = Arrays.copyOf(outTo[u], capacity);
+            outWeight[u] = Arrays.copyOf(outWeight[u], capacity);
+            outMiddle[u] = Arrays.copyOf(outMiddle[u], capacity);
+        }
+        outTo[u][outSize[u]] = w;
+        outWeight[u][outSize[u]] = weight;
+        outMiddle[u][outSize[u]++] = middle;
+        if (inSize[w] == inFrom[w].length) {
+            int capacity = inFrom[w].length * 2;
+            inFrom[w] = Arrays.copyOf(inFrom[w], capacity);
+            inWeight[w] = Arrays.copyOf(inWeight[w], capacity);
+            inMiddle[w] = Arrays.copyOf(inMiddle[w], capacity);
+        }
+        inFrom[w][inSize[w]] = u;
+        inWeight[w][inSize[w]] = weight;
+        inMiddle[w][inSize[w]++] = middle;
+    }
+
+    // Dobra os vetores das arestas finais de subida
+    private void growUp() {
+        int capacity = upFrom.length * 2;
+        upFrom = Arrays.copyOf(upFrom, capacity);
+        upTo = Arrays.copyOf(upTo, capacity);
+        upWeight = Arrays.copyOf(upWeight, capacity);
+        upMiddle = Arrays.copyOf(upMiddle, capacity);
+    }
+
+    // Dobra os vetores das arestas finais de descida
+    private void growDown() {
+        int capacity = downAt.length * 2;
+        downAt = Arrays.copyOf(downAt, capacity);
+        downTo = Arrays.copyOf(downTo, capacity);
+        downWeight = Arrays.copyOf(downWeight, capacity);
+        downMiddle = Arrays.copyOf(downMiddle, capacity);
+    }
+
+    int[] rank() {
+        return rank;
+    }
+
+    int shortcuts() {
+        return shortcuts;
+    }
+
+    // Função: toCsr
+    // Descrição: Monta em CSR as arestas finais de subida (at = origem) ou de descida (at = nó mais baixo, destino = nó mais alto).
+    // Entrada: boolean up.
+    // Saída: int[][] ({offsets, targets, weights, middles}).
+    // Pré-Condicao: contractAll já executado.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    int[][] toCsr(boolean up) {
+        int count = up ? upCount : downCount;
+        int[] at = up ? upFrom : downAt;
+        int[] to = up ? upTo : downTo;
+        int[] weight = up ? upWeight : downWeight;
+        int[] middle = up ? upMiddle : downMiddle;
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < count; i++) offsets[at[i] + 1]++;
+        for (int v = 0; v < n; v++) offsets[v + 1] += offsets[v];
+        int[] targets = new int[count];
+        int[] weights = new int[count];
+        int[] middles = new int[count];
+        int[] next = Arrays.copyOf(offsets, n);
+        for (int i = 0; i < count; i++) {
+            int pos = next[at[i]]++;
+            targets[pos] = to[i];
+            weights[pos] = weight[i];
+            middles[pos] = middle[i];
+        }
+        return new int[][]{offsets, targets, weights, middles};
+    }
+}
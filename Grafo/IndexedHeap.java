@@ -0,0 +1,304 @@
+package Grafo;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+public final class IndexedHeap implements Frontier {
+    private static final int DEFAULT_SHIFT = 2; // heap 4-ário: árvore mais rasa e filhos contíguos na memória
+
+    private final int shift; // log2 da aridade: filhos de i em [(i << shift) + 1, (i + 1) << shift]
+
+    private final int[] heapIds; // ids dos nós, na ordem do heap
+    private final int[] heapKeys; // chave de cada posição do heap
+    private final int[] position; // posição de cada id no heap, ou -1 se ausente
+    private int size;
+    // Contadores de operações desde o último clear(), lidos pelas métricas por consulta (QueryMetrics)
+    private int pushes;
+    private int pops;
+    private int decreases;
+    private int peakSize;
+
+    // Função: IndexedHeap (construtor)
+    // Descrição: Cria um heap mínimo indexado para ids no intervalo [0, capacity).
+    // Entrada: int capacity (quantidade de ids possíveis, normalmente graph.nodeCount()).
+    // Saída: Instância de IndexedHeap.
+    // Pré-Condicao: capacity >= 0.
+    // Pós-Condicao: O heap é criado vazio.
+    public IndexedHeap(int capacity) {
+        this(capacity, 1 << DEFAULT_SHIFT);
+    }
+
+    // Função: IndexedHeap (construtor)
+    // Descrição: Cria o heap com outra aridade; com 2 ele faz as mesmas trocas de uma PriorityQueue, então chaves empatadas saem na mesma ordem que nela.
+    // Entrada: int capacity, int arity (2, 4, 8, ...).
+    // Saída: Instância de IndexedHeap.
+    // Pré-Condicao: capacity >= 0; arity deve ser potência de 2 maior que 1.
+    // Pós-Condicao: O heap é criado vazio; lança IllegalArgumentException para aridade inválida.
+    public IndexedHeap(int capacity, int arity) {
+        if (arity < 2 || Integer.bitCount(arity) != 1) {
+            throw new IllegalArgumentException("Aridade deve ser potência de 2 maior que 1: " + arity);
+        }
+        shift = Integer.numberOfTrailingZeros(arity);
+        heapIds = new int[capacity];
+        heapKeys = new int[capacity];
+        position = new int[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    // Função: size
+    // Descrição: Retorna a quantidade de ids no heap.
+    // Entrada: Nenhuma.
+    // Saída: int (tamanho do heap).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Função: isEmpty
+    // Descrição: Verifica se o heap está vazio.
+    // Entrada: Nenhuma.
+    // Saída: boolean (true se vazio).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Função: contains
+    // Descrição: Verifica se o id está no heap.
+    // Entrada: int id.
+    // Saída: boolean (true se presente).
+    // Pré-Condicao: 0 <= id < capacity.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public boolean contains(int id) {
+        return position[id] >= 0;
+    }
+
+    // Função: keyOf
+    // Descrição: Retorna a chave atual de um id presente no heap.
+    // Entrada: int id.
+    // Saída: int (chave do id).
+    // Pré-Condicao: contains(id) deve ser verdadeiro.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int keyOf(int id) {
+        return heapKeys[position[id]];
+    }
+
+    // Função: idAt
+    // Descrição: Retorna o id na posição i do vetor do heap (ordem interna, não ordenada), usado para listar a fila.
+    // Entrada: int i (posição no heap).
+    // Saída: int (id naquela posição).
+    // Pré-Condicao: 0 <= i < size().
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int idAt(int i) {
+        return heapIds[i];
+    }
+
+    // Função: keyAt
+    // Descrição: Retorna a chave na posição i do vetor do heap.
+    // Entrada: int i (posição no heap).
+    // Saída: int (chave naquela posição).
+    // Pré-Condicao: 0 <= i < size().
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int keyAt(int i) {
+        return heapKeys[i];
+    }
+
+    // Função: forEach
+    // Descrição: Percorre os ids do heap na ordem interna.
+    // Entrada: IntConsumer action (recebe cada id).
+    // Saída: Nenhuma.
+    // Pré-Condicao: O heap não pode ser alterado durante o percurso.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    @Override
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(heapIds[i]);
+        }
+    }
+
+    // Função: peekKey
+    // Descrição: Retorna a menor chave do heap sem removê-la.
+    // Entrada: Nenhuma.
+    // Saída: int (menor chave).
+    // Pré-Condicao: O heap não pode estar vazio.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int peekKey() {
+        return heapKeys[0];
+    }
+
+    // Função: insert
+    // Descrição: Insere um id ausente com a chave informada.
+    // Entrada: int id, int key.
+    // Saída: Nenhuma.
+    // Pré-Condicao: contains(id) deve ser falso.
+    // Pós-Condicao: O id passa a estar no heap na posição correta.
+    public void insert(int id, int key) {
+        int i = size++;
+        pushes++;
+        if (size > peakSize) peakSize = size;
+        heapIds[i] = id;
+        heapKeys[i] = key;
+        position[id] = i;
+        siftUp(i);
+    }
+
+    // Função: decreaseKey
+    // Descrição: Diminui a chave de um id que já está no heap.
+    // Entrada: int id, int key (nova chave).
+    // Saída: Nenhuma.
+    // Pré-Condicao: contains(id) deve ser verdadeiro e key <= keyOf(id).
+    // Pós-Condicao: O id sobe para a posição correta em O(log n).
+    public void decreaseKey(int id, int key) {
+        int i = position[id];
+        decreases++;
+        heapKeys[i] = key;
+        siftUp(i);
+    }
+
+    // Função: insertOrDecrease
+    // Descrição: Insere o id ou, se já estiver no heap, diminui sua chave; nunca cria entradas duplicadas.
+    // Entrada: int id, int key.
+    // Saída: boolean (true se o heap foi alterado).
+    // Pré-Condicao: 0 <= id < capacity.
+    // Pós-Condicao: O id está no heap com chave min(chave antiga, key).
+    public boolean insertOrDecrease(int id, int key) {
+        int i = position[id];
+        if (i < 0) {
+            insert(id, key);
+            return true;
+        }
+        if (key < heapKeys[i]) {
+            decreases++;
+            heapKeys[i] = key;
+            siftUp(i);
+            return true;
+        }
+        return false;
+    }
+
+    // Função: poll
+    // Descrição: Remove e retorna o id de menor chave.
+    // Entrada: Nenhuma.
+    // Saída: int (id removido).
+    // Pré-Condicao: O heap não pode estar vazio.
+    // Pós-Condicao: O id removido deixa de estar no heap.
+    public int poll() {
+        pops++;
+        int top = heapIds[0];
+        position[top] = -1;
+        int last = --size;
+        if (last > 0) {
+            heapIds[0] = heapIds[last];
+            heapKeys[0] = heapKeys[last];
+            position[heapIds[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    // Função: clear
+    // Descrição: Esvazia o heap em tempo proporcional ao número de ids ainda presentes.
+    // Entrada: Nenhuma.
+    // Saída: Nenhuma.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: O heap fica vazio e pronto para reuso; os contadores de operações voltam a zero.
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heapIds[i]] = -1;
+        }
+        size = 0;
+        pushes = 0;
+        pops = 0;
+        decreases = 0;
+        peakSize = 0;
+    }
+
+    // Função: getPushes
+    // Descrição: Retorna quantos ids foram inseridos desde o último clear().
+    // Entrada: Nenhuma.
+    // Saída: int.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int getPushes() {
+        return pushes;
+    }
+
+    // Função: getPops
+    // Descrição: Retorna quantos ids foram retirados desde o último clear().
+    // Entrada: Nenhuma.
+    // Saída: int.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int getPops() {
+        return pops;
+    }
+
+    // Função: getDecreases
+    // Descrição: Retorna quantas chaves foram diminuídas (decrease-key) desde o último clear().
+    // Entrada: Nenhuma.
+    // Saída: int.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int getDecreases() {
+        return decreases;
+    }
+
+    // Função: getPeakSize
+    // Descrição: Retorna o maior tamanho do heap desde o último clear() (pico da fronteira).
+    // Entrada: Nenhuma.
+    // Saída: int.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int getPeakSize() {
+        return peakSize;
+    }
+
+    // Sobe a posição i até a chave do pai ser menor ou igual
+    private void siftUp(int i) {
+        int id = heapIds[i];
+        int key = heapKeys[i];
+        while (i > 0) {
+            int parent = (i - 1) >> shift;
+            if (heapKeys[parent] <= key) break;
+            move(parent, i);
+            i = parent;
+        }
+        place(i, id, key);
+    }
+
+    // Desce a posição i trocando com o menor dos filhos (o primeiro deles no empate)
+    private void siftDown(int i) {
+        int id = heapIds[i];
+        int key = heapKeys[i];
+        while (true) {
+            int first = (i << shift) + 1;
+            if (first >= size) break;
+            int last = Math.min(first + (1 << shift), size);
+            int best = first;
+            for (int c = first + 1; c < last; c++) {
+                if (heapKeys[c] < heapKeys[best]) best = c;
+            }
+            if (heapKeys[best] >= key) break;
+            move(best, i);
+            i = best;
+        }
+        place(i, id, key);
+    }
+
+    // Copia a entrada de uma posição para outra, atualizando o índice
+    private void move(int from, int to) {
+        heapIds[to] = heapIds[from];
+        heapKeys[to] = heapKeys[from];
+        position[heapIds[to]] = to;
+    }
+
+    // Grava a entrada (id, key) na posição i, atualizando o índice
+    private void place(int i, int id, int key) {
+        heapIds[i] = id;
+        heapKeys[i] = key;
+        position[id] = i;
+    }
+}
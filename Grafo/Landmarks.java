@@ -0,0 +1,228 @@
+package Grafo;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+// Heurística ALT (A*, landmarks e desigualdade triangular): para k nós de referência L guarda d(L, v) e d(v, L) de todo v.
+// Para qualquer par (v, t), d(v, t) >= d(L, t) - d(L, v) e d(v, t) >= d(v, L) - d(t, L); o maior desses valores é a estimativa,
+// admissível e consistente para qualquer destino, sem depender dos fatos h(...).
+// Arquivo persistido (little-endian): MAGIC, VERSION, nós, arestas, resumo das arestas do grafo (long, Graph.edgeChecksum), k,
+// landmarks[k], from[nós * k], to[nós * k]
+public final class Landmarks implements Heuristic {
+    static final int MAGIC = 0x31544C41; // "ALT1" em little-endian
+    static final int VERSION = 2;
+    private static final int HEADER_INTS = 7;
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final int count;
+    private final IntBuffer landmarks;
+    private final IntBuffer from; // from[v * count + l] = d(landmark l, v)
+    private final IntBuffer to; // to[v * count + l] = d(v, landmark l)
+
+    private Landmarks(int count, IntBuffer landmarks, IntBuffer from, IntBuffer to) {
+        this.count = count;
+        this.landmarks = landmarks;
+        this.from = from;
+        this.to = to;
+    }
+
+    // Função: build
+    // Descrição: Escolhe k landmarks pelo critério do mais distante (cada novo landmark é o nó mais longe dos já escolhidos) e calcula as tabelas com um Dijkstra de um para todos a partir de cada um, no grafo e no grafo reverso.
+    // Entrada: Graph graph, int k (quantidade de landmarks), long seed (semente do nó de partida da escolha).
+    // Saída: Landmarks.
+    // Pré-Condicao: 1 <= k <= nodeCount(); custos não negativos.
+    // Pós-Condicao: Nenhuma alteração no grafo; custo de 2k buscas completas e 8 * k bytes por nó.
+    public static Landmarks build(Graph graph, int k, long seed) {
+        int n = graph.nodeCount();
+        int[] landmarks = new int[k];
+        int[] from = new int[n * k];
+        int[] to = graph.isDirected() ? new int[n * k] : from;
+        long[] separation = new long[n]; // menor d(L, v) + d(v, L) entre os landmarks já escolhidos
+        Arrays.fill(separation, Long.MAX_VALUE);
+
+        // Primeiro landmark: o nó mais distante de um nó sorteado, longe do "centro" do grafo
+        int next = farthest(HeuristicCheck.distancesFrom(graph, new Random(seed).nextInt(n)), null);
+        for (int l = 0; l < k; l++) {
+            landmarks[l] = next;
+            int[] fromLandmark = HeuristicCheck.distancesFrom(graph, next);
+            int[] toLandmark = graph.isDirected() ? HeuristicCheck.distancesTo(graph, next) : fromLandmark;
+            for (int v = 0; v < n; v++) {
+                from[v * k + l] = fromLandmark[v];
+                to[v * k + l] = toLandmark[v];
+                if (fromLandmark[v] != UNREACHABLE && toLandmark[v] != UNREACHABLE) {
+                    separation[v] = Math.min(separation[v], (long) fromLandmark[v] + toLandmark[v]);
+                }
+            }
+            next = farthest(null, separation);
+        }
+        return new Landmarks(k, IntBuffer.wrap(landmarks), IntBuffer.wrap(from), IntBuffer.wrap(to));
+    }
+
+    // Nó com a maior distância finita em distance (ou em separation, se distance for null)
+    private static int farthest(int[] distance, long[] separation) {
+        int n = distance != null ? distance.length : separation.length;
+        int best = 0;
+        long bestValue = -1;
+        for (int v = 0; v < n; v++) {
+            long value = distance != null ? (distance[v] == UNREACHABLE ? -1 : distance[v])
+                    : (separation[v] == Long.MAX_VALUE ? -1 : separation[v]);
+            if (value > bestValue) {
+                bestValue = value;
+                best = v;
+            }
+        }
+        return best;
+    }
+
+    // Função: estimate
+    // Descrição: Maior limite inferior dado pelos landmarks para a distância de node até target. Se target alcança um landmark que node não alcança, node não alcança target e o resultado é Integer.MAX_VALUE; demais landmarks sem distância finita são ignorados.
+    // Entrada: int node, int target.
+    // Saída: int (estimativa >= 0, ou Integer.MAX_VALUE se target for inalcançável a partir de node).
+    // Pré-Condicao: As tabelas devem ter sido calculadas para o grafo da busca.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    @Override
+    public int estimate(int node, int target) {
+        int best = 0;
+        int nodeBase = node * count;
+        int targetBase = target * count;
+        for (int l = 0; l < count; l++) {
+            int nodeToLandmark = to.get(nodeBase + l);
+            int targetToLandmark = to.get(targetBase + l);
+            if (targetToLandmark != UNREACHABLE) {
+                if (nodeToLandmark == UNREACHABLE) {
+                    return UNREACHABLE;
+                }
+                best = Math.max(best, nodeToLandmark - targetToLandmark);
+            }
+            int landmarkToTarget = from.get(targetBase + l);
+            int landmarkToNode = from.get(nodeBase + l);
+            if (landmarkToTarget != UNREACHABLE && landmarkToNode != UNREACHABLE) {
+                best = Math.max(best, landmarkToTarget - landmarkToNode);
+            }
+        }
+        return best;
+    }
+
+    // Função: count
+    // Descrição: Retorna a quantidade de landmarks.
+    // Entrada: Nenhuma.
+    // Saída: int.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int count() {
+        return count;
+    }
+
+    // Função: landmark
+    // Descrição: Retorna o id do i-ésimo landmark.
+    // Entrada: int i.
+    // Saída: int (id do nó).
+    // Pré-Condicao: 0 <= i < count().
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int landmark(int i) {
+        return landmarks.get(i);
+    }
+
+    // Função: write
+    // Descrição: Grava as tabelas em disco, junto com o tamanho e o resumo das arestas do grafo para conferência na leitura.
+    // Entrada: Graph graph (grafo usado no build), String filename (arquivo de saída).
+    // Saída: Nenhuma.
+    // Pré-Condicao: As tabelas devem ter sido calculadas para graph.
+    // Pós-Condicao: O arquivo é criado (ou sobrescrito) e pode ser aberto com open.
+    public void write(Graph graph, String filename) throws IOException {
+        int n = graph.nodeCount();
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            GraphSnapshot.IntWriter out = new GraphSnapshot.IntWriter(channel);
+            out.put(MAGIC);
+            out.put(VERSION);
+            out.put(n);
+            out.put(graph.edgeCount());
+            long checksum = graph.edgeChecksum();
+            out.put((int) checksum);
+            out.put((int) (checksum >>> 32));
+            out.put(count);
+            for (int l = 0; l < count; l++) out.put(landmarks.get(l));
+            for (int i = 0; i < n * count; i++) out.put(from.get(i));
+            for (int i = 0; i < n * count; i++) out.put(to.get(i));
+            out.flush();
+        }
+    }
+
+    // Função: open
+    // Descrição: Abre tabelas gravadas por write, mapeadas em memória somente leitura (sem cópia para o heap).
+    // Entrada: Graph graph (grafo em que as tabelas serão usadas), String filename.
+    // Saída: Landmarks.
+    // Pré-Condicao: O arquivo deve ter sido gerado para um grafo com os mesmos nós, arestas e custos.
+    // Pós-Condicao: Lança IOException se o arquivo não for de landmarks ou for de outro grafo (tamanho ou resumo das arestas diferente).
+    public static Landmarks open(Graph graph, String filename) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            IntBuffer header = GraphSnapshot.map(channel, 0, HEADER_INTS * 4L).asIntBuffer();
+            if (header.get(0) != MAGIC) {
+                throw new IOException("Arquivo não é de landmarks: " + filename);
+            }
+            if (header.get(1) != VERSION) {
+                throw new IOException("Versão de landmarks não suportada: " + header.get(1));
+            }
+            long checksum = header.get(4) & 0xFFFFFFFFL | (long) header.get(5) << 32;
+            if (header.get(2) != graph.nodeCount() || header.get(3) != graph.edgeCount()
+                    || checksum != graph.edgeChecksum()) {
+                throw new IOException("Landmarks calculados para outro grafo: " + filename);
+            }
+            int n = header.get(2);
+            int k = header.get(6);
+            long position = HEADER_INTS * 4L;
+            IntBuffer landmarks = GraphSnapshot.map(channel, position, k * 4L).asIntBuffer();
+            position += k * 4L;
+            long table = (long) n * k * 4L;
+            IntBuffer from = GraphSnapshot.map(channel, position, table).asIntBuffer();
+            position += table;
+            IntBuffer to = GraphSnapshot.map(channel, position, table).asIntBuffer();
+            if (position + table != channel.size()) {
+                throw new IOException("Arquivo de landmarks truncado ou corrompido: " + filename);
+            }
+            return new Landmarks(k, landmarks, from, to);
+        }
+    }
+
+    // Função: load
+    // Descrição: Interpreta a opção --landmarks: um número calcula essa quantidade de landmarks; qualquer outro valor é o arquivo gravado por write.
+    // Entrada: Graph graph, String value (ex.: "16" ou "grafo.alt").
+    // Saída: Landmarks.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Lança IOException se o arquivo não puder ser aberto.
+    public static Landmarks load(Graph graph, String value) throws IOException {
+        if (value.chars().allMatch(Character::isDigit)) {
+            return build(graph, Integer.parseInt(value), 42);
+        }
+        return open(graph, value);
+    }
+
+    // Função: main
+    // Descrição: Pré-processamento: calcula os landmarks de um grafo e grava as tabelas em disco.
+    // Entrada: String[] args (args[0]: arquivo de fatos ou snapshot; args[1]: quantidade de landmarks, padrão 8; args[2]: arquivo de saída, padrão args[0] com extensão .alt).
+    // Saída: Nenhuma (imprime os tempos no console).
+    // Pré-Condicao: O arquivo do grafo deve existir.
+    // Pós-Condicao: O arquivo de landmarks é gravado.
+    public static void main(String[] args) throws IOException {
+        String input = args.length > 0 ? args[0] : "arquivoEntradaMaior.txt";
+        int k = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        String output = args.length > 2 ? args[2] : input.replaceFirst("\\.[^./]*$", "") + ".alt";
+
+        Graph graph = Graph.abrir(input);
+        long begin = System.nanoTime();
+        Landmarks landmarks = build(graph, k, 42);
+        long built = System.nanoTime();
+        landmarks.write(graph, output);
+        long written = System.nanoTime();
+
+        System.out.printf("%d landmarks em %.1f ms (%d nós, %d arestas)%n", k, (built - begin) / 1e6,
+                graph.nodeCount(), graph.edgeCount());
+        System.out.printf("Gravação: %.1f ms em %s%n", (written - built) / 1e6, output);
+    }
+}
@@ -0,0 +1,105 @@
+package Grafo;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Histograma de latências no estilo HDR: baldes lineares até 128 e, acima disso, 64 baldes por potência de 2, então
+// qualquer valor até 2^62 é guardado com erro relativo de no máximo 1/64 (~1,6%) em menos de 4 mil contadores.
+// A gravação não usa bloqueio (um incremento atômico no balde); as leituras são aproximadas sob escrita concorrente.
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 6; // 64 baldes por potência de 2
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = bucketIndex(Long.MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    // Balde do valor: o próprio valor abaixo de 128; senão os 7 bits mais altos, deslocados pela magnitude
+    private static int bucketIndex(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return SUB_BUCKETS * shift + (int) (value >>> shift);
+    }
+
+    // Maior valor que cai no balde
+    private static long highestInBucket(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lowest = (long) (index - SUB_BUCKETS * shift) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    // Função: record
+    // Descrição: Registra um valor (ex.: latência em nanossegundos).
+    // Entrada: long value.
+    // Saída: Nenhuma.
+    // Pré-Condicao: value >= 0 (valores negativos contam como 0).
+    // Pós-Condicao: O valor entra no balde, na contagem, na soma e no máximo; seguro para várias threads.
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts.incrementAndGet(bucketIndex(v));
+        total.increment();
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    // Função: getCount
+    // Descrição: Retorna a quantidade de valores registrados.
+    // Entrada: Nenhuma.
+    // Saída: long.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public long getCount() {
+        return total.sum();
+    }
+
+    // Função: getSum
+    // Descrição: Retorna a soma exata dos valores registrados.
+    // Entrada: Nenhuma.
+    // Saída: long.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public long getSum() {
+        return sum.sum();
+    }
+
+    // Função: getMax
+    // Descrição: Retorna o maior valor registrado (exato).
+    // Entrada: Nenhuma.
+    // Saída: long (0 se vazio).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public long getMax() {
+        return max.get();
+    }
+
+    // Função: valueAtPercentile
+    // Descrição: Menor valor v tal que ao menos percentile% dos registros são <= v, com a precisão dos baldes (o maior valor do balde, limitado ao máximo exato).
+    // Entrada: double percentile (0 a 100).
+    // Saída: long (0 se vazio).
+    // Pré-Condicao: 0 <= percentile <= 100.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public long valueAtPercentile(double percentile) {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) count += counts.get(i);
+        if (count == 0) {
+            return 0;
+        }
+        long wanted = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= wanted) {
+                return Math.min(highestInBucket(i), getMax());
+            }
+        }
+        return getMax();
+    }
+}
@@ -0,0 +1,174 @@
+package Grafo;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+// Agregado das métricas das consultas por algoritmo: contadores LongAdder (divididos em células por thread, sem
+// bloqueio nem disputa por uma única variável) e histograma de latência. Exportável como JSON ou no formato de texto
+// do Prometheus; pode ser lido a qualquer momento enquanto as consultas continuam sendo gravadas.
+public final class MetricsRegistry {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final ConcurrentHashMap<String, Series> series = new ConcurrentHashMap<>();
+
+    // Contadores de um algoritmo
+    private static final class Series {
+        final LongAdder queries = new LongAdder();
+        final LongAdder expanded = new LongAdder();
+        final LongAdder relaxed = new LongAdder();
+        final LongAdder pushes = new LongAdder();
+        final LongAdder pops = new LongAdder();
+        final LongAdder decreaseKeys = new LongAdder();
+        final LongAdder stalePops = new LongAdder();
+        final LongAdder allocatedBytes = new LongAdder();
+        final LongAccumulator peakFrontier = new LongAccumulator(Math::max, 0);
+        final LatencyHistogram latency = new LatencyHistogram(); // nanossegundos
+    }
+
+    // Função: record
+    // Descrição: Soma as métricas de uma consulta aos contadores do algoritmo.
+    // Entrada: String algorithm (rótulo, ex.: "dijkstra"), QueryMetrics metrics.
+    // Saída: Nenhuma.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Seguro para várias threads; a série do algoritmo é criada na primeira consulta.
+    public void record(String algorithm, QueryMetrics metrics) {
+        Series s = series.computeIfAbsent(algorithm, key -> new Series());
+        s.queries.increment();
+        s.expanded.add(metrics.getExpanded());
+        s.relaxed.add(metrics.getRelaxed());
+        s.pushes.add(metrics.getPushes());
+        s.pops.add(metrics.getPops());
+        s.decreaseKeys.add(metrics.getDecreaseKeys());
+        s.stalePops.add(metrics.getStalePops());
+        if (metrics.getAllocatedBytes() > 0) s.allocatedBytes.add(metrics.getAllocatedBytes());
+        s.peakFrontier.accumulate(metrics.getPeakFrontier());
+        s.latency.record(metrics.getWallNanos());
+    }
+
+    // Função: queries
+    // Descrição: Retorna quantas consultas do algoritmo foram gravadas.
+    // Entrada: String algorithm.
+    // Saída: long (0 se o algoritmo ainda não apareceu).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public long queries(String algorithm) {
+        Series s = series.get(algorithm);
+        return s == null ? 0 : s.queries.sum();
+    }
+
+    // Função: latency
+    // Descrição: Retorna o histograma de latência (nanossegundos) do algoritmo.
+    // Entrada: String algorithm.
+    // Saída: LatencyHistogram (null se o algoritmo ainda não apareceu).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public LatencyHistogram latency(String algorithm) {
+        Series s = series.get(algorithm);
+        return s == null ? null : s.latency;
+    }
+
+    // Função: toJson
+    // Descrição: Exporta os contadores e os percentis de latência de cada algoritmo como um objeto JSON.
+    // Entrada: Nenhuma.
+    // Saída: String (algoritmos em ordem alfabética).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public String toJson() {
+        StringBuilder out = new StringBuilder("{");
+        for (Map.Entry<String, Series> entry : sorted().entrySet()) {
+            Series s = entry.getValue();
+            if (out.length() > 1) out.append(',');
+            out.append('"').append(escape(entry.getKey())).append("\":{")
+                    .append("\"queries\":").append(s.queries.sum())
+                    .append(",\"expanded\":").append(s.expanded.sum())
+                    .append(",\"relaxed\":").append(s.relaxed.sum())
+                    .append(",\"pushes\":").append(s.pushes.sum())
+                    .append(",\"pops\":").append(s.pops.sum())
+                    .append(",\"decrease_keys\":").append(s.decreaseKeys.sum())
+                    .append(",\"stale_pops\":").append(s.stalePops.sum())
+                    .append(",\"peak_frontier\":").append(s.peakFrontier.get())
+                    .append(",\"allocated_bytes\":").append(s.allocatedBytes.sum())
+                    .append(",\"latency_ns\":{\"count\":").append(s.latency.getCount())
+                    .append(",\"sum\":").append(s.latency.getSum());
+            for (double p : PERCENTILES) {
+                out.append(",\"p").append(percentileLabel(p).replace(".", "")).append("\":").append(s.latency.valueAtPercentile(p));
+            }
+            out.append(",\"max\":").append(s.latency.getMax()).append("}}");
+        }
+        return out.append('}').toString();
+    }
+
+    // Função: toPrometheus
+    // Descrição: Exporta no formato de texto do Prometheus: contadores *_total, o pico da fronteira como gauge e a latência como summary (quantis, soma e contagem, em segundos), com o rótulo algorithm.
+    // Entrada: Nenhuma.
+    // Saída: String.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public String toPrometheus() {
+        Map<String, Series> all = sorted();
+        StringBuilder out = new StringBuilder();
+        counter(out, all, "search_queries_total", "Consultas respondidas.", s -> s.queries.sum());
+        counter(out, all, "search_nodes_expanded_total", "Nós expandidos.", s -> s.expanded.sum());
+        counter(out, all, "search_edges_relaxed_total", "Arestas examinadas a partir dos nós expandidos.", s -> s.relaxed.sum());
+        counter(out, all, "search_heap_pushes_total", "Inserções no heap.", s -> s.pushes.sum());
+        counter(out, all, "search_heap_pops_total", "Retiradas do heap.", s -> s.pops.sum());
+        counter(out, all, "search_heap_decrease_keys_total", "Diminuições de chave no heap.", s -> s.decreaseKeys.sum());
+        counter(out, all, "search_heap_stale_pops_total", "Retiradas do heap sem expansão.", s -> s.stalePops.sum());
+        counter(out, all, "search_allocated_bytes_total", "Bytes alocados pelas consultas.", s -> s.allocatedBytes.sum());
+        out.append("# HELP search_frontier_peak Maior fila de uma consulta.\n# TYPE search_frontier_peak gauge\n");
+        for (Map.Entry<String, Series> entry : all.entrySet()) {
+            out.append("search_frontier_peak{algorithm=\"").append(escape(entry.getKey())).append("\"} ")
+                    .append(entry.getValue().peakFrontier.get()).append('\n');
+        }
+        out.append("# HELP search_latency_seconds Tempo de parede por consulta.\n# TYPE search_latency_seconds summary\n");
+        for (Map.Entry<String, Series> entry : all.entrySet()) {
+            String label = escape(entry.getKey());
+            LatencyHistogram latency = entry.getValue().latency;
+            for (double p : PERCENTILES) {
+                out.append("search_latency_seconds{algorithm=\"").append(label).append("\",quantile=\"")
+                        .append(quantileLabel(p)).append("\"} ").append(latency.valueAtPercentile(p) / 1e9).append('\n');
+            }
+            out.append("search_latency_seconds_sum{algorithm=\"").append(label).append("\"} ")
+                    .append(latency.getSum() / 1e9).append('\n');
+            out.append("search_latency_seconds_count{algorithm=\"").append(label).append("\"} ")
+                    .append(latency.getCount()).append('\n');
+        }
+        return out.toString();
+    }
+
+    // Escreve um contador com HELP, TYPE e uma linha por algoritmo
+    private static void counter(StringBuilder out, Map<String, Series> all, String name, String help,
+                                ToLongFunction<Series> value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" counter\n");
+        for (Map.Entry<String, Series> entry : all.entrySet()) {
+            out.append(name).append("{algorithm=\"").append(escape(entry.getKey())).append("\"} ")
+                    .append(value.applyAsLong(entry.getValue())).append('\n');
+        }
+    }
+
+    // Séries em ordem alfabética, para uma saída estável
+    private Map<String, Series> sorted() {
+        return new TreeMap<>(series);
+    }
+
+    // Rótulo do percentil sem casas decimais desnecessárias (50, 99.9)
+    private static String percentileLabel(double p) {
+        return p == Math.rint(p) ? String.valueOf((long) p) : String.valueOf(p);
+    }
+
+    // Quantil do Prometheus sem erro de arredondamento do double (99.9 vira 0.999)
+    private static String quantileLabel(double p) {
+        return BigDecimal.valueOf(p).movePointLeft(2).stripTrailingZeros().toPlainString();
+    }
+
+    // Escapa aspas e barras para JSON e rótulos do Prometheus
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,341 @@
+package Grafo;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Renumeração dos nós para localidade de memória: os ids vêm da ordem em que os nomes aparecem no arquivo, então nós
+// vizinhos podem ficar longe nos vetores do CSR e cada relaxamento perde o cache. Uma ordem é um vetor order em que
+// order[novoId] = idAntigo; apply monta o grafo renumerado, com as arestas, os fatos h, a origem e o destino permutados.
+// Os nomes acompanham os nós, então caminhos e consultas por nome continuam iguais (só os ids internos mudam).
+//   bfs     - busca em largura a partir do ponto_inicial, ignorando o sentido das arestas
+//   rcm     - Cuthill–McKee reverso: largura a partir de um nó periférico, vizinhos por grau crescente, ordem invertida
+//   hilbert - curva de Hilbert sobre as coordenadas dos nós (nomes n<linha>_<coluna>, ou nRC como os de arquivoEntradaMaior.txt)
+public final class NodeOrdering {
+    private static final Pattern GRID_NAME = Pattern.compile("n(\\d{1,9})_(\\d{1,9})"); // n<linha>_<coluna>
+    private static final Pattern LEGACY_GRID_NAME = Pattern.compile("n(\\d{1,9})(\\d)"); // nRC: coluna no último dígito
+
+    private NodeOrdering() {
+    }
+
+    // Função: reorder
+    // Descrição: Renumera o grafo com a estratégia pedida pelo nome.
+    // Entrada: Graph graph, String strategy (nenhuma, bfs, rcm ou hilbert).
+    // Saída: Graph (o próprio grafo para nenhuma).
+    // Pré-Condicao: hilbert exige coordenadas válidas nos nomes de todos os nós (ver gridCoordinates).
+    // Pós-Condicao: Lança IllegalArgumentException para estratégias desconhecidas ou nomes sem coordenadas.
+    public static Graph reorder(Graph graph, String strategy) {
+        switch (strategy) {
+            case "nenhuma":
+                return graph;
+            case "bfs":
+                return apply(graph, bfs(graph));
+            case "rcm":
+                return apply(graph, reverseCuthillMcKee(graph));
+            case "hilbert":
+                int[][] coordinates = gridCoordinates(graph);
+                if (coordinates == null) {
+                    throw new IllegalArgumentException("A ordem hilbert requer nomes n<linha>_<coluna> (ou nRC de uma grade com"
+                            + " até 10 colunas) distintos em todos os nós");
+                }
+                return apply(graph, hilbert(coordinates[0], coordinates[1]));
+            default:
+                throw new IllegalArgumentException("Ordem desconhecida: " + strategy + " (use nenhuma, bfs, rcm ou hilbert)");
+        }
+    }
+
+    // Função: bfs
+    // Descrição: Ordem de visita de uma busca em largura sem sentido (arestas de saída e de entrada), começando no ponto_inicial e depois em cada componente ainda não visitado, em ordem de id.
+    // Entrada: Graph graph.
+    // Saída: int[] order (order[novoId] = idAntigo).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no grafo (o grafo reverso é montado, se ainda não existir).
+    public static int[] bfs(Graph graph) {
+        int n = graph.nodeCount();
+        Graph reverse = graph.reverse();
+        int[] order = new int[n];
+        boolean[] visited = new boolean[n];
+        int head = 0;
+        int tail = 0;
+        int root = graph.getStart() >= 0 ? graph.getStart() : 0;
+        for (int i = -1; i < n; i++) {
+            int seed = i < 0 ? root : i;
+            if (n == 0 || visited[seed]) continue;
+            visited[seed] = true;
+            order[tail++] = seed;
+            while (head < tail) {
+                int node = order[head++];
+                tail = visitNeighbors(graph, node, visited, order, tail);
+                if (reverse != graph) tail = visitNeighbors(reverse, node, visited, order, tail);
+            }
+        }
+        return order;
+    }
+
+    // Enfileira os vizinhos ainda não visitados do nó, na ordem das arestas
+    private static int visitNeighbors(Graph graph, int node, boolean[] visited, int[] order, int tail) {
+        for (int e = graph.firstEdge(node), end = graph.endEdge(node); e < end; e++) {
+            int neighbor = graph.target(e);
+            if (!visited[neighbor]) {
+                visited[neighbor] = true;
+                order[tail++] = neighbor;
+            }
+        }
+        return tail;
+    }
+
+    // Função: reverseCuthillMcKee
+    // Descrição: Cuthill–McKee reverso sobre o grafo sem sentido: em cada componente, parte de um nó pseudo-periférico (o mais distante, em saltos, de uma largura a partir do nó de menor grau), visita os vizinhos em ordem crescente de grau e inverte a ordem no fim. Reduz a largura de banda da matriz de adjacência, deixando as arestas perto da diagonal.
+    // Entrada: Graph graph.
+    // Saída: int[] order (order[novoId] = idAntigo).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no grafo (o grafo reverso é montado, se ainda não existir).
+    public static int[] reverseCuthillMcKee(Graph graph) {
+        int n = graph.nodeCount();
+        Graph reverse = graph.reverse();
+        int[][] neighbors = undirectedNeighbors(graph, reverse);
+        int[] order = new int[n];
+        int[] level = new int[n];
+        Arrays.fill(level, -1);
+        boolean[] visited = new boolean[n];
+
+        // Nós por grau crescente: o próximo componente começa do nó de menor grau ainda não visitado
+        Integer[] byDegree = new Integer[n];
+        for (int v = 0; v < n; v++) byDegree[v] = v;
+        Arrays.sort(byDegree, (a, b) -> Integer.compare(neighbors[a].length, neighbors[b].length));
+
+        int tail = 0;
+        for (int candidate : byDegree) {
+            if (visited[candidate]) continue;
+            int root = peripheral(neighbors, candidate, level, order, tail);
+            visited[root] = true;
+            int head = tail;
+            order[tail++] = root;
+            while (head < tail) {
+                int node = order[head++];
+                int from = tail;
+                for (int neighbor : neighbors[node]) {
+                    if (!visited[neighbor]) {
+                        visited[neighbor] = true;
+                        order[tail++] = neighbor;
+                    }
+                }
+                sortByDegree(order, from, tail, neighbors);
+            }
+        }
+        for (int i = 0, j = n - 1; i < j; i++, j--) {
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        return order;
+    }
+
+    // Vizinhos sem sentido (saída e entrada, sem repetição) de cada nó
+    private static int[][] undirectedNeighbors(Graph graph, Graph reverse) {
+        int n = graph.nodeCount();
+        int[][] neighbors = new int[n][];
+        int[] seen = new int[n];
+        Arrays.fill(seen, -1);
+        int[] buffer = new int[16];
+        Graph[] sides = reverse == graph ? new Graph[]{graph} : new Graph[]{graph, reverse};
+        for (int v = 0; v < n; v++) {
+            int count = 0;
+            for (Graph side : sides) {
+                for (int e = side.firstEdge(v), end = side.endEdge(v); e < end; e++) {
+                    int neighbor = side.target(e);
+                    if (neighbor == v || seen[neighbor] == v) continue;
+                    seen[neighbor] = v;
+                    if (count == buffer.length) buffer = Arrays.copyOf(buffer, count * 2);
+                    buffer[count++] = neighbor;
+                }
+            }
+            neighbors[v] = Arrays.copyOf(buffer, count);
+        }
+        return neighbors;
+    }
+
+    // Nó pseudo-periférico do componente de start: repete larguras a partir do nó mais distante (e de menor grau no
+    // último nível) enquanto a excentricidade cresce. Usa order a partir de from como fila e devolve level limpo
+    private static int peripheral(int[][] neighbors, int start, int[] level, int[] order, int from) {
+        int root = start;
+        int eccentricity = -1;
+        while (true) {
+            int tail = from;
+            int head = from;
+            level[root] = 0;
+            order[tail++] = root;
+            int farthest = root;
+            while (head < tail) {
+                int node = order[head++];
+                if (level[node] > level[farthest]
+                        || level[node] == level[farthest] && neighbors[node].length < neighbors[farthest].length) {
+                    farthest = node;
+                }
+                for (int neighbor : neighbors[node]) {
+                    if (level[neighbor] == -1) {
+                        level[neighbor] = level[node] + 1;
+                        order[tail++] = neighbor;
+                    }
+                }
+            }
+            int reached = level[farthest];
+            for (int i = from; i < tail; i++) level[order[i]] = -1;
+            if (reached <= eccentricity) {
+                return root;
+            }
+            eccentricity = reached;
+            root = farthest;
+        }
+    }
+
+    // Ordena order[from, to) por grau crescente (inserção: os trechos são do tamanho do grau de um nó)
+    private static void sortByDegree(int[] order, int from, int to, int[][] neighbors) {
+        for (int i = from + 1; i < to; i++) {
+            int node = order[i];
+            int degree = neighbors[node].length;
+            int j = i - 1;
+            while (j >= from && neighbors[order[j]].length > degree) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = node;
+        }
+    }
+
+    // Função: hilbert
+    // Descrição: Ordena os nós pela posição das suas coordenadas numa curva de Hilbert, que mantém próximos na ordem os pontos próximos no plano.
+    // Entrada: int[] x, int[] y (coordenadas inteiras de cada nó).
+    // Saída: int[] order (order[novoId] = idAntigo; empates pelo id antigo).
+    // Pré-Condicao: x e y com o mesmo tamanho e valores >= 0.
+    // Pós-Condicao: Nenhuma.
+    public static int[] hilbert(int[] x, int[] y) {
+        int n = x.length;
+        int max = 1;
+        for (int v = 0; v < n; v++) max = Math.max(max, Math.max(x[v], y[v]) + 1);
+        int side = max == 1 ? 1 : Integer.highestOneBit(max - 1) << 1;
+        long[] keys = new long[n];
+        Integer[] byCurve = new Integer[n];
+        for (int v = 0; v < n; v++) {
+            keys[v] = hilbertIndex(side, x[v], y[v]);
+            byCurve[v] = v;
+        }
+        Arrays.sort(byCurve, (a, b) -> Long.compare(keys[a], keys[b])); // ordenação estável: empate pelo id antigo
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = byCurve[i];
+        return order;
+    }
+
+    // Distância ao longo da curva de Hilbert que cobre o quadrado side x side (side potência de 2)
+    private static long hilbertIndex(int side, int x, int y) {
+        long d = 0;
+        for (int s = side / 2; s > 0; s /= 2) {
+            int rx = (x & s) > 0 ? 1 : 0;
+            int ry = (y & s) > 0 ? 1 : 0;
+            d += (long) s * s * ((3 * rx) ^ ry);
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = s - 1 - x;
+                    y = s - 1 - y;
+                }
+                int swap = x;
+                x = y;
+                y = swap;
+            }
+        }
+        return d;
+    }
+
+    // Função: gridCoordinates
+    // Descrição: Lê linha e coluna dos nomes n<linha>_<coluna> (ex.: n12_345) ou, se nenhum nome tiver separador, da convenção nRC da grade de arquivoEntradaMaior.txt (coluna no último dígito: n00, n11, n199).
+    // Entrada: Graph graph.
+    // Saída: int[][] ({linhas, colunas} por id), ou null se algum nome não seguir a convenção ou dois nós tiverem a mesma coordenada.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: nRC só é aceito se toda aresta ligar coordenadas vizinhas (no máximo uma linha e uma coluna de diferença), o que recusa grades com mais de 10 colunas e nomes n<id> sem coordenadas, como os do GraphGenerator.
+    public static int[][] gridCoordinates(Graph graph) {
+        int[][] coordinates = readCoordinates(graph, GRID_NAME);
+        if (coordinates != null) return coordinates;
+        coordinates = readCoordinates(graph, LEGACY_GRID_NAME);
+        if (coordinates == null) return null;
+        int[] rows = coordinates[0];
+        int[] cols = coordinates[1];
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            for (int e = graph.firstEdge(v), end = graph.endEdge(v); e < end; e++) {
+                int w = graph.target(e);
+                if (Math.abs(rows[v] - rows[w]) > 1 || Math.abs(cols[v] - cols[w]) > 1) return null;
+            }
+        }
+        return coordinates;
+    }
+
+    // Linhas e colunas de todos os nomes pelo padrão (grupos 1 e 2); null se algum não casar ou houver coordenada repetida
+    private static int[][] readCoordinates(Graph graph, Pattern pattern) {
+        int n = graph.nodeCount();
+        int[] rows = new int[n];
+        int[] cols = new int[n];
+        long[] keys = new long[n];
+        for (int v = 0; v < n; v++) {
+            Matcher matcher = pattern.matcher(graph.name(v));
+            if (!matcher.matches()) {
+                return null;
+            }
+            rows[v] = Integer.parseInt(matcher.group(1));
+            cols[v] = Integer.parseInt(matcher.group(2));
+            keys[v] = (long) rows[v] << 32 | cols[v];
+        }
+        Arrays.sort(keys);
+        for (int i = 1; i < n; i++) {
+            if (keys[i] == keys[i - 1]) return null;
+        }
+        return new int[][]{rows, cols};
+    }
+
+    // Função: apply
+    // Descrição: Monta o grafo renumerado: o nó novo i é o antigo order[i], com as mesmas arestas (na mesma ordem), fios, fatos h e nome; origem e destino acompanham os seus nós.
+    // Entrada: Graph graph, int[] order (permutação de 0..nodeCount()-1, order[novoId] = idAntigo).
+    // Saída: Graph (em memória, mesmo se o original vier de um snapshot mapeado).
+    // Pré-Condicao: order deve ser uma permutação.
+    // Pós-Condicao: Lança IllegalArgumentException se order não for uma permutação; o grafo original não é alterado.
+    public static Graph apply(Graph graph, int[] order) {
+        int n = graph.nodeCount();
+        int m = graph.edgeCount();
+        int[] rank = inverse(order, n);
+        String[] names = new String[n];
+        int[] heuristics = new int[n];
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        int[] wires = graph.hasWires() ? new int[m] : null;
+        for (int v = 0; v < n; v++) {
+            int old = order[v];
+            names[v] = graph.name(old);
+            heuristics[v] = graph.heuristic(old);
+            int first = graph.firstEdge(old);
+            int end = graph.endEdge(old);
+            offsets[v + 1] = offsets[v] + end - first;
+            graph.copyEdges(first, end, targets, weights, wires, offsets[v]);
+        }
+        for (int e = 0; e < m; e++) {
+            targets[e] = rank[targets[e]];
+        }
+        int start = graph.getStart() >= 0 ? rank[graph.getStart()] : -1;
+        int goal = graph.getGoal() >= 0 ? rank[graph.getGoal()] : -1;
+        return new Graph(names, offsets, targets, weights, wires, heuristics, start, goal, graph.isDirected());
+    }
+
+    // Inverte a permutação (rank[idAntigo] = novoId), conferindo que cada id aparece uma única vez
+    private static int[] inverse(int[] order, int n) {
+        if (order.length != n) {
+            throw new IllegalArgumentException("A ordem tem " + order.length + " nós; o grafo tem " + n);
+        }
+        int[] rank = new int[n];
+        Arrays.fill(rank, -1);
+        for (int i = 0; i < n; i++) {
+            if (order[i] < 0 || order[i] >= n || rank[order[i]] != -1) {
+                throw new IllegalArgumentException("A ordem não é uma permutação dos nós (id " + order[i] + ")");
+            }
+            rank[order[i]] = i;
+        }
+        return rank;
+    }
+}
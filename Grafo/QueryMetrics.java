@@ -0,0 +1,189 @@
+package Grafo;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+// Contadores de uma consulta: nós expandidos, arestas examinadas, operações do heap, retiradas sem expansão, pico da
+// fronteira, bytes alocados pela thread e tempo de parede. Imutável; agregado por MetricsRegistry.
+public final class QueryMetrics {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean ALLOCATION_SUPPORTED = allocationSupported();
+
+    private final int expanded;
+    private final long relaxed;
+    private final long pushes;
+    private final long pops;
+    private final long decreaseKeys;
+    private final long stalePops; // retiradas que não viraram expansão (ex.: descartadas pelo limite de fio)
+    private final int peakFrontier;
+    private final long allocatedBytes; // -1 se a JVM não mede alocação por thread
+    private final long wallNanos;
+
+    private QueryMetrics(int expanded, long relaxed, long pushes, long pops, long decreaseKeys, long stalePops,
+                         int peakFrontier, long allocatedBytes, long wallNanos) {
+        this.expanded = expanded;
+        this.relaxed = relaxed;
+        this.pushes = pushes;
+        this.pops = pops;
+        this.decreaseKeys = decreaseKeys;
+        this.stalePops = stalePops;
+        this.peakFrontier = peakFrontier;
+        this.allocatedBytes = allocatedBytes;
+        this.wallNanos = wallNanos;
+    }
+
+    // Função: capture
+    // Descrição: Lê os contadores dos estados de trabalho usados pela consulta (um por lado nas buscas bidirecionais) logo depois dela.
+    // Entrada: SearchResult result (resultado da consulta), long wallNanos (tempo de parede), long allocatedBytes (diferença de allocatedBytes() antes e depois, ou -1), SearchScratch... scratches (nenhum para buscas que não usam SearchScratch).
+    // Saída: QueryMetrics (expandidos vêm do resultado; demais contadores somam os estados; pico da fronteira é o maior entre eles).
+    // Pré-Condicao: Os estados não podem ter sido reaproveitados por outra consulta desde o fim desta.
+    // Pós-Condicao: Nenhuma alteração nos estados.
+    public static QueryMetrics capture(SearchResult result, long wallNanos, long allocatedBytes, SearchScratch... scratches) {
+        long relaxed = 0;
+        long pushes = 0;
+        long pops = 0;
+        long decreaseKeys = 0;
+        int peakFrontier = 0;
+        for (SearchScratch scratch : scratches) {
+            IndexedHeap heap = scratch.heap();
+            relaxed += scratch.getRelaxed();
+            pushes += heap.getPushes();
+            pops += heap.getPops();
+            decreaseKeys += heap.getDecreases();
+            peakFrontier = Math.max(peakFrontier, heap.getPeakSize());
+        }
+        long stalePops = scratches.length > 0 ? Math.max(0, pops - result.getExpanded()) : 0;
+        return new QueryMetrics(result.getExpanded(), relaxed, pushes, pops, decreaseKeys, stalePops, peakFrontier,
+                allocatedBytes, wallNanos);
+    }
+
+    // Função: allocatedBytes
+    // Descrição: Bytes alocados até agora pela thread atual, para medir uma consulta pela diferença antes e depois.
+    // Entrada: Nenhuma.
+    // Saída: long (-1 se a JVM não oferece a medida).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma.
+    public static long allocatedBytes() {
+        if (!ALLOCATION_SUPPORTED) {
+            return -1;
+        }
+        return ((com.sun.management.ThreadMXBean) THREADS).getCurrentThreadAllocatedBytes();
+    }
+
+    // Verifica se a JVM mede a alocação por thread (HotSpot) e liga a medida se estiver desligada
+    private static boolean allocationSupported() {
+        if (!(THREADS instanceof com.sun.management.ThreadMXBean)) {
+            return false;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            return false;
+        }
+        if (!threads.isThreadAllocatedMemoryEnabled()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        return true;
+    }
+
+    // Função: getExpanded
+    // Descrição: Retorna os nós expandidos pela consulta.
+    // Entrada: Nenhuma.
+    // Saída: int.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int getExpanded() {
+        return expanded;
+    }
+
+    // Função: getRelaxed
+    // Descrição: Retorna as arestas examinadas a partir dos nós expandidos.
+    // Entrada: Nenhuma.
+    // Saída: long.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public long getRelaxed() {
+        return relaxed;
+    }
+
+    // Função: getPushes
+    // Descrição: Retorna as inserções no heap.
+    // Entrada: Nenhuma.
+    // Saída: long.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public long getPushes() {
+        return pushes;
+    }
+
+    // Função: getPops
+    // Descrição: Retorna as retiradas do heap.
+    // Entrada: Nenhuma.
+    // Saída: long.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public long getPops() {
+        return pops;
+    }
+
+    // Função: getDecreaseKeys
+    // Descrição: Retorna as diminuições de chave (decrease-key) no heap.
+    // Entrada: Nenhuma.
+    // Saída: long.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public long getDecreaseKeys() {
+        return decreaseKeys;
+    }
+
+    // Função: getStalePops
+    // Descrição: Retorna as retiradas do heap que não viraram expansão (ex.: nós descartados pelo limite de fio).
+    // Entrada: Nenhuma.
+    // Saída: long.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public long getStalePops() {
+        return stalePops;
+    }
+
+    // Função: getPeakFrontier
+    // Descrição: Retorna o maior tamanho da fila durante a consulta.
+    // Entrada: Nenhuma.
+    // Saída: int.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int getPeakFrontier() {
+        return peakFrontier;
+    }
+
+    // Função: getAllocatedBytes
+    // Descrição: Retorna os bytes alocados pela thread durante a consulta (-1 se a JVM não mede).
+    // Entrada: Nenhuma.
+    // Saída: long.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    // Função: getWallNanos
+    // Descrição: Retorna o tempo de parede da consulta, em nanossegundos.
+    // Entrada: Nenhuma.
+    // Saída: long.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    // Função: toJson
+    // Descrição: Formata os contadores como um objeto JSON de uma linha.
+    // Entrada: Nenhuma.
+    // Saída: String.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public String toJson() {
+        return "{\"expanded\":" + expanded + ",\"relaxed\":" + relaxed + ",\"pushes\":" + pushes + ",\"pops\":" + pops
+                + ",\"decrease_keys\":" + decreaseKeys + ",\"stale_pops\":" + stalePops + ",\"peak_frontier\":" + peakFrontier
+                + ",\"allocated_bytes\":" + allocatedBytes + ",\"wall_ns\":" + wallNanos + "}";
+    }
+}
@@ -0,0 +1,124 @@
+package Grafo;
+
+public final class SearchResult {
+    private final int distance; // Integer.MAX_VALUE quando não há caminho
+    private final int[] path; // ids do caminho, da origem ao destino (vazio quando não há caminho)
+    private final int expanded; // medida de desempenho: nós expandidos
+    private final QueryMetrics metrics; // contadores da consulta (null se ela não foi medida)
+
+    // Função: SearchResult (construtor)
+    // Descrição: Cria o resultado de uma busca.
+    // Entrada: int distance (custo do caminho), int[] path (ids do caminho), int expanded (nós expandidos).
+    // Saída: Instância de SearchResult.
+    // Pré-Condicao: path deve estar na ordem origem -> destino.
+    // Pós-Condicao: O resultado é imutável.
+    public SearchResult(int distance, int[] path, int expanded) {
+        this(distance, path, expanded, null);
+    }
+
+    private SearchResult(int distance, int[] path, int expanded, QueryMetrics metrics) {
+        this.distance = distance;
+        this.path = path;
+        this.expanded = expanded;
+        this.metrics = metrics;
+    }
+
+    // Função: notFound
+    // Descrição: Cria o resultado de uma busca que não encontrou caminho.
+    // Entrada: int expanded (nós expandidos).
+    // Saída: SearchResult sem caminho.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: isFound() retorna false.
+    public static SearchResult notFound(int expanded) {
+        return new SearchResult(Integer.MAX_VALUE, new int[0], expanded);
+    }
+
+    // Função: fromParents
+    // Descrição: Reconstrói o caminho uma única vez, no fim da busca, seguindo o vetor de predecessores.
+    // Entrada: int[] parent (predecessor de cada nó, -1 na origem), int target (id do destino), int distance, int expanded.
+    // Saída: SearchResult com o caminho reconstruído.
+    // Pré-Condicao: A cadeia de predecessores a partir de target deve terminar em -1.
+    // Pós-Condicao: Nenhuma alteração em parent.
+    public static SearchResult fromParents(int[] parent, int target, int distance, int expanded) {
+        int length = 0;
+        for (int node = target; node != -1; node = parent[node]) length++;
+        int[] path = new int[length];
+        for (int node = target; node != -1; node = parent[node]) path[--length] = node;
+        return new SearchResult(distance, path, expanded);
+    }
+
+    // Função: isFound
+    // Descrição: Indica se a busca encontrou caminho.
+    // Entrada: Nenhuma.
+    // Saída: boolean.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public boolean isFound() {
+        return path.length > 0;
+    }
+
+    // Função: getDistance
+    // Descrição: Retorna o custo do caminho encontrado.
+    // Entrada: Nenhuma.
+    // Saída: int (custo, ou Integer.MAX_VALUE sem caminho).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int getDistance() {
+        return distance;
+    }
+
+    // Função: getPath
+    // Descrição: Retorna os ids do caminho, da origem ao destino.
+    // Entrada: Nenhuma.
+    // Saída: int[] (não deve ser alterado).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int[] getPath() {
+        return path;
+    }
+
+    // Função: getExpanded
+    // Descrição: Retorna a medida de desempenho (nós expandidos).
+    // Entrada: Nenhuma.
+    // Saída: int.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int getExpanded() {
+        return expanded;
+    }
+
+    // Função: withMetrics
+    // Descrição: Cria uma cópia do resultado com as métricas da consulta anexadas (o caminho é compartilhado, sem cópia).
+    // Entrada: QueryMetrics metrics.
+    // Saída: SearchResult.
+    // Pré-Condicao: As métricas devem ser da consulta que produziu este resultado.
+    // Pós-Condicao: Este resultado não é alterado.
+    public SearchResult withMetrics(QueryMetrics metrics) {
+        return new SearchResult(distance, path, expanded, metrics);
+    }
+
+    // Função: getMetrics
+    // Descrição: Retorna as métricas da consulta, quando ela foi medida (ex.: pelo BatchRunner).
+    // Entrada: Nenhuma.
+    // Saída: QueryMetrics (ou null).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public QueryMetrics getMetrics() {
+        return metrics;
+    }
+
+    // Função: pathToString
+    // Descrição: Formata o caminho com os nomes dos nós separados por " – ".
+    // Entrada: Graph graph (grafo usado na busca).
+    // Saída: String.
+    // Pré-Condicao: O resultado deve ter sido produzido sobre o mesmo grafo.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public String pathToString(Graph graph) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < path.length; i++) {
+            if (i > 0) sb.append(" – ");
+            sb.append(graph.name(path[i]));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,247 @@
+package Grafo;
+
+import java.util.Arrays;
+
+// Estado de trabalho de uma busca (distância, predecessor, fechados e fila), separado do grafo imutável.
+// O reset troca a geração em vez de preencher os vetores, então consultas repetidas não alocam nem varrem o grafo.
+public final class SearchScratch {
+    private static final int SLOTS = 4; // buscas que podem usar estados distintos ao mesmo tempo na mesma thread
+    private static final ThreadLocal<SearchScratch[]> POOL = ThreadLocal.withInitial(() -> new SearchScratch[SLOTS]);
+
+    private final int[] distance;
+    private final int[] parent;
+    private final int[] reached; // reached[v] == generation: distance[v] e parent[v] valem nesta consulta
+    private final int[] closed; // closed[v] == generation: v já foi fechado nesta consulta
+    private final IndexedHeap heap;
+    private int generation;
+    private int expanded;
+    private int relaxed; // arestas examinadas a partir dos nós expandidos
+
+    // Função: SearchScratch (construtor)
+    // Descrição: Cria um estado de trabalho para grafos com até capacity nós.
+    // Entrada: int capacity (quantidade máxima de nós).
+    // Saída: Instância de SearchScratch.
+    // Pré-Condicao: capacity >= 0.
+    // Pós-Condicao: O estado está pronto para reset().
+    public SearchScratch(int capacity) {
+        distance = new int[capacity];
+        parent = new int[capacity];
+        reached = new int[capacity];
+        closed = new int[capacity];
+        heap = new IndexedHeap(capacity);
+    }
+
+    // Função: forGraph
+    // Descrição: Retorna o estado de trabalho da thread atual para o grafo (slot 0), criando-o só se não houver um com capacidade suficiente.
+    // Entrada: Graph graph.
+    // Saída: SearchScratch reaproveitado.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: O estado pertence à thread atual e não deve ser compartilhado com outras threads.
+    public static SearchScratch forGraph(Graph graph) {
+        return forGraph(graph, 0);
+    }
+
+    // Função: forGraph
+    // Descrição: Mesmo que forGraph(graph), escolhendo o slot, para buscas que precisam de mais de um estado ao mesmo tempo (ex.: bidirecional).
+    // Entrada: Graph graph, int slot (0 a 3).
+    // Saída: SearchScratch reaproveitado.
+    // Pré-Condicao: 0 <= slot < 4.
+    // Pós-Condicao: O estado pertence à thread atual e não deve ser compartilhado com outras threads.
+    public static SearchScratch forGraph(Graph graph, int slot) {
+        SearchScratch[] pool = POOL.get();
+        SearchScratch scratch = pool[slot];
+        if (scratch == null || scratch.capacity() < graph.nodeCount()) {
+            scratch = new SearchScratch(graph.nodeCount());
+            pool[slot] = scratch;
+        }
+        return scratch;
+    }
+
+    // Função: capacity
+    // Descrição: Retorna a quantidade máxima de nós suportada.
+    // Entrada: Nenhuma.
+    // Saída: int.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int capacity() {
+        return distance.length;
+    }
+
+    // Função: reset
+    // Descrição: Prepara o estado para uma nova consulta em O(tamanho da fila restante): todos os nós voltam a ter distância infinita.
+    // Entrada: Nenhuma.
+    // Saída: Nenhuma.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhum nó alcançado ou fechado; fila vazia e com contadores zerados; expanded = relaxed = 0.
+    public void reset() {
+        heap.clear();
+        expanded = 0;
+        relaxed = 0;
+        if (++generation == Integer.MAX_VALUE) {
+            // Raro: a geração deu a volta, então os carimbos antigos precisam ser apagados de fato
+            Arrays.fill(reached, 0);
+            Arrays.fill(closed, 0);
+            generation = 1;
+        }
+    }
+
+    // Função: distance
+    // Descrição: Retorna a distância do nó na consulta atual.
+    // Entrada: int node.
+    // Saída: int (Integer.MAX_VALUE se o nó não foi alcançado).
+    // Pré-Condicao: 0 <= node < capacity().
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int distance(int node) {
+        return reached[node] == generation ? distance[node] : Integer.MAX_VALUE;
+    }
+
+    // Função: parent
+    // Descrição: Retorna o predecessor do nó na consulta atual.
+    // Entrada: int node.
+    // Saída: int (-1 na origem ou se o nó não foi alcançado).
+    // Pré-Condicao: 0 <= node < capacity().
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int parent(int node) {
+        return reached[node] == generation ? parent[node] : -1;
+    }
+
+    // Função: reach
+    // Descrição: Registra uma nova distância e predecessor para o nó.
+    // Entrada: int node, int dist (nova distância), int from (predecessor, -1 na origem).
+    // Saída: Nenhuma.
+    // Pré-Condicao: 0 <= node < capacity().
+    // Pós-Condicao: distance(node) == dist e parent(node) == from.
+    public void reach(int node, int dist, int from) {
+        reached[node] = generation;
+        distance[node] = dist;
+        parent[node] = from;
+    }
+
+    // Função: isClosed
+    // Descrição: Indica se o nó já foi fechado (retirado da fila e expandido) na consulta atual.
+    // Entrada: int node.
+    // Saída: boolean.
+    // Pré-Condicao: 0 <= node < capacity().
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public boolean isClosed(int node) {
+        return closed[node] == generation;
+    }
+
+    // Função: close
+    // Descrição: Marca o nó como fechado.
+    // Entrada: int node.
+    // Saída: Nenhuma.
+    // Pré-Condicao: 0 <= node < capacity().
+    // Pós-Condicao: isClosed(node) é verdadeiro.
+    public void close(int node) {
+        closed[node] = generation;
+    }
+
+    // Função: reopen
+    // Descrição: Desfaz o fechamento do nó (usado pelo A* ao encontrar um g menor).
+    // Entrada: int node.
+    // Saída: Nenhuma.
+    // Pré-Condicao: 0 <= node < capacity().
+    // Pós-Condicao: isClosed(node) é falso.
+    public void reopen(int node) {
+        closed[node] = 0;
+    }
+
+    // Função: heap
+    // Descrição: Retorna a fila reaproveitada desta busca.
+    // Entrada: Nenhuma.
+    // Saída: IndexedHeap (vazio após reset()).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public IndexedHeap heap() {
+        return heap;
+    }
+
+    // Função: distances
+    // Descrição: Retorna o vetor bruto de distâncias, para os ouvintes de trace; só vale para o nó atual e os nós na fila.
+    // Entrada: Nenhuma.
+    // Saída: int[] (não deve ser alterado).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int[] distances() {
+        return distance;
+    }
+
+    // Função: getExpanded
+    // Descrição: Retorna a medida de desempenho (nós expandidos) da última consulta.
+    // Entrada: Nenhuma.
+    // Saída: int.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int getExpanded() {
+        return expanded;
+    }
+
+    // Função: setExpanded
+    // Descrição: Registra a medida de desempenho da consulta atual.
+    // Entrada: int expanded.
+    // Saída: Nenhuma.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: getExpanded() retorna o valor informado.
+    public void setExpanded(int expanded) {
+        this.expanded = expanded;
+    }
+
+    // Função: getRelaxed
+    // Descrição: Retorna quantas arestas a última consulta examinou a partir dos nós expandidos.
+    // Entrada: Nenhuma.
+    // Saída: int.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int getRelaxed() {
+        return relaxed;
+    }
+
+    // Função: addRelaxed
+    // Descrição: Soma as arestas examinadas na expansão de um nó.
+    // Entrada: int edges.
+    // Saída: Nenhuma.
+    // Pré-Condicao: edges >= 0.
+    // Pós-Condicao: getRelaxed() aumenta em edges.
+    public void addRelaxed(int edges) {
+        relaxed += edges;
+    }
+
+    // Função: pathTo
+    // Descrição: Copia o caminho até target (origem primeiro) para o vetor do chamador, sem alocar.
+    // Entrada: int target, int[] out (destino; deve caber o caminho inteiro).
+    // Saída: int (tamanho do caminho; 0 se target não foi alcançado; -tamanho se out for pequeno demais).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: out[0..tamanho) recebe os ids do caminho quando couber.
+    public int pathTo(int target, int[] out) {
+        if (distance(target) == Integer.MAX_VALUE) {
+            return 0;
+        }
+        int length = 0;
+        for (int node = target; node != -1; node = parent(node)) length++;
+        if (length > out.length) {
+            return -length;
+        }
+        int i = length;
+        for (int node = target; node != -1; node = parent(node)) out[--i] = node;
+        return length;
+    }
+
+    // Função: toResult
+    // Descrição: Monta o SearchResult da consulta atual para target (aloca o vetor do caminho).
+    // Entrada: int target.
+    // Saída: SearchResult.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public SearchResult toResult(int target) {
+        int dist = distance(target);
+        if (dist == Integer.MAX_VALUE) {
+            return SearchResult.notFound(expanded);
+        }
+        int length = 0;
+        for (int node = target; node != -1; node = parent(node)) length++;
+        int[] path = new int[length];
+        pathTo(target, path);
+        return new SearchResult(dist, path, expanded);
+    }
+}
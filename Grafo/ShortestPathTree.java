@@ -0,0 +1,108 @@
+package Grafo;
+
+// Árvore de menores caminhos de uma origem para todos os nós, dentro de um limite de fio; imutável, pode ser guardada
+// em cache e lida por várias threads. Ocupa dois vetores de int do tamanho do grafo.
+public final class ShortestPathTree {
+    private final int source;
+    private final int limiteFio;
+    private final int[] distance; // Integer.MAX_VALUE nos nós não alcançados
+    private final int[] parent; // -1 na origem e nos nós não alcançados
+    private final int expanded;
+
+    private ShortestPathTree(int source, int limiteFio, int[] distance, int[] parent, int expanded) {
+        this.source = source;
+        this.limiteFio = limiteFio;
+        this.distance = distance;
+        this.parent = parent;
+        this.expanded = expanded;
+    }
+
+    // Função: fromScratch
+    // Descrição: Copia para vetores próprios as distâncias e predecessores de uma busca completa guardada no estado de trabalho.
+    // Entrada: SearchScratch scratch (busca de um para todos já executada), int nodeCount, int source, int limiteFio.
+    // Saída: ShortestPathTree.
+    // Pré-Condicao: scratch deve conter a busca a partir de source com limiteFio, sem parada antecipada.
+    // Pós-Condicao: Nenhuma alteração em scratch; a árvore não depende mais dele.
+    public static ShortestPathTree fromScratch(SearchScratch scratch, int nodeCount, int source, int limiteFio) {
+        int[] distance = new int[nodeCount];
+        int[] parent = new int[nodeCount];
+        for (int v = 0; v < nodeCount; v++) {
+            distance[v] = scratch.distance(v);
+            parent[v] = scratch.parent(v);
+        }
+        return new ShortestPathTree(source, limiteFio, distance, parent, scratch.getExpanded());
+    }
+
+    // Função: of
+    // Descrição: Cria a árvore sobre vetores já calculados (ex.: reparo incremental), sem cópia.
+    // Entrada: int source, int limiteFio, int[] distance (Integer.MAX_VALUE nos não alcançados), int[] parent (-1 na origem e nos não alcançados), int expanded.
+    // Saída: ShortestPathTree.
+    // Pré-Condicao: Os vetores têm o tamanho do grafo e não são alterados depois.
+    // Pós-Condicao: A árvore passa a ser dona dos vetores.
+    public static ShortestPathTree of(int source, int limiteFio, int[] distance, int[] parent, int expanded) {
+        return new ShortestPathTree(source, limiteFio, distance, parent, expanded);
+    }
+
+    // Função: getSource
+    // Descrição: Retorna a origem da árvore.
+    // Entrada: Nenhuma.
+    // Saída: int (id do nó).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int getSource() {
+        return source;
+    }
+
+    // Função: getLimiteFio
+    // Descrição: Retorna o limite de fio usado na busca.
+    // Entrada: Nenhuma.
+    // Saída: int.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int getLimiteFio() {
+        return limiteFio;
+    }
+
+    // Função: distance
+    // Descrição: Retorna a menor distância da origem até o nó.
+    // Entrada: int node.
+    // Saída: int (Integer.MAX_VALUE se o nó não for alcançável dentro do limite).
+    // Pré-Condicao: node deve ser um id válido do grafo.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int distance(int node) {
+        return distance[node];
+    }
+
+    // Função: parent
+    // Descrição: Retorna o predecessor do nó no menor caminho a partir da origem.
+    // Entrada: int node.
+    // Saída: int (-1 na origem ou se o nó não foi alcançado).
+    // Pré-Condicao: node deve ser um id válido do grafo.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int parent(int node) {
+        return parent[node];
+    }
+
+    // Função: getExpanded
+    // Descrição: Retorna os nós expandidos pela busca que montou a árvore.
+    // Entrada: Nenhuma.
+    // Saída: int.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public int getExpanded() {
+        return expanded;
+    }
+
+    // Função: toResult
+    // Descrição: Monta o resultado da consulta origem -> target a partir da árvore, sem nova busca.
+    // Entrada: int target.
+    // Saída: SearchResult (nós expandidos = os da busca que montou a árvore).
+    // Pré-Condicao: target deve ser um id válido do grafo.
+    // Pós-Condicao: Nenhuma alteração no estado.
+    public SearchResult toResult(int target) {
+        if (distance[target] == Integer.MAX_VALUE) {
+            return SearchResult.notFound(expanded);
+        }
+        return SearchResult.fromParents(parent, target, distance[target], expanded);
+    }
+}
@@ -0,0 +1,91 @@
+package Grafo;
+
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+// Imprime apenas o resumo final; a saída passa por um buffer e só é descarregada no fim da busca
+public class SummaryTrace implements TraceListener {
+    protected final PrintWriter out;
+
+    // Função: SummaryTrace (construtor)
+    // Descrição: Cria o ouvinte escrevendo no console.
+    // Entrada: Nenhuma.
+    // Saída: Instância de SummaryTrace.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma.
+    public SummaryTrace() {
+        this(System.out);
+    }
+
+    // Função: SummaryTrace (construtor)
+    // Descrição: Cria o ouvinte escrevendo no fluxo informado, com buffer de 64 KiB.
+    // Entrada: OutputStream stream (destino da saída).
+    // Saída: Instância de SummaryTrace.
+    // Pré-Condicao: stream deve estar aberto.
+    // Pós-Condicao: O fluxo não é fechado pelo ouvinte.
+    public SummaryTrace(OutputStream stream) {
+        this.out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(stream), 1 << 16));
+    }
+
+    // Função: onDeepening
+    // Descrição: Imprime os nós expandidos de uma passada do aprofundamento iterativo.
+    // Entrada: int iteration, long bound (Long.MAX_VALUE quando não há limite), int expanded.
+    // Saída: Nenhuma (escreve no buffer).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma.
+    @Override
+    public void onDeepening(int iteration, long bound, int expanded) {
+        out.println("Iteração " + iteration + " (limite " + (bound == Long.MAX_VALUE ? "nenhum" : String.valueOf(bound))
+                + "): nós expandidos " + expanded);
+    }
+
+    // Função: onFinish
+    // Descrição: Imprime o resumo (distância, caminho e nós expandidos) e descarrega o buffer.
+    // Entrada: Graph graph, SearchResult result.
+    // Saída: Nenhuma (imprime no console).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Toda a saída pendente é escrita.
+    @Override
+    public void onFinish(Graph graph, SearchResult result) {
+        out.println("Fim da execução");
+        if (result.isFound()) {
+            out.println("Distância: " + result.getDistance());
+            out.println("Caminho: " + result.pathToString(graph));
+            out.println("Medida de desempenho (nós expandidos): " + result.getExpanded());
+        } else {
+            out.println("Caminho não encontrado.");
+        }
+        out.flush();
+    }
+
+    // Função: estimate
+    // Descrição: Valor de h impresso para o nó; por padrão o fato h(...) do arquivo.
+    // Entrada: Graph graph, int node (id do nó).
+    // Saída: int (h do nó).
+    // Pré-Condicao: node deve ser um id válido.
+    // Pós-Condicao: Nenhuma.
+    protected int estimate(Graph graph, int node) {
+        return graph.heuristic(node);
+    }
+
+    // Função: printEntry
+    // Descrição: Imprime uma entrada da fila no formato (nó: g + h = soma), com h dado por estimate.
+    // Entrada: Graph graph, int node (id do nó), int g (custo acumulado).
+    // Saída: Nenhuma.
+    // Pré-Condicao: node deve ser um id válido.
+    // Pós-Condicao: A entrada é escrita no buffer, sem quebra de linha.
+    protected void printEntry(Graph graph, int node, int g) {
+        int h = estimate(graph, node);
+        out.print('(');
+        out.print(graph.name(node));
+        out.print(": ");
+        out.print(g);
+        out.print(" + ");
+        out.print(h);
+        out.print(" = ");
+        out.print(g + h);
+        out.print(") ");
+    }
+}
@@ -0,0 +1,61 @@
+package Grafo;
+
+// Ouvinte dos eventos de uma busca; todos os métodos são vazios por padrão, então o modo NONE não tem custo no laço
+public interface TraceListener {
+    TraceListener NONE = new TraceListener() {
+    };
+
+    // Função: onStart
+    // Descrição: Chamado uma vez, antes da primeira iteração.
+    // Entrada: Nenhuma.
+    // Saída: Nenhuma.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma.
+    default void onStart() {
+    }
+
+    // Função: onIteration
+    // Descrição: Chamado a cada iteração com o nó atual e a fronteira; implementações não devem alterar os parâmetros.
+    // Entrada: Graph graph, int iteration (número da iteração), int node (nó atual), int[] g (custo acumulado por nó), Frontier frontier (fila atual).
+    // Saída: Nenhuma.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma.
+    default void onIteration(Graph graph, int iteration, int node, int[] g, Frontier frontier) {
+    }
+
+    // Função: onWire
+    // Descrição: Chamado com o fio restante do nó atual, nas buscas com limite de fio.
+    // Entrada: int fioRestante, boolean discarded (true se o caminho foi descartado).
+    // Saída: Nenhuma.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma.
+    default void onWire(int fioRestante, boolean discarded) {
+    }
+
+    // Função: onExpanded
+    // Descrição: Chamado ao fim de cada iteração com a medida de desempenho acumulada.
+    // Entrada: int nodesExpanded.
+    // Saída: Nenhuma.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma.
+    default void onExpanded(int nodesExpanded) {
+    }
+
+    // Função: onDeepening
+    // Descrição: Chamado ao fim de cada passada das buscas de aprofundamento iterativo (IDDFS, IDA*), com o limite usado e os nós expandidos nela.
+    // Entrada: int iteration (número da passada), long bound (limite da passada; Long.MAX_VALUE quando não há limite), int expanded (nós expandidos na passada).
+    // Saída: Nenhuma.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma.
+    default void onDeepening(int iteration, long bound, int expanded) {
+    }
+
+    // Função: onFinish
+    // Descrição: Chamado uma vez com o resultado final da busca.
+    // Entrada: Graph graph, SearchResult result.
+    // Saída: Nenhuma.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Nenhuma.
+    default void onFinish(Graph graph, SearchResult result) {
+    }
+}
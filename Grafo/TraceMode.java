@@ -0,0 +1,26 @@
+package Grafo;
+
+public enum TraceMode {
+    NONE, // sem saída durante a busca (produção / benchmark)
+    SUMMARY, // apenas o resumo final
+    FULL; // iteração a iteração, como a saída original
+
+    // Função: fromArgs
+    // Descrição: Lê a opção --trace=none|summary|full dos argumentos da linha de comando.
+    // Entrada: String[] args.
+    // Saída: TraceMode (FULL se a opção não for informada).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: Lança IllegalArgumentException se o modo informado não existir.
+    public static TraceMode fromArgs(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith("--trace=")) {
+                try {
+                    return valueOf(arg.substring(8).toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Modo de saída desconhecido: " + arg.substring(8) + " (use none, summary ou full)");
+                }
+            }
+        }
+        return FULL;
+    }
+}
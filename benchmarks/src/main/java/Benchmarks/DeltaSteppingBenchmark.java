@@ -0,0 +1,66 @@
+package Benchmarks;
+
+import Dijkstra_Bonus.DeltaStepping;
+import Dijkstra_Bonus.Dijkstra;
+import Grafo.Graph;
+import Grafo.SearchScratch;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Curva de aceleração do delta-stepping: uma única consulta grande (ponto_inicial ao ponto_final, sem limite de fio)
+// para cada quantidade de threads; o Dijkstra sequencial no mesmo grafo é a referência (threads = 0).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeltaSteppingBenchmark {
+    @Param({"grid", "rgg", "scalefree"})
+    public String model;
+
+    @Param({"1000000"})
+    public long edges;
+
+    @Param({"42"})
+    public long seed;
+
+    // 0 = Dijkstra sequencial; ajuste aos núcleos da máquina com -p threads=1,2,4,8,16,32
+    @Param({"0", "1", "2", "4", "8", "16", "32"})
+    public int threads;
+
+    private Graph graph;
+    private DeltaStepping engine;
+    private SearchScratch scratch;
+
+    // Função: setUp
+    // Descrição: Abre (gerando, se preciso) o grafo do modelo e cria o motor com a quantidade de threads do parâmetro.
+    // Entrada: Nenhuma (usa os parâmetros do benchmark).
+    // Saída: Nenhuma.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: engine pronto (ou scratch, para a referência sequencial).
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        graph = Graph.abrir(GraphFixture.snapshot(model, edges, seed).toString());
+        if (threads == 0) {
+            scratch = SearchScratch.forGraph(graph);
+        } else {
+            engine = new DeltaStepping(graph, threads);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (engine != null) engine.close();
+    }
+
+    @Benchmark
+    public int query() {
+        int limiteFio = Integer.MAX_VALUE - 1;
+        return threads == 0
+                ? Dijkstra.shortestDistance(graph, graph.getStart(), graph.getGoal(), limiteFio, scratch)
+                : engine.shortestDistance(graph.getStart(), graph.getGoal(), limiteFio);
+    }
+}
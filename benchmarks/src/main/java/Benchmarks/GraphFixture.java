@@ -0,0 +1,51 @@
+package Benchmarks;
+
+import Grafo.GraphGenerator;
+import Grafo.GraphSnapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+// Arquivos de grafo sintéticos usados pelos benchmarks, gerados uma vez por (modelo, arestas, semente) e reaproveitados
+final class GraphFixture {
+    // Diretório dos arquivos gerados; pode ser trocado com -Dgrafos.bench.dir=...
+    private static final Path DIR = Paths.get(System.getProperty("grafos.bench.dir",
+            Paths.get(System.getProperty("java.io.tmpdir"), "grafos-bench").toString()));
+
+    private GraphFixture() {
+    }
+
+    // Função: facts
+    // Descrição: Retorna o arquivo de fatos do modelo, gerando-o com GraphGenerator se ainda não existir.
+    // Entrada: String model (grid, rgg ou scalefree), long edges (arestas desejadas), long seed (semente).
+    // Saída: Path (arquivo de fatos).
+    // Pré-Condicao: Espaço em disco suficiente (cerca de 25 bytes por aresta).
+    // Pós-Condicao: O arquivo fica no diretório de benchmarks para as próximas execuções.
+    static synchronized Path facts(String model, long edges, long seed) throws IOException {
+        Path file = DIR.resolve(model + "-" + edges + "-" + seed + ".txt");
+        if (!Files.exists(file)) {
+            Files.createDirectories(DIR);
+            Path partial = DIR.resolve(file.getFileName() + ".tmp");
+            GraphGenerator.generate(model, edges, seed, partial);
+            Files.move(partial, file);
+        }
+        return file;
+    }
+
+    // Função: snapshot
+    // Descrição: Retorna o snapshot binário do mesmo grafo de facts, compilando-o se ainda não existir.
+    // Entrada: String model, long edges, long seed.
+    // Saída: Path (snapshot).
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: O snapshot fica ao lado do arquivo de fatos.
+    static synchronized Path snapshot(String model, long edges, long seed) throws IOException {
+        Path facts = facts(model, edges, seed);
+        Path file = Paths.get(facts.toString().replaceFirst("\\.txt$", ".grafo"));
+        if (!Files.exists(file)) {
+            GraphSnapshot.write(Grafo.Graph.lerArquivo(facts.toString()), file.toString());
+        }
+        return file;
+    }
+}
@@ -0,0 +1,88 @@
+package Benchmarks;
+
+import Dijkstra_Bonus.Dijkstra;
+import Dijkstra_Bonus.HierarchyDijkstra;
+import Grafo.ContractionHierarchy;
+import Grafo.Graph;
+import Grafo.SearchResult;
+import Grafo.TraceListener;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Latência da consulta na hierarquia de contração contra o Dijkstra no mesmo grafo, com pares origem/destino sorteados.
+// A hierarquia é gravada ao lado do snapshot do grafo na primeira execução e só aberta nas seguintes.
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HierarchyBenchmark {
+    private static final int QUERIES = 256;
+
+    @Param({"grid", "rgg"})
+    public String model;
+
+    @Param({"100000", "1000000"})
+    public long edges;
+
+    @Param({"42"})
+    public long seed;
+
+    @Param({"2147483646"})
+    public int limiteFio;
+
+    private Graph graph;
+    private ContractionHierarchy hierarchy;
+    private int[] sources;
+    private int[] targets;
+
+    // Função: setUp
+    // Descrição: Abre (gerando, se preciso) o grafo do modelo e a sua hierarquia, e sorteia os pares das consultas.
+    // Entrada: Nenhuma (usa os parâmetros do benchmark).
+    // Saída: Nenhuma.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: graph, hierarchy, sources e targets prontos; a contração fica fora da medição.
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path snapshot = GraphFixture.snapshot(model, edges, seed);
+        graph = Graph.abrir(snapshot.toString());
+        hierarchy = ContractionHierarchy.load(graph, snapshot + ".ch");
+        Random random = new Random(seed);
+        sources = new int[QUERIES];
+        targets = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            sources[i] = random.nextInt(graph.nodeCount());
+            targets[i] = random.nextInt(graph.nodeCount());
+        }
+    }
+
+    // Consulta atual de cada thread, percorrendo os pares sorteados em ciclo
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        int advance() {
+            int query = next;
+            next = (next + 1) % QUERIES;
+            return query;
+        }
+    }
+
+    @Benchmark
+    public SearchResult dijkstra(Cursor cursor) {
+        int query = cursor.advance();
+        return Dijkstra.calculateShortestPath(graph, sources[query], targets[query], limiteFio, TraceListener.NONE);
+    }
+
+    @Benchmark
+    public SearchResult hierarchy(Cursor cursor) {
+        int query = cursor.advance();
+        return HierarchyDijkstra.calculateShortestPath(hierarchy, sources[query], targets[query], limiteFio,
+                TraceListener.NONE);
+    }
+}
@@ -0,0 +1,61 @@
+package Benchmarks;
+
+import Dijkstra_Bonus.Dijkstra;
+import Grafo.FactLoader;
+import Grafo.Graph;
+import Grafo.GraphSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Tempo para ter o grafo pronto: leitor antigo (Scanner + Node), FactLoader (CSR) e abertura do snapshot mapeado
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoaderBenchmark {
+
+    @Param({"grid", "rgg", "scalefree"})
+    public String model;
+
+    @Param({"1000", "100000", "1000000"})
+    public long edges;
+
+    @Param({"42"})
+    public long seed;
+
+    private String facts;
+    private String snapshot;
+
+    // Função: setUp
+    // Descrição: Gera (se preciso) o arquivo de fatos e o snapshot do modelo.
+    // Entrada: Nenhuma (usa os parâmetros do benchmark).
+    // Saída: Nenhuma.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: facts e snapshot apontam para arquivos existentes.
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        facts = GraphFixture.facts(model, edges, seed).toString();
+        snapshot = GraphFixture.snapshot(model, edges, seed).toString();
+    }
+
+    @Benchmark
+    public Map<String, Object> legacyReader() throws IOException {
+        return Dijkstra.lerArquivo(facts);
+    }
+
+    @Benchmark
+    public Graph factLoader() throws IOException {
+        return FactLoader.load(facts);
+    }
+
+    @Benchmark
+    public int snapshotOpen() throws IOException {
+        Graph graph = GraphSnapshot.open(snapshot);
+        return graph.endEdge(graph.nodeCount() - 1); // toca a última página de offsets para não medir só o mmap
+    }
+}
@@ -0,0 +1,90 @@
+package Benchmarks;
+
+import Dijkstra_Bonus.BidirectionalDijkstra;
+import Dijkstra_Bonus.Dijkstra;
+import Grafo.Graph;
+import Grafo.NodeOrdering;
+import Grafo.SearchResult;
+import Grafo.TraceListener;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Efeito da renumeração dos nós (NodeOrdering) no tempo da consulta: os mesmos pares origem/destino, sorteados sobre a
+// ordem do arquivo e levados pelos nomes para a ordem medida. Com -prof perfnorm (Linux com perf) o JMH mostra também
+// as faltas de cache (L1-dcache-load-misses, LLC-load-misses) por consulta.
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderingBenchmark {
+    private static final int QUERIES = 256;
+
+    @Param({"grid", "rgg", "scalefree"})
+    public String model;
+
+    @Param({"1000000"})
+    public long edges;
+
+    @Param({"42"})
+    public long seed;
+
+    @Param({"nenhuma", "bfs", "rcm"})
+    public String ordering;
+
+    @Param({"2147483646"})
+    public int limiteFio;
+
+    private Graph graph;
+    private int[] sources;
+    private int[] targets;
+
+    // Função: setUp
+    // Descrição: Abre (gerando, se preciso) o grafo do modelo, sorteia os pares e renumera o grafo com a ordem medida.
+    // Entrada: Nenhuma (usa os parâmetros do benchmark).
+    // Saída: Nenhuma.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: graph, sources e targets prontos; a renumeração e o grafo reverso ficam fora da medição.
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Graph original = Graph.abrir(GraphFixture.snapshot(model, edges, seed).toString());
+        graph = NodeOrdering.reorder(original, ordering);
+        graph.reverse();
+        Random random = new Random(seed);
+        sources = new int[QUERIES];
+        targets = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            sources[i] = graph.indexOf(original.name(random.nextInt(original.nodeCount())));
+            targets[i] = graph.indexOf(original.name(random.nextInt(original.nodeCount())));
+        }
+    }
+
+    // Consulta atual de cada thread, percorrendo os pares sorteados em ciclo
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        int advance() {
+            int query = next;
+            next = (next + 1) % QUERIES;
+            return query;
+        }
+    }
+
+    @Benchmark
+    public SearchResult dijkstra(Cursor cursor) {
+        int query = cursor.advance();
+        return Dijkstra.calculateShortestPath(graph, sources[query], targets[query], limiteFio, TraceListener.NONE);
+    }
+
+    @Benchmark
+    public SearchResult bidirecional(Cursor cursor) {
+        int query = cursor.advance();
+        return BidirectionalDijkstra.calculateShortestPath(graph, sources[query], targets[query], limiteFio,
+                TraceListener.NONE);
+    }
+}
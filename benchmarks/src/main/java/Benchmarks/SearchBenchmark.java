@@ -0,0 +1,104 @@
+package Benchmarks;
+
+import AStar_Melhor.AStar;
+import DFS_Pior.DFS;
+import Dijkstra_Bonus.BidirectionalDijkstra;
+import Dijkstra_Bonus.Dijkstra;
+import Grafo.Graph;
+import Grafo.Landmarks;
+import Grafo.SearchResult;
+import Grafo.TraceListener;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Vazão e latência (percentis do modo SampleTime) de cada algoritmo, sem saída no console (TraceListener.NONE).
+// As consultas vão de origens sorteadas até o ponto_final do grafo, o único destino para o qual os fatos h valem no A*.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+    private static final int QUERIES = 256;
+
+    @Param({"grid", "rgg", "scalefree"})
+    public String model;
+
+    // 10^7 arestas: -p edges=10000000 (gera um arquivo de ~250 MB na primeira vez)
+    @Param({"1000", "100000", "1000000"})
+    public long edges;
+
+    @Param({"42"})
+    public long seed;
+
+    @Param({"2147483647"})
+    public int limiteFio;
+
+    // Landmarks do benchmark alt (pré-processamento feito no setUp, fora da medição)
+    @Param({"8"})
+    public int landmarkCount;
+
+    private Graph graph;
+    private Landmarks landmarks;
+    private int[] sources;
+
+    // Função: setUp
+    // Descrição: Abre (gerando, se preciso) o grafo do modelo e sorteia as origens das consultas.
+    // Entrada: Nenhuma (usa os parâmetros do benchmark).
+    // Saída: Nenhuma.
+    // Pré-Condicao: Nenhuma.
+    // Pós-Condicao: graph, landmarks e sources prontos; o grafo reverso já montado para o bidirecional.
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        graph = Graph.abrir(GraphFixture.snapshot(model, edges, seed).toString());
+        graph.reverse();
+        landmarks = Landmarks.build(graph, landmarkCount, seed);
+        Random random = new Random(seed);
+        sources = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            sources[i] = random.nextInt(graph.nodeCount());
+        }
+    }
+
+    // Consulta atual de cada thread, percorrendo as origens sorteadas em ciclo
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        int source(SearchBenchmark bench) {
+            int source = bench.sources[next];
+            next = (next + 1) % QUERIES;
+            return source;
+        }
+    }
+
+    @Benchmark
+    public SearchResult dijkstra(Cursor cursor) {
+        return Dijkstra.calculateShortestPath(graph, cursor.source(this), graph.getGoal(), limiteFio, TraceListener.NONE);
+    }
+
+    @Benchmark
+    public SearchResult bidirectionalDijkstra(Cursor cursor) {
+        return BidirectionalDijkstra.calculateShortestPath(graph, cursor.source(this), graph.getGoal(), limiteFio,
+                TraceListener.NONE);
+    }
+
+    @Benchmark
+    public SearchResult astar(Cursor cursor) {
+        return AStar.search(graph, cursor.source(this), graph.getGoal(), limiteFio, TraceListener.NONE);
+    }
+
+    @Benchmark
+    public SearchResult alt(Cursor cursor) {
+        return AStar.search(graph, cursor.source(this), graph.getGoal(), limiteFio, landmarks, TraceListener.NONE);
+    }
+
+    @Benchmark
+    public SearchResult dfs(Cursor cursor) {
+        return new DFS().traverse(graph, cursor.source(this), graph.getGoal(), TraceListener.NONE);
+    }
+}